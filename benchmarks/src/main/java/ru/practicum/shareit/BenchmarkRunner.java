@@ -0,0 +1,24 @@
+package ru.practicum.shareit;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Запуск бенчмарков с профилировщиком аллокаций (gc.alloc.rate.norm — байт на операцию).
+ * Принимает обычные аргументы JMH, например: java -jar benchmarks/target/benchmarks.jar BookingDtoMapper
+ * -f 2 -wi 5 -i 5 -rf json -rff benchmarks/target/result.json
+ */
+public class BenchmarkRunner {
+	public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+		new Runner(new OptionsBuilder()
+				.parent(new CommandLineOptions(args))
+				.addProfiler(GCProfiler.class)
+				.jvmArgsAppend("-Dfile.encoding=UTF-8")
+				.build())
+				.run();
+	}
+}
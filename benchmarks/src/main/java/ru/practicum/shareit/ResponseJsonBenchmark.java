@@ -0,0 +1,175 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.BookingDtoMapper;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.booking.dto.BookingSliceDto;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.item.AvailabilityGranularity;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
+import ru.practicum.shareit.item.dto.CommentShort;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemDtoMapper;
+import ru.practicum.shareit.item.dto.ItemWithFullInfoDto;
+import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сериализация ответов сервера в JSON тем же набором модулей Jackson, что и в Spring Boot.
+ * Запуск: java -jar benchmarks/target/benchmarks.jar ResponseJsonBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseJsonBenchmark {
+	private static final int PAGE_SIZE = 20;
+	private static final int COMMENTS = 5;
+	private static final int SLOTS = 24;
+
+	private ObjectMapper objectMapper;
+	private UserDto user;
+	private BookingResponseDto booking;
+	private BookingSliceDto bookingSlice;
+	private ItemWithFullInfoDto item;
+	private ItemRequestResponseDto request;
+	private ItemAvailabilityDto availability;
+
+	@Setup
+	public void setUp() {
+		objectMapper = Jackson2ObjectMapperBuilder.json()
+				.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+				.build();
+		LocalDateTime start = LocalDateTime.of(2024, 5, 1, 10, 0);
+
+		user = UserDto.builder().id(2L).name("booker").email("booker@mail.ru").build();
+		booking = BookingDtoMapper.toBookingResponseDto(view(5L, start));
+		List<BookingView> views = new ArrayList<>(PAGE_SIZE);
+		for (long id = 1; id <= PAGE_SIZE; id++) {
+			views.add(view(id, start.minusDays(id)));
+		}
+		bookingSlice = BookingSliceDto.builder()
+				.bookings(BookingDtoMapper.toBookingResponseDto(views))
+				.nextCursor("MTcxNDU1NzYwMDAwMDox")
+				.build();
+
+		List<CommentShort> comments = new ArrayList<>(COMMENTS);
+		for (long id = 1; id <= COMMENTS; id++) {
+			comments.add(new Comment(id, "Отличная дрель, спасибо " + id, "booker", start.plusDays(id)));
+		}
+		item = ItemWithFullInfoDto.builder().id(4L).name("Дрель").description("Аккумуляторная дрель")
+				.available(true).requestId(3L)
+				.lastBooking(BookingShortDto.builder().id(5L).bookerId(2L).build())
+				.nextBooking(BookingShortDto.builder().id(6L).bookerId(7L).build())
+				.comments(comments)
+				.build();
+
+		List<ItemDto> answers = new ArrayList<>(COMMENTS);
+		for (long id = 1; id <= COMMENTS; id++) {
+			answers.add(ItemDto.builder().id(id).name("Дрель " + id).description("Аккумуляторная дрель")
+					.available(true).requestId(3L).build());
+		}
+		request = ItemRequestResponseDto.builder().id(3L).description("Нужна дрель")
+				.created("2024-05-01T10:00:00").items(answers).build();
+
+		List<AvailabilitySlotDto> slots = new ArrayList<>(SLOTS);
+		for (int hour = 0; hour < SLOTS; hour++) {
+			slots.add(ItemDtoMapper.toAvailabilitySlotDto(start.plusHours(hour), start.plusHours(hour + 1),
+					hour % 3 != 0));
+		}
+		availability = ItemAvailabilityDto.builder().itemId(4L).granularity(AvailabilityGranularity.HOUR)
+				.slots(slots).build();
+	}
+
+	@Benchmark
+	public byte[] user() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(user);
+	}
+
+	@Benchmark
+	public byte[] booking() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(booking);
+	}
+
+	@Benchmark
+	public byte[] bookingSlice() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(bookingSlice);
+	}
+
+	@Benchmark
+	public byte[] itemWithFullInfo() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(item);
+	}
+
+	@Benchmark
+	public byte[] itemRequest() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(request);
+	}
+
+	@Benchmark
+	public byte[] itemAvailability() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(availability);
+	}
+
+	private static BookingView view(long id, LocalDateTime start) {
+		return new BookingView(id, start, start.plusDays(1), Status.APPROVED, 2L,
+				4L, "Дрель", "Аккумуляторная дрель", true, 3L);
+	}
+
+	private static class Comment implements CommentShort {
+		private final long id;
+		private final String text;
+		private final String authorName;
+		private final LocalDateTime created;
+
+		Comment(long id, String text, String authorName, LocalDateTime created) {
+			this.id = id;
+			this.text = text;
+			this.authorName = authorName;
+			this.created = created;
+		}
+
+		@Override
+		public long getId() {
+			return id;
+		}
+
+		@Override
+		public String getText() {
+			return text;
+		}
+
+		@Override
+		public String getAuthorName() {
+			return authorName;
+		}
+
+		@Override
+		public LocalDateTime getCreated() {
+			return created;
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.booking.dto;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Маппинг бронирований: одна сущность, проекция списка и страница из 20 проекций, разбор дат запроса.
+ * Запуск: java -jar benchmarks/target/benchmarks.jar BookingDtoMapperBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingDtoMapperBenchmark {
+	private static final int PAGE_SIZE = 20;
+
+	private Booking booking;
+	private BookingView view;
+	private List<BookingView> page;
+	private BookingRequestDto request;
+
+	@Setup
+	public void setUp() {
+		User owner = User.builder().id(1L).name("owner").email("owner@mail.ru").build();
+		User booker = User.builder().id(2L).name("booker").email("booker@mail.ru").build();
+		ItemRequest itemRequest = ItemRequest.builder().id(3L).description("Нужна дрель").build();
+		Item item = Item.builder().id(4L).name("Дрель").description("Аккумуляторная дрель")
+				.available(true).owner(owner).request(itemRequest).build();
+		LocalDateTime start = LocalDateTime.of(2024, 5, 1, 10, 0);
+		booking = Booking.builder().id(5L).startDate(start).endDate(start.plusDays(1))
+				.item(item).booker(booker).status(Status.APPROVED).build();
+		view = view(5L, start);
+		page = new ArrayList<>(PAGE_SIZE);
+		for (long id = 1; id <= PAGE_SIZE; id++) {
+			page.add(view(id, start.minusDays(id)));
+		}
+		request = BookingRequestDto.builder().start("2024-05-01T10:00:00").end("2024-05-02T10:00:00")
+				.itemId(4L).build();
+	}
+
+	@Benchmark
+	public BookingResponseDto toBookingResponseDto() {
+		return BookingDtoMapper.toBookingResponseDto(booking);
+	}
+
+	@Benchmark
+	public BookingResponseDto toBookingResponseDtoView() {
+		return BookingDtoMapper.toBookingResponseDto(view);
+	}
+
+	@Benchmark
+	public List<BookingResponseDto> toBookingResponseDtoPage() {
+		return BookingDtoMapper.toBookingResponseDto(page);
+	}
+
+	@Benchmark
+	public BookingShortDto toBookingShortDto() {
+		return BookingDtoMapper.toBookingShortDto(booking);
+	}
+
+	@Benchmark
+	public Booking ofBookingRequestDto() {
+		return BookingDtoMapper.ofBookingRequestDto(request);
+	}
+
+	private static BookingView view(long id, LocalDateTime start) {
+		return new BookingView(id, start, start.plusDays(1), Status.APPROVED, 2L,
+				4L, "Дрель", "Аккумуляторная дрель", true, 3L);
+	}
+}
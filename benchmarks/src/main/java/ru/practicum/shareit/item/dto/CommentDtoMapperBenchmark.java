@@ -0,0 +1,50 @@
+package ru.practicum.shareit.item.dto;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Маппинг отзывов в ответ с датой создания и обратно.
+ * Запуск: java -jar benchmarks/target/benchmarks.jar CommentDtoMapperBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommentDtoMapperBenchmark {
+	private Comment comment;
+	private CommentRequestDto request;
+
+	@Setup
+	public void setUp() {
+		User author = User.builder().id(2L).name("booker").email("booker@mail.ru").build();
+		comment = Comment.builder().id(6L).text("Отличная дрель").author(author)
+				.created(LocalDateTime.of(2024, 5, 3, 12, 0)).build();
+		request = CommentRequestDto.builder().text("Отличная дрель").itemId(4L).authorId(2L).build();
+	}
+
+	@Benchmark
+	public CommentResponseDto toCommentResponseDto() {
+		return CommentDtoMapper.toCommentResponseDto(comment);
+	}
+
+	@Benchmark
+	public Comment ofCommentRequestDto() {
+		return CommentDtoMapper.ofCommentRequestDto(request);
+	}
+}
@@ -0,0 +1,110 @@
+package ru.practicum.shareit.item.dto;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Маппинг вещей: сущность и проекция в ItemDto, полная информация, создание и слот занятости.
+ * Запуск: java -jar benchmarks/target/benchmarks.jar ItemDtoMapperBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemDtoMapperBenchmark {
+	private Item item;
+	private ItemShort itemShort;
+	private ItemCreateDto createDto;
+	private ItemWithFullInfoDto fullInfoDto;
+	private LocalDateTime slotStart;
+
+	@Setup
+	public void setUp() {
+		User owner = User.builder().id(1L).name("owner").email("owner@mail.ru").build();
+		ItemRequest request = ItemRequest.builder().id(3L).description("Нужна дрель").build();
+		item = Item.builder().id(4L).name("Дрель").description("Аккумуляторная дрель")
+				.available(true).owner(owner).request(request).build();
+		itemShort = new ItemShort() {
+			@Override
+			public long getId() {
+				return 4L;
+			}
+
+			@Override
+			public String getName() {
+				return "Дрель";
+			}
+
+			@Override
+			public String getDescription() {
+				return "Аккумуляторная дрель";
+			}
+
+			@Override
+			public Boolean getAvailable() {
+				return true;
+			}
+
+			@Override
+			public Long getRequestId() {
+				return 3L;
+			}
+		};
+		createDto = ItemCreateDto.builder().name("Дрель").description("Аккумуляторная дрель")
+				.available(true).ownerId(1L).requestId(3L).build();
+		fullInfoDto = ItemWithFullInfoDto.builder().id(4L).name("Дрель").description("Аккумуляторная дрель")
+				.available(true).build();
+		slotStart = LocalDateTime.of(2024, 5, 1, 10, 0);
+	}
+
+	@Benchmark
+	public ItemDto toItemDto() {
+		return ItemDtoMapper.toItemDto(item);
+	}
+
+	@Benchmark
+	public ItemDto toItemDtoShort() {
+		return ItemDtoMapper.toItemDto(itemShort);
+	}
+
+	@Benchmark
+	public ItemWithFullInfoDto toItemWithFullInfoDto() {
+		return ItemDtoMapper.toItemWithFullInfoDto(item);
+	}
+
+	@Benchmark
+	public ItemUpdateDto toItemUpdateDto() {
+		return ItemDtoMapper.toItemUpdateDto(item);
+	}
+
+	@Benchmark
+	public Item ofItemCreateDto() {
+		return ItemDtoMapper.ofItemCreateDto(createDto);
+	}
+
+	@Benchmark
+	public Item ofItemWithFullInfoDto() {
+		return ItemDtoMapper.ofItemWithFullInfoDto(fullInfoDto);
+	}
+
+	@Benchmark
+	public AvailabilitySlotDto toAvailabilitySlotDto() {
+		return ItemDtoMapper.toAvailabilitySlotDto(slotStart, slotStart.plusHours(1), true);
+	}
+}
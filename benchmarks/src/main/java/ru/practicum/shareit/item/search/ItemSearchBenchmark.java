@@ -0,0 +1,112 @@
+package ru.practicum.shareit.item.search;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнение поиска по инвертированному индексу с запросом LIKE из ItemRepository на H2.
+ * Запуск: java -jar benchmarks/target/benchmarks.jar ItemSearchBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemSearchBenchmark {
+	private static final String[] NAMES = {"Дрель", "Отвертка", "Перфоратор", "Молоток", "Пила", "Рубанок",
+			"Стремянка", "Шуруповерт", "Лобзик", "Болгарка", "Палатка", "Велосипед", "Самокат", "Удочка"};
+	private static final String[] WORDS = {"аккумуляторная", "ударная", "крестовая", "новая", "легкая",
+			"профессиональная", "садовая", "туристическая", "большая", "компактная", "для", "дома", "дачи"};
+	private static final String LIKE_QUERY = "select item_id from items " +
+			"where (lower(name) like ? or lower(description) like ?) and is_available = true " +
+			"limit ? offset ?";
+
+	@Param({"10000", "100000"})
+	private int items;
+
+	@Param({"дрель", "аккумуляторная дрель"})
+	private String text;
+
+	private Connection connection;
+	private PreparedStatement likeStatement;
+	private InvertedIndex index;
+
+	@Setup(Level.Trial)
+	public void setUp() throws SQLException {
+		connection = DriverManager.getConnection("jdbc:h2:mem:search-benchmark;DB_CLOSE_DELAY=-1");
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("drop table if exists items");
+			statement.execute("create table items (item_id bigint primary key, name varchar(100), " +
+					"description varchar(1000), is_available boolean)");
+		}
+
+		index = new InvertedIndex();
+		Random random = new Random(42);
+		try (PreparedStatement insert = connection.prepareStatement("insert into items values (?, ?, ?, ?)")) {
+			for (int id = 1; id <= items; id++) {
+				String name = NAMES[random.nextInt(NAMES.length)];
+				String description = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+						+ " " + name.toLowerCase();
+				boolean available = random.nextInt(10) > 0;
+				insert.setLong(1, id);
+				insert.setString(2, name);
+				insert.setString(3, description);
+				insert.setBoolean(4, available);
+				insert.addBatch();
+				index.put(id, name, description, available);
+			}
+			insert.executeBatch();
+		}
+		likeStatement = connection.prepareStatement(LIKE_QUERY);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws SQLException {
+		likeStatement.close();
+		connection.close();
+	}
+
+	@Benchmark
+	public List<Long> like() throws SQLException {
+		String pattern = "%" + text.toLowerCase() + "%";
+		likeStatement.setString(1, pattern);
+		likeStatement.setString(2, pattern);
+		likeStatement.setInt(3, 10);
+		likeStatement.setInt(4, 0);
+		List<Long> ids = new ArrayList<>();
+		try (ResultSet resultSet = likeStatement.executeQuery()) {
+			while (resultSet.next()) {
+				ids.add(resultSet.getLong(1));
+			}
+		}
+		return ids;
+	}
+
+	@Benchmark
+	public List<Long> inverted() {
+		return index.search(text, 0, 10);
+	}
+}
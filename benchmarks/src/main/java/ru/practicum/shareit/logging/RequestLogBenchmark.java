@@ -0,0 +1,76 @@
+package ru.practicum.shareit.logging;
+
+import ch.qos.logback.classic.Level;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ru.practicum.shareit.item.dto.ItemUpdateDto;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость логов запросов, которые не пишутся: прежний вызов с DTO и тремя аргументами против RequestLog
+ * при выключенном уровне INFO и при неотобранном запросе. gc.alloc.rate.norm должен быть около нуля.
+ * Запуск: java -jar benchmarks/target/benchmarks.jar RequestLogBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestLogBenchmark {
+	private Logger disabled;
+	private Logger enabled;
+	private ItemUpdateDto itemUpdateDto;
+	private long itemId;
+	private long ownerId;
+
+	@Setup(org.openjdk.jmh.annotations.Level.Trial)
+	public void setUp() {
+		disabled = logger("benchmark.disabled", Level.WARN);
+		enabled = logger("benchmark.enabled", Level.INFO);
+		itemId = 1_000_001L;
+		ownerId = 2_000_002L;
+		itemUpdateDto = ItemUpdateDto.builder().id(itemId).name("Дрель").description("Аккумуляторная дрель")
+				.available(true).ownerId(ownerId).build();
+		RequestLog.setSampled(false);
+	}
+
+	@TearDown(org.openjdk.jmh.annotations.Level.Trial)
+	public void tearDown() {
+		RequestLog.clear();
+	}
+
+	@Benchmark
+	public void dtoDumpDisabled() {
+		disabled.info("Получен запрос на обновление вещи c id = {}, описание вещи = {} , ownerId = {}",
+				itemUpdateDto, itemId, ownerId);
+	}
+
+	@Benchmark
+	public void requestLogDisabled() {
+		RequestLog.info(disabled, "Отработан запрос на обновление вещи: itemId={}, ownerId={}", itemId, ownerId);
+	}
+
+	@Benchmark
+	public void requestLogNotSampled() {
+		RequestLog.info(enabled, "Отработан запрос на обновление вещи: itemId={}, ownerId={}", itemId, ownerId);
+	}
+
+	private static Logger logger(String name, Level level) {
+		Logger logger = LoggerFactory.getLogger(name);
+		((ch.qos.logback.classic.Logger) logger).setLevel(level);
+		return logger;
+	}
+}
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.request.dto;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Маппинг запросов вещей: один запрос, страница из 20 запросов и DTO создания.
+ * Запуск: java -jar benchmarks/target/benchmarks.jar ItemRequestDtoMapperBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemRequestDtoMapperBenchmark {
+	private static final int PAGE_SIZE = 20;
+
+	private ItemRequest request;
+	private List<ItemRequest> page;
+	private ItemRequestCreateDto createDto;
+
+	@Setup
+	public void setUp() {
+		User requester = User.builder().id(2L).name("booker").email("booker@mail.ru").build();
+		LocalDateTime created = LocalDateTime.of(2024, 5, 1, 10, 0);
+		request = ItemRequest.builder().id(3L).description("Нужна дрель").created(created)
+				.requester(requester).build();
+		page = new ArrayList<>(PAGE_SIZE);
+		for (long id = 1; id <= PAGE_SIZE; id++) {
+			page.add(ItemRequest.builder().id(id).description("Нужна дрель " + id)
+					.created(created.minusHours(id)).requester(requester).build());
+		}
+		createDto = ItemRequestCreateDto.builder().description("Нужна дрель").build();
+	}
+
+	@Benchmark
+	public ItemRequestResponseDto toItemRequestResponseDto() {
+		return ItemRequestDtoMapper.toItemRequestResponseDto(request);
+	}
+
+	@Benchmark
+	public List<ItemRequestResponseDto> toItemRequestResponseDtoPage() {
+		return ItemRequestDtoMapper.toItemRequestResponseDto(page);
+	}
+
+	@Benchmark
+	public ItemRequest ofItemRequestCreateDto() {
+		return ItemRequestDtoMapper.ofItemRequestCreateDto(createDto);
+	}
+}
@@ -0,0 +1,127 @@
+package ru.practicum.shareit.request.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Вещи для страницы из 10 запросов: все ответы на любые запросы с группировкой в памяти
+ * (прежний findByRequestIdIsNotNull) против выборки по id запросов страницы (findByRequestIdIn) на H2.
+ * Запуск: java -jar benchmarks/target/benchmarks.jar RequestItemsBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestItemsBenchmark {
+	private static final int PAGE_SIZE = 10;
+	private static final String ALL_ANSWERS_QUERY = "select item_id, name, description, is_available, request_id " +
+			"from items where request_id is not null";
+	private static final String PAGE_ANSWERS_QUERY = "select item_id, name, description, is_available, request_id " +
+			"from items where request_id in (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+	@Param({"10000", "100000"})
+	private int items;
+
+	private Connection connection;
+	private PreparedStatement allAnswersStatement;
+	private PreparedStatement pageAnswersStatement;
+	private List<Long> pageRequestIds;
+
+	@Setup(Level.Trial)
+	public void setUp() throws SQLException {
+		connection = DriverManager.getConnection("jdbc:h2:mem:request-benchmark;DB_CLOSE_DELAY=-1");
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("drop table if exists items");
+			statement.execute("create table items (item_id bigint primary key, name varchar(100), " +
+					"description varchar(1000), is_available boolean, request_id bigint)");
+			statement.execute("create index idx_items_request on items(request_id)");
+		}
+
+		int requests = items / 4;
+		Random random = new Random(42);
+		try (PreparedStatement insert = connection.prepareStatement("insert into items values (?, ?, ?, ?, ?)")) {
+			for (int id = 1; id <= items; id++) {
+				insert.setLong(1, id);
+				insert.setString(2, "Вещь " + id);
+				insert.setString(3, "Описание вещи " + id);
+				insert.setBoolean(4, true);
+				if (random.nextBoolean()) {
+					insert.setLong(5, 1 + random.nextInt(requests));
+				} else {
+					insert.setNull(5, Types.BIGINT);
+				}
+				insert.addBatch();
+			}
+			insert.executeBatch();
+		}
+
+		pageRequestIds = new ArrayList<>(PAGE_SIZE);
+		for (long requestId = requests; requestId > requests - PAGE_SIZE; requestId--) {
+			pageRequestIds.add(requestId);
+		}
+		allAnswersStatement = connection.prepareStatement(ALL_ANSWERS_QUERY);
+		pageAnswersStatement = connection.prepareStatement(PAGE_ANSWERS_QUERY);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws SQLException {
+		allAnswersStatement.close();
+		pageAnswersStatement.close();
+		connection.close();
+	}
+
+	@Benchmark
+	public Map<Long, List<Long>> allAnswers() throws SQLException {
+		Map<Long, List<Long>> answers = group(allAnswersStatement);
+		Map<Long, List<Long>> page = new HashMap<>();
+		for (Long requestId : pageRequestIds) {
+			page.put(requestId, answers.getOrDefault(requestId, List.of()));
+		}
+		return page;
+	}
+
+	@Benchmark
+	public Map<Long, List<Long>> pageAnswers() throws SQLException {
+		for (int i = 0; i < PAGE_SIZE; i++) {
+			pageAnswersStatement.setLong(i + 1, pageRequestIds.get(i));
+		}
+		return group(pageAnswersStatement);
+	}
+
+	private static Map<Long, List<Long>> group(PreparedStatement statement) throws SQLException {
+		Map<Long, List<Long>> answers = new HashMap<>();
+		try (ResultSet resultSet = statement.executeQuery()) {
+			while (resultSet.next()) {
+				answers.computeIfAbsent(resultSet.getLong(5), id -> new ArrayList<>()).add(resultSet.getLong(1));
+			}
+		}
+		return answers;
+	}
+}
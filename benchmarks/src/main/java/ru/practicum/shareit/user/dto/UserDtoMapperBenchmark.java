@@ -0,0 +1,65 @@
+package ru.practicum.shareit.user.dto;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Маппинг пользователей в UserDto и из DTO создания, обновления.
+ * Запуск: java -jar benchmarks/target/benchmarks.jar UserDtoMapperBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserDtoMapperBenchmark {
+	private User user;
+	private UserDto userDto;
+	private UserCreateDto createDto;
+	private UserUpdateDto updateDto;
+
+	@Setup
+	public void setUp() {
+		user = User.builder().id(2L).name("booker").email("booker@mail.ru").build();
+		userDto = UserDto.builder().id(2L).name("booker").email("booker@mail.ru").build();
+		createDto = UserCreateDto.builder().name("booker").email("booker@mail.ru").build();
+		updateDto = UserUpdateDto.builder().name("booker").email("booker@mail.ru").build();
+	}
+
+	@Benchmark
+	public UserDto toUserDto() {
+		return UserDtoMapper.toUserDto(user);
+	}
+
+	@Benchmark
+	public UserDto toUserDtoId() {
+		return UserDtoMapper.toUserDtoId(user);
+	}
+
+	@Benchmark
+	public User ofUserDto() {
+		return UserDtoMapper.ofUserDto(userDto);
+	}
+
+	@Benchmark
+	public User ofUserCreateDto() {
+		return UserDtoMapper.ofUserCreateDto(createDto);
+	}
+
+	@Benchmark
+	public User ofUserUpdateDto() {
+		return UserDtoMapper.ofUserUpdateDto(updateDto);
+	}
+}
@@ -1,62 +1,113 @@
 package ru.practicum.shareit.booking;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.client.AsyncServerExchange;
 import ru.practicum.shareit.client.BaseClient;
 
+import javax.servlet.http.HttpServletResponse;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class BookingClient extends BaseClient {
 	private static final String API_PREFIX = "/bookings";
 
 	@Autowired
-	public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+	public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+						 ClientHttpRequestFactory shareItServerRequestFactory,
+						 @Value("${shareit-server.pass-through}") boolean passThrough,
+						 @Nullable AsyncServerExchange asyncExchange, MeterRegistry meterRegistry) {
 		super(
 				builder
 						.uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-						.requestFactory(HttpComponentsClientHttpRequestFactory::new)
-						.build()
+						.requestFactory(() -> shareItServerRequestFactory)
+						.build(),
+				passThrough,
+				asyncExchange,
+				meterRegistry
 		);
 	}
 
-	public ResponseEntity<Object> addBooking(long userId, BookingRequestDto requestDto) {
+	public CompletableFuture<ResponseEntity<Object>> addBooking(long userId, BookingRequestDto requestDto) {
 		return post("", userId, requestDto);
 	}
 
-	public ResponseEntity<Object> approve(long userId, long bookingId, boolean approved) {
+	public CompletableFuture<ResponseEntity<Object>> approve(long userId, long bookingId, boolean approved) {
 		Map<String, Object> parameters = Map.of(
 				"approved", approved
 		);
 		return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
 	}
 
-	public ResponseEntity<Object> getBookings(long userId, BookingState state, Integer from, Integer size) {
-		Map<String, Object> parameters = Map.of(
+	public CompletableFuture<ResponseEntity<Object>> getBookings(long userId, BookingState state, @Nullable BookingStatus status,
+															 Integer from, Integer size) {
+		Map<String, Object> parameters = new HashMap<>(Map.of(
 				"state", state.name(),
 				"from", from,
 				"size", size
-		);
-		return get("?state={state}&from={from}&size={size}", userId, parameters);
+		));
+		return get("?state={state}" + statusFilter(status, parameters) + "&from={from}&size={size}", userId, parameters);
 	}
 
-	public ResponseEntity<Object> getOwnerBookings(long userId, BookingState state, Integer from, Integer size) {
-		Map<String, Object> parameters = Map.of(
+	public CompletableFuture<ResponseEntity<Object>> getOwnerBookings(long userId, BookingState state, @Nullable BookingStatus status,
+															 Integer from, Integer size) {
+		Map<String, Object> parameters = new HashMap<>(Map.of(
 				"state", state.name(),
 				"from", from,
 				"size", size
-		);
-		return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+		));
+		return get("/owner?state={state}" + statusFilter(status, parameters) + "&from={from}&size={size}", userId, parameters);
 	}
 
+	public CompletableFuture<ResponseEntity<Object>> getBookingsAfter(long userId, BookingState state, @Nullable BookingStatus status,
+															 String after, Integer size) {
+		Map<String, Object> parameters = new HashMap<>(Map.of(
+				"state", state.name(),
+				"after", after,
+				"size", size
+		));
+		return get("?state={state}" + statusFilter(status, parameters) + "&after={after}&size={size}", userId, parameters);
+	}
 
-	public ResponseEntity<Object> getBooking(long userId, long bookingId) {
+	public CompletableFuture<ResponseEntity<Object>> getOwnerBookingsAfter(long userId, BookingState state, @Nullable BookingStatus status,
+															 String after, Integer size) {
+		Map<String, Object> parameters = new HashMap<>(Map.of(
+				"state", state.name(),
+				"after", after,
+				"size", size
+		));
+		return get("/owner?state={state}" + statusFilter(status, parameters) + "&after={after}&size={size}", userId, parameters);
+	}
+
+	public void exportOwnerBookings(long userId, BookingState state, @Nullable BookingStatus status,
+									HttpServletResponse response) {
+		Map<String, Object> parameters = new HashMap<>(Map.of(
+				"state", state.name()
+		));
+		getStream("/owner/export?state={state}" + statusFilter(status, parameters), userId, parameters,
+				MediaType.APPLICATION_NDJSON, response);
+	}
+
+	public CompletableFuture<ResponseEntity<Object>> getBooking(long userId, long bookingId) {
 		return get("/" + bookingId, userId);
 	}
-}
\ No newline at end of file
+
+	private static String statusFilter(@Nullable BookingStatus status, Map<String, Object> parameters) {
+		if (status == null) {
+			return "";
+		}
+		parameters.put("status", status.name());
+		return "&status={status}";
+	}
+}
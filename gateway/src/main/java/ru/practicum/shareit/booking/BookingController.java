@@ -9,8 +9,13 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.exception.InvalidStateException;
+import ru.practicum.shareit.logging.RequestLog;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Positive;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 @RequestMapping(path = "/bookings")
@@ -20,49 +25,90 @@ import javax.validation.Valid;
 public class BookingController {
 
 	public static final String X_SHARER_USER_ID = "X-Sharer-User-Id";
+	public static final int MAX_SLICE_SIZE = 100;
 	private final BookingClient bookingClient;
 
 	@PostMapping
 	@ResponseStatus(HttpStatus.CREATED)
-	public ResponseEntity<Object> addBooking(@RequestHeader(X_SHARER_USER_ID) long userId,
-											 @RequestBody @Valid BookingRequestDto bookingRequestDto) {
-		log.info("Валидация - получен запрос на бронирование вещи = {}, userId = {}", bookingRequestDto, userId);
+	public CompletableFuture<ResponseEntity<Object>> addBooking(@RequestHeader(X_SHARER_USER_ID) long userId,
+																@RequestBody @Valid BookingRequestDto bookingRequestDto) {
+		RequestLog.info(log, "Валидация - получен запрос на бронирование вещи: itemId={}, userId={}", bookingRequestDto.getItemId(), userId);
 		return bookingClient.addBooking(userId, bookingRequestDto);
 	}
 
 	@PatchMapping("/{bookingId}")
-	public ResponseEntity<Object> approve(@RequestHeader(X_SHARER_USER_ID) long userId,
-										  @PathVariable long bookingId,
-										  @RequestParam boolean approved) {
-		log.info("Валидация - получен запрос - решение владельца вещи по одобрению бронирования: " +
-				"ownerId = {}, bookingId = {}, approved = {}", userId, bookingId, approved);
+	public CompletableFuture<ResponseEntity<Object>> approve(@RequestHeader(X_SHARER_USER_ID) long userId,
+															 @PathVariable long bookingId,
+															 @RequestParam boolean approved) {
+		RequestLog.info(log, "Валидация - получен запрос на подтверждение бронирования: bookingId={}, userId={}", bookingId, userId);
 		return bookingClient.approve(userId, bookingId, approved);
 	}
 
 	@GetMapping("/{bookingId}")
-	public ResponseEntity<Object> getBookingInfoById(@RequestHeader(X_SHARER_USER_ID) long userId,
-													 @PathVariable long bookingId) {
-		log.info("Валидация - получен запрос на получение информации о бронировании с bookingId = {}, userId = {}", bookingId, userId);
+	public CompletableFuture<ResponseEntity<Object>> getBookingInfoById(@RequestHeader(X_SHARER_USER_ID) long userId,
+																		@PathVariable long bookingId) {
+		RequestLog.info(log, "Валидация - получен запрос на получение бронирования: bookingId={}, userId={}", bookingId, userId);
 		return bookingClient.getBooking(userId, bookingId);
 	}
 
 	@GetMapping
-	public ResponseEntity<Object> getAllBookings(@RequestHeader(X_SHARER_USER_ID) long userId,
-												 @RequestParam(defaultValue = "ALL") String state,
-												 @RequestParam(defaultValue = "0") int from,
-												 @RequestParam(defaultValue = "10") int size) {
+	public CompletableFuture<ResponseEntity<Object>> getAllBookings(@RequestHeader(X_SHARER_USER_ID) long userId,
+																	@RequestParam(defaultValue = "ALL") String state,
+																	@RequestParam(required = false) String status,
+																	@RequestParam(defaultValue = "0") int from,
+																	@RequestParam(defaultValue = "10") int size) {
 		BookingState validState = BookingState.getState(state).orElseThrow(() -> new InvalidStateException("Unknown state: " + state));
-		log.info("Валидация - получен запрос на получение всех бронирований пользователя userId = {}, state = {}, from = {}, size = {}", userId, state, from, size);
-		return bookingClient.getBookings(userId, validState, from, size);
+		RequestLog.info(log, "Валидация - получен запрос на получение бронирований пользователя: userId={}, state={}", userId, state);
+		return bookingClient.getBookings(userId, validState, toStatus(status), from, size);
 	}
 
 	@GetMapping("/owner")
-	public ResponseEntity<Object> getAllOwnerBookings(@RequestHeader(X_SHARER_USER_ID) long userId,
-													  @RequestParam(defaultValue = "ALL") String state,
-													  @RequestParam(defaultValue = "0") int from,
-													  @RequestParam(defaultValue = "10") int size) {
-		log.info("Валидация - получен запрос на получение всех бронирований вещей владельца userId = {}, state = {}, from = {}, size = {}", userId, state, from, size);
+	public CompletableFuture<ResponseEntity<Object>> getAllOwnerBookings(@RequestHeader(X_SHARER_USER_ID) long userId,
+																		 @RequestParam(defaultValue = "ALL") String state,
+																		 @RequestParam(required = false) String status,
+																		 @RequestParam(defaultValue = "0") int from,
+																		 @RequestParam(defaultValue = "10") int size) {
+		RequestLog.info(log, "Валидация - получен запрос на получение бронирований вещей владельца: userId={}, state={}", userId, state);
 		BookingState validState = BookingState.getState(state).orElseThrow(() -> new InvalidStateException("Unknown state: " + state));
-		return bookingClient.getOwnerBookings(userId, validState, from, size);
+		return bookingClient.getOwnerBookings(userId, validState, toStatus(status), from, size);
+	}
+
+	@GetMapping("/owner/export")
+	public void exportOwnerBookings(@RequestHeader(X_SHARER_USER_ID) long userId,
+									@RequestParam(defaultValue = "ALL") String state,
+									@RequestParam(required = false) String status,
+									HttpServletResponse response) {
+		RequestLog.info(log, "Валидация - получен запрос на выгрузку бронирований вещей владельца: userId={}, state={}", userId, state);
+		BookingState validState = BookingState.getState(state).orElseThrow(() -> new InvalidStateException("Unknown state: " + state));
+		bookingClient.exportOwnerBookings(userId, validState, toStatus(status), response);
+	}
+
+	@GetMapping(params = "after")
+	public CompletableFuture<ResponseEntity<Object>> getAllBookingsAfter(@RequestHeader(X_SHARER_USER_ID) long userId,
+																		 @RequestParam(defaultValue = "ALL") String state,
+																		 @RequestParam(required = false) String status,
+																		 @RequestParam String after,
+																		 @RequestParam(defaultValue = "10") @Positive @Max(MAX_SLICE_SIZE) int size) {
+		BookingState validState = BookingState.getState(state).orElseThrow(() -> new InvalidStateException("Unknown state: " + state));
+		RequestLog.info(log, "Валидация - получен запрос на получение бронирований пользователя после курсора: userId={}, state={}", userId, state);
+		return bookingClient.getBookingsAfter(userId, validState, toStatus(status), after, size);
+	}
+
+	@GetMapping(path = "/owner", params = "after")
+	public CompletableFuture<ResponseEntity<Object>> getAllOwnerBookingsAfter(@RequestHeader(X_SHARER_USER_ID) long userId,
+																			  @RequestParam(defaultValue = "ALL") String state,
+																			  @RequestParam(required = false) String status,
+																			  @RequestParam String after,
+																			  @RequestParam(defaultValue = "10") @Positive @Max(MAX_SLICE_SIZE) int size) {
+		RequestLog.info(log, "Валидация - получен запрос на получение бронирований вещей владельца после курсора: userId={}, state={}", userId, state);
+		BookingState validState = BookingState.getState(state).orElseThrow(() -> new InvalidStateException("Unknown state: " + state));
+		return bookingClient.getOwnerBookingsAfter(userId, validState, toStatus(status), after, size);
+	}
+
+	private BookingStatus toStatus(String status) {
+		if (status == null) {
+			return null;
+		}
+		return BookingStatus.getStatus(status).orElseThrow(() -> new InvalidStateException("Unknown status: " + status));
 	}
 }
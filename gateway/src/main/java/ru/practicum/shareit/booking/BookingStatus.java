@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking;
+
+import java.util.Optional;
+
+public enum BookingStatus {
+	WAITING, APPROVED, REJECTED, CANCELED;
+
+	public static Optional<BookingStatus> getStatus(String stringStatus) {
+		for (BookingStatus status : values()) {
+			if (status.name().equalsIgnoreCase(stringStatus)) {
+				return Optional.of(status);
+			}
+		}
+		return Optional.empty();
+	}
+}
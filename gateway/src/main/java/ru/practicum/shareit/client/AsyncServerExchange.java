@@ -0,0 +1,90 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.ServerBusyException;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Неблокирующий обмен с сервером, создается только в режиме ASYNC. У HttpClient из JDK нет настраиваемого пула,
+ * поэтому число одновременных запросов ограничено семафором на min(max-total, max-per-route). Места не ждут:
+ * поток Tomcat не блокируется, а запрос сверх лимита сразу получает 503.
+ * Потоковые postStream и getStream идут через блокирующий пул и в этом режиме.
+ */
+@Component
+@ConditionalOnProperty(prefix = "shareit-server.http", name = "mode", havingValue = "async")
+public class AsyncServerExchange {
+	public static final String IN_FLIGHT_GAUGE = "shareit.gateway.async.in-flight";
+
+	private final HttpClient httpClient;
+	private final ObjectMapper objectMapper;
+	private final Duration readTimeout;
+	private final Semaphore permits;
+
+	public AsyncServerExchange(HttpClientProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+		this.httpClient = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(properties.getConnectTimeout())
+				.build();
+		this.objectMapper = objectMapper;
+		this.readTimeout = properties.getReadTimeout();
+		int maxConcurrent = Math.min(properties.getMaxTotal(), properties.getMaxPerRoute());
+		this.permits = new Semaphore(maxConcurrent);
+		Gauge.builder(IN_FLIGHT_GAUGE, permits, semaphore -> maxConcurrent - semaphore.availablePermits())
+				.description("Запросы к серверу ShareIt, ожидающие ответа в режиме ASYNC")
+				.register(meterRegistry);
+	}
+
+	public CompletableFuture<ResponseEntity<Object>> send(HttpMethod method, URI uri, HttpHeaders headers, @Nullable Object body) {
+		HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+				.timeout(readTimeout)
+				.method(method.name(), bodyPublisher(body));
+		headers.forEach((name, values) -> values.forEach(value -> request.header(name, value)));
+
+		if (!permits.tryAcquire()) {
+			return CompletableFuture.failedFuture(new ServerBusyException(
+					"Слишком много одновременных запросов к серверу, повторите позже"));
+		}
+		CompletableFuture<ResponseEntity<Object>> response;
+		try {
+			response = httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.ofByteArray())
+					.thenApply(AsyncServerExchange::toResponseEntity);
+		} catch (RuntimeException e) {
+			permits.release();
+			throw e;
+		}
+		return response.whenComplete((result, error) -> permits.release());
+	}
+
+	private HttpRequest.BodyPublisher bodyPublisher(@Nullable Object body) {
+		if (body == null) {
+			return HttpRequest.BodyPublishers.noBody();
+		}
+		try {
+			return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+		} catch (JsonProcessingException e) {
+			throw new IllegalArgumentException("Не удалось сериализовать тело запроса", e);
+		}
+	}
+
+	private static ResponseEntity<Object> toResponseEntity(HttpResponse<byte[]> response) {
+		HttpHeaders headers = new HttpHeaders();
+		response.headers().map().forEach(headers::addAll);
+		return BaseClient.relayResponse(response.statusCode(), headers, response.body());
+	}
+}
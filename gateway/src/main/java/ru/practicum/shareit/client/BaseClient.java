@@ -1,86 +1,199 @@
 package ru.practicum.shareit.client;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import javax.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
-import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.RestClientResponseException;
 import org.springframework.web.client.RestTemplate;
 
 public class BaseClient {
+	public static final String SERVER_TIMER = "shareit.gateway.server.requests";
+	private static final String IO_ERROR = "IO_ERROR";
+	private static final List<String> RELAYED_HEADERS = List.of(
+			HttpHeaders.CONTENT_TYPE,
+			HttpHeaders.CONTENT_DISPOSITION,
+			HttpHeaders.CACHE_CONTROL,
+			HttpHeaders.ETAG,
+			HttpHeaders.LAST_MODIFIED,
+			"X-Next-Cursor"
+	);
+
 	protected final RestTemplate rest;
+	private final boolean passThrough;
+	@Nullable
+	private final AsyncServerExchange asyncExchange;
+	@Nullable
+	private final MeterRegistry meterRegistry;
+	private final String clientName = getClass().getSimpleName();
 
 	public BaseClient(RestTemplate rest) {
+		this(rest, false);
+	}
+
+	public BaseClient(RestTemplate rest, boolean passThrough) {
+		this(rest, passThrough, null);
+	}
+
+	public BaseClient(RestTemplate rest, boolean passThrough, @Nullable AsyncServerExchange asyncExchange) {
+		this(rest, passThrough, asyncExchange, null);
+	}
+
+	public BaseClient(RestTemplate rest, boolean passThrough, @Nullable AsyncServerExchange asyncExchange,
+					  @Nullable MeterRegistry meterRegistry) {
 		this.rest = rest;
+		this.passThrough = passThrough;
+		this.asyncExchange = asyncExchange;
+		this.meterRegistry = meterRegistry;
 	}
 
-	protected ResponseEntity<Object> get(String path) {
+	protected CompletableFuture<ResponseEntity<Object>> get(String path) {
 		return get(path, null, null);
 	}
 
-	protected ResponseEntity<Object> get(String path, long userId) {
+	protected CompletableFuture<ResponseEntity<Object>> get(String path, long userId) {
 		return get(path, userId, null);
 	}
 
-	protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+	protected CompletableFuture<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
 		return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
 	}
 
-	protected <T> ResponseEntity<Object> post(String path, T body) {
+	protected <T> CompletableFuture<ResponseEntity<Object>> post(String path, T body) {
 		return post(path, null, null, body);
 	}
 
-	protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
+	protected <T> CompletableFuture<ResponseEntity<Object>> post(String path, long userId, T body) {
 		return post(path, userId, null, body);
 	}
 
-	protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+	protected <T> CompletableFuture<ResponseEntity<Object>> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
 		return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
 	}
 
-	protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
+	protected <T> CompletableFuture<ResponseEntity<Object>> put(String path, long userId, T body) {
 		return put(path, userId, null, body);
 	}
 
-	protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
+	protected <T> CompletableFuture<ResponseEntity<Object>> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
 		return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
 	}
 
-	protected <T> ResponseEntity<Object> patch(String path, T body) {
+	protected <T> CompletableFuture<ResponseEntity<Object>> patch(String path, T body) {
 		return patch(path, null, null, body);
 	}
 
-	protected <T> ResponseEntity<Object> patch(String path, long userId) {
+	protected <T> CompletableFuture<ResponseEntity<Object>> patch(String path, long userId) {
 		return patch(path, userId, null, null);
 	}
 
-	protected <T> ResponseEntity<Object> patch(String path, long userId, T body) {
+	protected <T> CompletableFuture<ResponseEntity<Object>> patch(String path, long userId, T body) {
 		return patch(path, userId, null, body);
 	}
 
-	protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+	protected <T> CompletableFuture<ResponseEntity<Object>> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
 		return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
 	}
 
-	protected ResponseEntity<Object> delete(String path) {
+	protected CompletableFuture<ResponseEntity<Object>> delete(String path) {
 		return delete(path, null, null);
 	}
 
-	protected ResponseEntity<Object> delete(String path, long userId) {
+	protected CompletableFuture<ResponseEntity<Object>> delete(String path, long userId) {
 		return delete(path, userId, null);
 	}
 
-	protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+	protected CompletableFuture<ResponseEntity<Object>> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
 		return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
 	}
 
-	private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+	/**
+	 * POST с телом из потока: тело копируется на сервер по мере чтения и не собирается в памяти шлюза,
+	 * если streamingRest построен на фабрике без буферизации тела. Ответ сервера передается как есть.
+	 * Запрос блокирующий в обоих режимах клиента.
+	 */
+	protected CompletableFuture<ResponseEntity<Object>> postStream(RestTemplate streamingRest, String path, long userId,
+																   MediaType contentType, InputStream body) {
+		return timed(HttpMethod.POST, () -> CompletableFuture.completedFuture(
+				streamRequest(streamingRest, path, userId, contentType, body)));
+	}
+
+	/**
+	 * GET, ответ которого передается клиенту по мере получения: статус и заголовки сервера выставляются в response,
+	 * тело копируется в него без буферизации, и шлюз отдает его chunked. Ошибки сервер возвращает в JSON.
+	 * Запрос блокирующий в обоих режимах клиента.
+	 */
+	protected void getStream(String path, long userId, Map<String, Object> parameters, MediaType accept,
+							 HttpServletResponse response) {
+		Timer.Sample sample = meterRegistry != null ? Timer.start(meterRegistry) : null;
+		String status = IO_ERROR;
+		try {
+			status = String.valueOf(streamResponse(path, userId, parameters, accept, response));
+		} finally {
+			if (sample != null) {
+				sample.stop(serverTimer(HttpMethod.GET, status));
+			}
+		}
+	}
+
+	private <T> CompletableFuture<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+		return timed(method, () -> sendRequest(method, path, userId, parameters, body));
+	}
+
+	private CompletableFuture<ResponseEntity<Object>> timed(HttpMethod method,
+															 Supplier<CompletableFuture<ResponseEntity<Object>>> request) {
+		if (meterRegistry == null) {
+			return request.get();
+		}
+
+		Timer.Sample sample = Timer.start(meterRegistry);
+		CompletableFuture<ResponseEntity<Object>> response;
+		try {
+			response = request.get();
+		} catch (RuntimeException e) {
+			sample.stop(serverTimer(method, IO_ERROR));
+			throw e;
+		}
+		return response.whenComplete((result, error) -> sample.stop(serverTimer(method,
+				result != null ? String.valueOf(result.getStatusCodeValue()) : IO_ERROR)));
+	}
+
+	private Timer serverTimer(HttpMethod method, String status) {
+		return Timer.builder(SERVER_TIMER)
+				.tag("client", clientName)
+				.tag("method", method.name())
+				.tag("status", status)
+				.register(meterRegistry);
+	}
+
+	private <T> CompletableFuture<ResponseEntity<Object>> sendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+		if (asyncExchange != null) {
+			URI uri = parameters != null
+					? rest.getUriTemplateHandler().expand(path, parameters)
+					: rest.getUriTemplateHandler().expand(path);
+			return asyncExchange.send(method, uri, defaultHeaders(userId), body);
+		}
+
 		HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+		if (passThrough) {
+			return CompletableFuture.completedFuture(relayRequest(method, path, parameters, requestEntity));
+		}
 
 		ResponseEntity<Object> shareitServerResponse;
 		try {
@@ -89,10 +202,79 @@ public class BaseClient {
 			} else {
 				shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
 			}
-		} catch (HttpStatusCodeException e) {
-			return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+		} catch (RestClientResponseException e) {
+			return CompletableFuture.completedFuture(ResponseEntity.status(e.getRawStatusCode()).body(e.getResponseBodyAsByteArray()));
+		}
+		return CompletableFuture.completedFuture(prepareGatewayResponse(shareitServerResponse));
+	}
+
+	private <T> ResponseEntity<Object> relayRequest(HttpMethod method, String path, @Nullable Map<String, Object> parameters, HttpEntity<T> requestEntity) {
+		ResponseEntity<byte[]> shareitServerResponse;
+		try {
+			if (parameters != null) {
+				shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
+			} else {
+				shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
+			}
+		} catch (RestClientResponseException e) {
+			return relayResponse(e.getRawStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
+		}
+		return relayResponse(shareitServerResponse.getStatusCodeValue(), shareitServerResponse.getHeaders(), shareitServerResponse.getBody());
+	}
+
+	private ResponseEntity<Object> streamRequest(RestTemplate streamingRest, String path, long userId,
+												 MediaType contentType, InputStream body) {
+		HttpHeaders headers = defaultHeaders(userId);
+		headers.setContentType(contentType);
+		try {
+			return streamingRest.execute(path, HttpMethod.POST,
+					request -> {
+						request.getHeaders().putAll(headers);
+						StreamUtils.copy(body, request.getBody());
+					},
+					response -> relayResponse(response.getRawStatusCode(), response.getHeaders(),
+							StreamUtils.copyToByteArray(response.getBody())));
+		} catch (RestClientResponseException e) {
+			return relayResponse(e.getRawStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
+		}
+	}
+
+	private int streamResponse(String path, long userId, Map<String, Object> parameters, MediaType accept,
+							   HttpServletResponse response) {
+		HttpHeaders headers = defaultHeaders(userId);
+		headers.setAccept(List.of(accept, MediaType.APPLICATION_JSON));
+		try {
+			Integer status = rest.execute(path, HttpMethod.GET,
+					request -> request.getHeaders().putAll(headers),
+					serverResponse -> {
+						relayStatusAndHeaders(serverResponse.getRawStatusCode(), serverResponse.getHeaders(), response);
+						StreamUtils.copy(serverResponse.getBody(), response.getOutputStream());
+						response.flushBuffer();
+						return serverResponse.getRawStatusCode();
+					},
+					parameters);
+			return status != null ? status : HttpStatus.OK.value();
+		} catch (RestClientResponseException e) {
+			relayStatusAndHeaders(e.getRawStatusCode(), e.getResponseHeaders(), response);
+			try {
+				response.getOutputStream().write(e.getResponseBodyAsByteArray());
+			} catch (IOException ioException) {
+				throw new UncheckedIOException(ioException);
+			}
+			return e.getRawStatusCode();
+		}
+	}
+
+	private static void relayStatusAndHeaders(int status, @Nullable HttpHeaders serverHeaders, HttpServletResponse response) {
+		response.setStatus(status);
+		if (serverHeaders != null) {
+			for (String name : RELAYED_HEADERS) {
+				List<String> values = serverHeaders.get(name);
+				if (values != null) {
+					values.forEach(value -> response.addHeader(name, value));
+				}
+			}
 		}
-		return prepareGatewayResponse(shareitServerResponse);
 	}
 
 	private HttpHeaders defaultHeaders(Long userId) {
@@ -118,4 +300,23 @@ public class BaseClient {
 
 		return responseBuilder.build();
 	}
-}
\ No newline at end of file
+
+	static ResponseEntity<Object> relayResponse(int status, @Nullable HttpHeaders serverHeaders, @Nullable byte[] body) {
+		HttpHeaders headers = new HttpHeaders();
+		if (serverHeaders != null) {
+			for (String name : RELAYED_HEADERS) {
+				List<String> values = serverHeaders.get(name);
+				if (values != null) {
+					headers.put(name, values);
+				}
+			}
+		}
+
+		ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status).headers(headers);
+		if (body == null || body.length == 0) {
+			return responseBuilder.build();
+		}
+
+		return responseBuilder.body(body);
+	}
+}
@@ -0,0 +1,5 @@
+package ru.practicum.shareit.client;
+
+public enum ClientMode {
+	BLOCKING, ASYNC
+}
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@EnableConfigurationProperties(HttpClientProperties.class)
+public class HttpClientConfig {
+	public static final String POOL_NAME = "shareit-server";
+
+	@Bean
+	public PoolingHttpClientConnectionManager shareItServerConnectionManager(HttpClientProperties properties) {
+		PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+		connectionManager.setMaxTotal(properties.getMaxTotal());
+		connectionManager.setDefaultMaxPerRoute(properties.getMaxPerRoute());
+		connectionManager.setValidateAfterInactivity((int) properties.getValidateAfterInactivity().toMillis());
+		return connectionManager;
+	}
+
+	@Bean
+	public CloseableHttpClient shareItServerHttpClient(PoolingHttpClientConnectionManager connectionManager,
+													   HttpClientProperties properties) {
+		RequestConfig requestConfig = RequestConfig.custom()
+				.setConnectTimeout((int) properties.getConnectTimeout().toMillis())
+				.setSocketTimeout((int) properties.getReadTimeout().toMillis())
+				.setConnectionRequestTimeout((int) properties.getPoolAcquireTimeout().toMillis())
+				.build();
+		return HttpClients.custom()
+				.setConnectionManager(connectionManager)
+				.setDefaultRequestConfig(requestConfig)
+				.setKeepAliveStrategy(keepAliveStrategy(properties.getKeepAlive().toMillis()))
+				.evictExpiredConnections()
+				.evictIdleConnections(properties.getIdleEviction().toMillis(), TimeUnit.MILLISECONDS)
+				.build();
+	}
+
+	@Bean
+	@Primary
+	public HttpComponentsClientHttpRequestFactory shareItServerRequestFactory(CloseableHttpClient shareItServerHttpClient) {
+		return new HttpComponentsClientHttpRequestFactory(shareItServerHttpClient);
+	}
+
+	/**
+	 * Фабрика для потоковой передачи тела на сервер (импорт вещей): тело не буферизуется в памяти.
+	 */
+	@Bean
+	public HttpComponentsClientHttpRequestFactory shareItServerStreamingRequestFactory(CloseableHttpClient shareItServerHttpClient) {
+		HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(shareItServerHttpClient);
+		requestFactory.setBufferRequestBody(false);
+		return requestFactory;
+	}
+
+	@Bean
+	public PoolingHttpClientConnectionManagerMetricsBinder shareItServerPoolMetrics(
+			PoolingHttpClientConnectionManager connectionManager) {
+		return new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, POOL_NAME);
+	}
+
+	static ConnectionKeepAliveStrategy keepAliveStrategy(long keepAliveMillis) {
+		return (response, context) -> {
+			long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+			return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAliveMillis) : keepAliveMillis;
+		};
+	}
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки соединений шлюза с сервером. В режиме BLOCKING они задают пул Apache HttpClient.
+ * В режиме ASYNC обычные запросы идут через HttpClient из JDK: min(max-total, max-per-route) ограничивает
+ * число одновременных запросов, сверх него шлюз сразу отвечает 503; pool-acquire-timeout,
+ * validate-after-inactivity, idle-eviction и keep-alive к ним не применяются, а вместо метрик пула
+ * httpcomponents.httpclient.pool.* есть shareit.gateway.async.in-flight. Потоковые импорт и выгрузка
+ * в обоих режимах идут через пул Apache HttpClient.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.http")
+public class HttpClientProperties {
+	private ClientMode mode = ClientMode.BLOCKING;
+	private int maxTotal = 200;
+	private int maxPerRoute = 100;
+	private Duration connectTimeout = Duration.ofSeconds(2);
+	private Duration readTimeout = Duration.ofSeconds(30);
+	private Duration poolAcquireTimeout = Duration.ofSeconds(1);
+	private Duration validateAfterInactivity = Duration.ofSeconds(2);
+	private Duration idleEviction = Duration.ofSeconds(30);
+	private Duration keepAlive = Duration.ofSeconds(60);
+}
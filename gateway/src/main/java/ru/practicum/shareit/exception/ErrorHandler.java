@@ -2,11 +2,13 @@ package ru.practicum.shareit.exception;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import javax.validation.ConstraintViolationException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 
@@ -21,6 +23,13 @@ public class ErrorHandler {
 		return new ErrorResponse(e.getMessage());
 	}
 
+	@ExceptionHandler(ConstraintViolationException.class)
+	@ResponseStatus(HttpStatus.BAD_REQUEST)
+	public ErrorResponse handler(final ConstraintViolationException e) {
+		log.info("Ошибка - передан некорректный параметр: {}", e.getMessage());
+		return new ErrorResponse(e.getMessage());
+	}
+
 	@ExceptionHandler(InvalidStateException.class)
 	@ResponseStatus(HttpStatus.BAD_REQUEST)
 	public ErrorResponse handler(final InvalidStateException e) {
@@ -28,6 +37,20 @@ public class ErrorHandler {
 		return new ErrorResponse(e.getMessage());
 	}
 
+	@ExceptionHandler(HttpMediaTypeNotSupportedException.class)
+	@ResponseStatus(HttpStatus.UNSUPPORTED_MEDIA_TYPE)
+	public ErrorResponse handler(final HttpMediaTypeNotSupportedException e) {
+		log.info("Ошибка - неподдерживаемый тип содержимого: {}", e.getMessage());
+		return new ErrorResponse(e.getMessage());
+	}
+
+	@ExceptionHandler(ServerBusyException.class)
+	@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+	public ErrorResponse handler(final ServerBusyException e) {
+		log.warn("Ошибка - превышен лимит одновременных запросов к серверу: {}", e.getMessage());
+		return new ErrorResponse(e.getMessage());
+	}
+
 	@ExceptionHandler(Exception.class)
 	@ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
 	public ErrorResponse handler(final Exception e) {
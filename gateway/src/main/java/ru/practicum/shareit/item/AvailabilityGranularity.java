@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item;
+
+import java.util.Optional;
+
+public enum AvailabilityGranularity {
+	HOUR, DAY;
+
+	public static Optional<AvailabilityGranularity> getGranularity(String stringGranularity) {
+		for (AvailabilityGranularity granularity : values()) {
+			if (granularity.name().equalsIgnoreCase(stringGranularity)) {
+				return Optional.of(granularity);
+			}
+		}
+		return Optional.empty();
+	}
+}
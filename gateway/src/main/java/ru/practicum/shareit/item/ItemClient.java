@@ -1,49 +1,74 @@
 package ru.practicum.shareit.item;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.client.AsyncServerExchange;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class ItemClient extends BaseClient {
 	private static final String API_PREFIX = "/items";
 
+	private final RestTemplate streamingRest;
+
 
 	@Autowired
-	public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+	public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+					  ClientHttpRequestFactory shareItServerRequestFactory,
+					  @Value("${shareit-server.pass-through}") boolean passThrough,
+					  @Nullable AsyncServerExchange asyncExchange, MeterRegistry meterRegistry,
+					  ClientHttpRequestFactory shareItServerStreamingRequestFactory) {
 		super(
 				builder
 						.uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-						.requestFactory(HttpComponentsClientHttpRequestFactory::new)
-						.build()
+						.requestFactory(() -> shareItServerRequestFactory)
+						.build(),
+				passThrough,
+				asyncExchange,
+				meterRegistry
 		);
+		this.streamingRest = builder
+				.uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
+				.requestFactory(() -> shareItServerStreamingRequestFactory)
+				.build();
 	}
 
-	public ResponseEntity<Object> addItem(long ownerId, ItemCreateDto itemCreateDto) {
+	public CompletableFuture<ResponseEntity<Object>> addItem(long ownerId, ItemCreateDto itemCreateDto) {
 		return post("", ownerId, itemCreateDto);
 	}
 
+	public CompletableFuture<ResponseEntity<Object>> importItems(long ownerId, InputStream ndjson) {
+		return postStream(streamingRest, "/bulk", ownerId, MediaType.APPLICATION_NDJSON, ndjson);
+	}
+
 
-	public ResponseEntity<Object> updateItem(long id, long ownerId, ItemUpdateDto itemUpdateDto) {
+	public CompletableFuture<ResponseEntity<Object>> updateItem(long id, long ownerId, ItemUpdateDto itemUpdateDto) {
 		return patch("/" + id, ownerId, itemUpdateDto);
 	}
 
 
-	public ResponseEntity<Object> getItem(long userId, Long id) {
+	public CompletableFuture<ResponseEntity<Object>> getItem(long userId, Long id) {
 		return get("/" + id, userId);
 	}
 
-	public ResponseEntity<Object> findAllByOwnerId(long ownerId, int from, int size) {
+	public CompletableFuture<ResponseEntity<Object>> findAllByOwnerId(long ownerId, int from, int size) {
 		Map<String, Object> parameters = Map.of(
 				"from", from,
 				"size", size
@@ -51,7 +76,17 @@ public class ItemClient extends BaseClient {
 		return get("?from={from}&size={size}", ownerId, parameters);
 	}
 
-	public ResponseEntity<Object> searchBy(long userId, String text, int from, int size) {
+	public CompletableFuture<ResponseEntity<Object>> getAvailability(long userId, long itemId, LocalDateTime from,
+																	 LocalDateTime to, AvailabilityGranularity granularity) {
+		Map<String, Object> parameters = Map.of(
+				"from", from,
+				"to", to,
+				"granularity", granularity.name()
+		);
+		return get("/" + itemId + "/availability?from={from}&to={to}&granularity={granularity}", userId, parameters);
+	}
+
+	public CompletableFuture<ResponseEntity<Object>> searchBy(long userId, String text, int from, int size) {
 		Map<String, Object> parameters = Map.of(
 				"text", text,
 				"from", from,
@@ -61,7 +96,7 @@ public class ItemClient extends BaseClient {
 	}
 
 
-	public ResponseEntity<Object> addComment(long userId, Long itemId, CommentRequestDto commentRequestDto) {
+	public CompletableFuture<ResponseEntity<Object>> addComment(long userId, Long itemId, CommentRequestDto commentRequestDto) {
 		String path = "/" + itemId + "/comment";
 		return post(path, userId, commentRequestDto);
 	}
@@ -2,15 +2,22 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.exception.InvalidStateException;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.logging.RequestLog;
 
 import javax.validation.Valid;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/items")
@@ -24,49 +31,68 @@ public class ItemController {
 
 	@PostMapping
 	@ResponseStatus(HttpStatus.CREATED)
-	public ResponseEntity<Object> addItem(@RequestHeader(X_SHARER_USER_ID) long ownerId,
-										  @Valid @RequestBody ItemCreateDto itemCreateDto) {
-		log.info("Валидация - получен запрос на добавление вещи = {}, ownerId = {}", itemCreateDto, ownerId);
+	public CompletableFuture<ResponseEntity<Object>> addItem(@RequestHeader(X_SHARER_USER_ID) long ownerId,
+															 @Valid @RequestBody ItemCreateDto itemCreateDto) {
+		RequestLog.info(log, "Валидация - получен запрос на добавление вещи: ownerId={}", ownerId);
 		return itemClient.addItem(ownerId, itemCreateDto);
 	}
 
+	@PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+	public CompletableFuture<ResponseEntity<Object>> importItems(@RequestHeader(X_SHARER_USER_ID) long ownerId,
+																 InputStream body) {
+		RequestLog.info(log, "Валидация - получен запрос на импорт вещей: ownerId={}", ownerId);
+		return itemClient.importItems(ownerId, body);
+	}
+
 	@PatchMapping("/{id}")
-	public ResponseEntity<Object> updateItem(@RequestHeader(X_SHARER_USER_ID) long ownerId,
-											 @PathVariable Long id,
-											 @RequestBody ItemUpdateDto itemUpdateDto) {
-		log.info("Валидация - получен запрос на обновление вещи c id = {}, описание вещи = {} , ownerId = {}", itemUpdateDto, id, ownerId);
+	public CompletableFuture<ResponseEntity<Object>> updateItem(@RequestHeader(X_SHARER_USER_ID) long ownerId,
+																@PathVariable Long id,
+																@RequestBody ItemUpdateDto itemUpdateDto) {
+		RequestLog.info(log, "Валидация - получен запрос на обновление вещи: itemId={}, ownerId={}", id, ownerId);
 		return itemClient.updateItem(id, ownerId, itemUpdateDto);
 	}
 
 	@GetMapping("/{id}")
-	public ResponseEntity<Object> getItem(@RequestHeader(X_SHARER_USER_ID) long userId,
-										  @PathVariable Long id) {
-		log.info("Валидация - получен запрос на получение вещи, item_id = {}, userId = {}", id, userId);
+	public CompletableFuture<ResponseEntity<Object>> getItem(@RequestHeader(X_SHARER_USER_ID) long userId,
+															 @PathVariable Long id) {
+		RequestLog.info(log, "Валидация - получен запрос на получение вещи: itemId={}, userId={}", id, userId);
 		return itemClient.getItem(userId, id);
 	}
 
 	@GetMapping
-	public ResponseEntity<Object> findAllByOwnerId(@RequestHeader(X_SHARER_USER_ID) long ownerId,
-												   @RequestParam(required = false, defaultValue = "0") int from,
-												   @RequestParam(required = false, defaultValue = "10") int size) {
-		log.info("Валидация - получен запрос на получение всех вещей владельца вещи, ownerId = {}, from = {}, size = {}", ownerId, from, size);
+	public CompletableFuture<ResponseEntity<Object>> findAllByOwnerId(@RequestHeader(X_SHARER_USER_ID) long ownerId,
+																	  @RequestParam(required = false, defaultValue = "0") int from,
+																	  @RequestParam(required = false, defaultValue = "10") int size) {
+		RequestLog.info(log, "Валидация - получен запрос на получение всех вещей владельца: ownerId={}, from={}", ownerId, from);
 		return itemClient.findAllByOwnerId(ownerId, from, size);
 	}
 
 	@GetMapping("/search")
-	public ResponseEntity<Object> searchBy(@RequestHeader(X_SHARER_USER_ID) long userId,
-										   @RequestParam String text,
-										   @RequestParam(required = false, defaultValue = "0") int from,
-										   @RequestParam(required = false, defaultValue = "10") int size) {
-		log.info("Валидация - получен запрос на поиск всех вещей по тексту = {}, userId = {}, from = {}, size = {}", text, userId, from, size);
+	public CompletableFuture<ResponseEntity<Object>> searchBy(@RequestHeader(X_SHARER_USER_ID) long userId,
+															  @RequestParam String text,
+															  @RequestParam(required = false, defaultValue = "0") int from,
+															  @RequestParam(required = false, defaultValue = "10") int size) {
+		RequestLog.info(log, "Валидация - получен запрос на поиск вещей: text={}, userId={}", text, userId);
 		return itemClient.searchBy(userId, text, from, size);
 	}
 
 	@PostMapping("/{itemId}/comment")
-	public ResponseEntity<Object> addComment(@RequestHeader(X_SHARER_USER_ID) long userId,
-											 @PathVariable Long itemId,
-											 @Valid @RequestBody CommentRequestDto commentRequestDto) {
-		log.info("Валидация - получен запрос на добавление комментария для вещи itemId = {}, userId = {}, комментарий = {}", itemId, userId, commentRequestDto);
+	public CompletableFuture<ResponseEntity<Object>> addComment(@RequestHeader(X_SHARER_USER_ID) long userId,
+																@PathVariable Long itemId,
+																@Valid @RequestBody CommentRequestDto commentRequestDto) {
+		RequestLog.info(log, "Валидация - получен запрос на добавление комментария: itemId={}, userId={}", itemId, userId);
 		return itemClient.addComment(userId, itemId, commentRequestDto);
 	}
-}
\ No newline at end of file
+
+	@GetMapping("/{id}/availability")
+	public CompletableFuture<ResponseEntity<Object>> getAvailability(@RequestHeader(X_SHARER_USER_ID) long userId,
+																	 @PathVariable long id,
+																	 @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+																	 @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+																	 @RequestParam(defaultValue = "hour") String granularity) {
+		RequestLog.info(log, "Валидация - получен запрос на получение занятости вещи: itemId={}, granularity={}", id, granularity);
+		AvailabilityGranularity validGranularity = AvailabilityGranularity.getGranularity(granularity)
+				.orElseThrow(() -> new InvalidStateException("Unknown granularity: " + granularity));
+		return itemClient.getAvailability(userId, id, from, to, validGranularity);
+	}
+}
@@ -0,0 +1,65 @@
+package ru.practicum.shareit.logging;
+
+import org.slf4j.Logger;
+
+/**
+ * Логи валидации запросов в контроллерах шлюза, отбор запросов - в RequestLogSamplingFilter.
+ * Перегрузки повторяют сочетания аргументов контроллеров шлюза, чтобы long-параметры не упаковывались
+ * в неотобранных запросах. Устроен так же, как RequestLog сервера, но модули не делят код.
+ */
+public final class RequestLog {
+	private static final ThreadLocal<Boolean> SAMPLED = new ThreadLocal<>();
+
+	private RequestLog() {
+	}
+
+	public static void info(Logger log, String message) {
+		if (isSampled() && log.isInfoEnabled()) {
+			log.info(message);
+		}
+	}
+
+	public static void info(Logger log, String format, Object arg) {
+		if (isSampled() && log.isInfoEnabled()) {
+			log.info(format, arg);
+		}
+	}
+
+	public static void info(Logger log, String format, long arg) {
+		if (isSampled() && log.isInfoEnabled()) {
+			log.info(format, arg);
+		}
+	}
+
+
+	public static void info(Logger log, String format, long arg1, long arg2) {
+		if (isSampled() && log.isInfoEnabled()) {
+			log.info(format, arg1, arg2);
+		}
+	}
+
+	public static void info(Logger log, String format, long arg1, Object arg2) {
+		if (isSampled() && log.isInfoEnabled()) {
+			log.info(format, arg1, arg2);
+		}
+	}
+
+	public static void info(Logger log, String format, Object arg1, long arg2) {
+		if (isSampled() && log.isInfoEnabled()) {
+			log.info(format, arg1, arg2);
+		}
+	}
+
+	static void setSampled(boolean sampled) {
+		SAMPLED.set(sampled);
+	}
+
+	static void clear() {
+		SAMPLED.remove();
+	}
+
+	static boolean isSampled() {
+		Boolean sampled = SAMPLED.get();
+		return sampled == null || sampled;
+	}
+}
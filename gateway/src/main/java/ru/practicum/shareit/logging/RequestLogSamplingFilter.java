@@ -0,0 +1,36 @@
+package ru.practicum.shareit.logging;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Отбирает долю shareit.logging.request-sample-rate входящих в шлюз запросов, для которых пишется RequestLog.
+ * Решение шлюза не передается серверу: там запрос отбирается заново.
+ */
+@Component
+public class RequestLogSamplingFilter extends OncePerRequestFilter {
+	private final double sampleRate;
+
+	public RequestLogSamplingFilter(@Value("${shareit.logging.request-sample-rate:1.0}") double sampleRate) {
+		this.sampleRate = sampleRate;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		RequestLog.setSampled(sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate);
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			RequestLog.clear();
+		}
+	}
+}
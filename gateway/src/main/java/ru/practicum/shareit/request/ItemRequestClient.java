@@ -1,40 +1,50 @@
 package ru.practicum.shareit.request;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.client.AsyncServerExchange;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class ItemRequestClient extends BaseClient {
 	private static final String API_PREFIX = "/requests";
 
 	@Autowired
-	public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+	public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+							 ClientHttpRequestFactory shareItServerRequestFactory,
+							 @Value("${shareit-server.pass-through}") boolean passThrough,
+							 @Nullable AsyncServerExchange asyncExchange, MeterRegistry meterRegistry) {
 		super(
 				builder
 						.uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-						.requestFactory(HttpComponentsClientHttpRequestFactory::new)
-						.build()
+						.requestFactory(() -> shareItServerRequestFactory)
+						.build(),
+				passThrough,
+				asyncExchange,
+				meterRegistry
 		);
 	}
 
-	public ResponseEntity<Object> addRequest(long userId, ItemRequestCreateDto itemRequestDto) {
+	public CompletableFuture<ResponseEntity<Object>> addRequest(long userId, ItemRequestCreateDto itemRequestDto) {
 		return post("", userId, itemRequestDto);
 	}
 
-	public ResponseEntity<Object> getRequests(long ownerId) {
+	public CompletableFuture<ResponseEntity<Object>> getRequests(long ownerId) {
 		return get("", ownerId);
 	}
 
-	public ResponseEntity<Object> getOtherRequests(long userId, int from, int size) {
+	public CompletableFuture<ResponseEntity<Object>> getOtherRequests(long userId, int from, int size) {
 		Map<String, Object> parameters = Map.of(
 				"from", from,
 				"size", size
@@ -42,7 +52,7 @@ public class ItemRequestClient extends BaseClient {
 		return get("/all?from={from}&size={size}", userId, parameters);
 	}
 
-	public ResponseEntity<Object> getRequestById(long userId, Long requestId) {
+	public CompletableFuture<ResponseEntity<Object>> getRequestById(long userId, Long requestId) {
 		return get("/" + requestId, userId);
 	}
 }
@@ -7,9 +7,11 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.logging.RequestLog;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 
 import javax.validation.Valid;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 @RequestMapping(path = "/requests")
@@ -22,30 +24,30 @@ public class ItemRequestController {
 
 	@PostMapping
 	@ResponseStatus(HttpStatus.CREATED)
-	public ResponseEntity<Object> addRequest(@RequestHeader(X_SHARER_USER_ID) long userId,
-											 @Valid @RequestBody ItemRequestCreateDto itemRequestDto) {
-		log.info("Валидация - получен запрос на новую вещь от пользователя с usedId = {}, запрос = {}", userId, itemRequestDto);
+	public CompletableFuture<ResponseEntity<Object>> addRequest(@RequestHeader(X_SHARER_USER_ID) long userId,
+																@Valid @RequestBody ItemRequestCreateDto itemRequestDto) {
+		RequestLog.info(log, "Валидация - получен запрос на новый запрос вещи: userId={}", userId);
 		return itemRequestClient.addRequest(userId, itemRequestDto);
 	}
 
 	@GetMapping
-	public ResponseEntity<Object> getRequests(@RequestHeader(X_SHARER_USER_ID) long ownerId) {
-		log.info("Валидация - получен запрос на получение всех собственных запросов пользователя с userId = {}", ownerId);
+	public CompletableFuture<ResponseEntity<Object>> getRequests(@RequestHeader(X_SHARER_USER_ID) long ownerId) {
+		RequestLog.info(log, "Валидация - получен запрос на получение собственных запросов: userId={}", ownerId);
 		return itemRequestClient.getRequests(ownerId);
 	}
 
 	@GetMapping("/all")
-	public ResponseEntity<Object> getOtherRequests(@RequestHeader(X_SHARER_USER_ID) long userId,
-												   @RequestParam(required = false, defaultValue = "0") int from,
-												   @RequestParam(required = false, defaultValue = "10") int size) {
-		log.info("Валидация - получен запрос на просмотр запросов, созданных другими пользователями, от пользователя с userId = {}, from = {}, size = {}", userId, from, size);
+	public CompletableFuture<ResponseEntity<Object>> getOtherRequests(@RequestHeader(X_SHARER_USER_ID) long userId,
+																	  @RequestParam(required = false, defaultValue = "0") int from,
+																	  @RequestParam(required = false, defaultValue = "10") int size) {
+		RequestLog.info(log, "Валидация - получен запрос на просмотр запросов других пользователей: userId={}, from={}", userId, from);
 		return itemRequestClient.getOtherRequests(userId, from, size);
 	}
 
 	@GetMapping("/{requestId}")
-	public ResponseEntity<Object> getRequestById(@RequestHeader(X_SHARER_USER_ID) long userId,
-												 @PathVariable Long requestId) {
-		log.info("Валидация - получен запрос на просмотр запроса с id = {} от пользователя с userId = {}", requestId, userId);
+	public CompletableFuture<ResponseEntity<Object>> getRequestById(@RequestHeader(X_SHARER_USER_ID) long userId,
+																	@PathVariable Long requestId) {
+		RequestLog.info(log, "Валидация - получен запрос на просмотр запроса вещи: requestId={}, userId={}", requestId, userId);
 		return itemRequestClient.getRequestById(userId, requestId);
 	}
 }
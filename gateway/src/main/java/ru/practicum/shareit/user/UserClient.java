@@ -1,47 +1,58 @@
 package ru.practicum.shareit.user;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.client.AsyncServerExchange;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.user.dto.UserCreateDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
 
+import java.util.concurrent.CompletableFuture;
+
 @Service
 public class UserClient extends BaseClient {
 	private static final String API_PREFIX = "/users";
 
 	@Autowired
-	public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+	public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+					  ClientHttpRequestFactory shareItServerRequestFactory,
+					  @Value("${shareit-server.pass-through}") boolean passThrough,
+					  @Nullable AsyncServerExchange asyncExchange, MeterRegistry meterRegistry) {
 		super(
 				builder
 						.uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-						.requestFactory(HttpComponentsClientHttpRequestFactory::new)
-						.build()
+						.requestFactory(() -> shareItServerRequestFactory)
+						.build(),
+				passThrough,
+				asyncExchange,
+				meterRegistry
 		);
 	}
 
-	public ResponseEntity<Object> saveNewUser(UserCreateDto userCreateDto) {
+	public CompletableFuture<ResponseEntity<Object>> saveNewUser(UserCreateDto userCreateDto) {
 		return post("", userCreateDto);
 	}
 
-	public ResponseEntity<Object> getAllUsers() {
+	public CompletableFuture<ResponseEntity<Object>> getAllUsers() {
 		return get("");
 	}
 
-	public ResponseEntity<Object> getUserById(long id) {
+	public CompletableFuture<ResponseEntity<Object>> getUserById(long id) {
 		return get("/" + id);
 	}
 
-	public ResponseEntity<Object> updateUser(long id, UserUpdateDto userUpdateDto) {
+	public CompletableFuture<ResponseEntity<Object>> updateUser(long id, UserUpdateDto userUpdateDto) {
 		return patch("/" + id, userUpdateDto);
 	}
 
-	public ResponseEntity<Object> deleteById(long id) {
+	public CompletableFuture<ResponseEntity<Object>> deleteById(long id) {
 		return delete("/" + id);
 	}
 }
@@ -7,10 +7,12 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.logging.RequestLog;
 import ru.practicum.shareit.user.dto.UserCreateDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
 
 import javax.validation.Valid;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 @RequestMapping(path = "/users")
@@ -23,34 +25,34 @@ public class UserController {
 
 	@PostMapping
 	@ResponseStatus(HttpStatus.CREATED)
-	public ResponseEntity<Object> saveNewUser(@Valid @RequestBody UserCreateDto userCreateDto) {
-		log.info("Валидация - получен запрос на добавление пользователя: {}", userCreateDto);
+	public CompletableFuture<ResponseEntity<Object>> saveNewUser(@Valid @RequestBody UserCreateDto userCreateDto) {
+		RequestLog.info(log, "Валидация - получен запрос на добавление пользователя");
 		return userClient.saveNewUser(userCreateDto);
 	}
 
 	@GetMapping
-	public ResponseEntity<Object> getAllUsers() {
-		log.info("Валидация - получен запрос на получение всех пользователей");
+	public CompletableFuture<ResponseEntity<Object>> getAllUsers() {
+		RequestLog.info(log, "Валидация - получен запрос на получение всех пользователей");
 		return userClient.getAllUsers();
 	}
 
 	@GetMapping("/{id}")
-	public ResponseEntity<Object> getUserById(@PathVariable Long id) {
-		log.info("Валидация - получен запрос на получение пользователя с id: {}", id);
+	public CompletableFuture<ResponseEntity<Object>> getUserById(@PathVariable Long id) {
+		RequestLog.info(log, "Валидация - получен запрос на получение пользователя: userId={}", id);
 		return userClient.getUserById(id);
 	}
 
 	@PatchMapping("/{id}")
-	public ResponseEntity<Object> updateUser(@PathVariable Long id,
-											 @Valid @RequestBody UserUpdateDto userUpdateDto) {
-		log.info("Валидация - получен запрос на обновление пользователя: {}, id: {}", userUpdateDto, id);
+	public CompletableFuture<ResponseEntity<Object>> updateUser(@PathVariable Long id,
+																@Valid @RequestBody UserUpdateDto userUpdateDto) {
+		RequestLog.info(log, "Валидация - получен запрос на обновление пользователя: userId={}", id);
 		return userClient.updateUser(id, userUpdateDto);
 	}
 
 	@DeleteMapping("/{id}")
 	@ResponseStatus(HttpStatus.NO_CONTENT)
-	public ResponseEntity<Object> deleteUser(@PathVariable Long id) {
-		log.info("Валидация - получен запрос на удаление пользователя с id: {}", id);
+	public CompletableFuture<ResponseEntity<Object>> deleteUser(@PathVariable Long id) {
+		RequestLog.info(log, "Валидация - получен запрос на удаление пользователя: userId={}", id);
 		return userClient.deleteById(id);
 	}
 }
@@ -12,6 +12,10 @@ import ru.practicum.shareit.booking.dto.BookingRequestDto;
 
 import java.time.LocalDateTime;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -114,6 +118,27 @@ class BookingControllerTest {
 				.andExpect(status().is2xxSuccessful());
 	}
 
+	@Test
+	void getAllOwnerBookings_whenStateAndStatusGiven_thenRelayBothToServer() throws Exception {
+		mockMvc.perform(get("/bookings/owner")
+						.header(X_SHARER_USER_ID, USER_ID)
+						.param("state", "FUTURE")
+						.param("status", "waiting"))
+				.andExpect(status().is2xxSuccessful());
+
+		verify(client).getOwnerBookings(USER_ID, BookingState.FUTURE, BookingStatus.WAITING, 0, 10);
+	}
+
+	@Test
+	void getAllBookings_whenNotValidStatus_thenReturnStatusBadRequest() throws Exception {
+		mockMvc.perform(get("/bookings")
+						.header(X_SHARER_USER_ID, USER_ID)
+						.param("state", "FUTURE")
+						.param("status", "INVALID"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.error").value("Unknown status: INVALID"));
+	}
+
 	@Test
 	void getAllOwnerBookings_whenNotValidState_thenReturnStatusBadRequest() throws Exception {
 		mockMvc.perform(get("/bookings/owner")
@@ -124,4 +149,68 @@ class BookingControllerTest {
 				.andExpect(status().isBadRequest())
 				.andExpect(jsonPath("$.error").value("Unknown state: INVALID"));
 	}
-}
\ No newline at end of file
+
+	@Test
+	void getAllBookingsAfter_whenCursorGiven_thenRelayCursorToServer() throws Exception {
+		mockMvc.perform(get("/bookings")
+						.header(X_SHARER_USER_ID, USER_ID)
+						.param("state", "PAST")
+						.param("after", "cursor")
+						.param("size", String.valueOf(5)))
+				.andExpect(status().is2xxSuccessful());
+
+		verify(client).getBookingsAfter(USER_ID, BookingState.PAST, null, "cursor", 5);
+	}
+
+	@Test
+	void getAllBookingsAfter_whenSizeNotPositive_thenReturnStatusBadRequest() throws Exception {
+		mockMvc.perform(get("/bookings")
+						.header(X_SHARER_USER_ID, USER_ID)
+						.param("after", "cursor")
+						.param("size", "0"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/bookings/owner")
+						.header(X_SHARER_USER_ID, USER_ID)
+						.param("after", "cursor")
+						.param("size", "-1"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void getAllOwnerBookingsAfter_whenSizeAboveMax_thenReturnStatusBadRequest() throws Exception {
+		mockMvc.perform(get("/bookings/owner")
+						.header(X_SHARER_USER_ID, USER_ID)
+						.param("after", "cursor")
+						.param("size", String.valueOf(BookingController.MAX_SLICE_SIZE + 1)))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void getAllOwnerBookingsAfter_whenNotValidState_thenReturnStatusBadRequest() throws Exception {
+		mockMvc.perform(get("/bookings/owner")
+						.header(X_SHARER_USER_ID, USER_ID)
+						.param("state", "INVALID")
+						.param("after", ""))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.error").value("Unknown state: INVALID"));
+	}
+
+	@Test
+	void exportOwnerBookings_whenValidState_thenRelayToServer() throws Exception {
+		mockMvc.perform(get("/bookings/owner/export")
+						.header(X_SHARER_USER_ID, USER_ID)
+						.param("state", "past"))
+				.andExpect(status().isOk());
+
+		verify(client).exportOwnerBookings(eq(USER_ID), eq(BookingState.PAST), isNull(), any());
+	}
+
+	@Test
+	void exportOwnerBookings_whenUnknownState_thenReturnBadRequest() throws Exception {
+		mockMvc.perform(get("/bookings/owner/export")
+						.header(X_SHARER_USER_ID, USER_ID)
+						.param("state", "unknown"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.error").value("Unknown state: unknown"));
+	}
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@TestPropertySource(properties = "shareit-server.http.mode=async")
+class AsyncGatewayLoadTest extends GatewayLoadTest {
+
+	@Test
+	void concurrentRequests_whenServerIsSlow_thenThroughputNotCappedByTomcatThreads() {
+		int maxInFlight = sendConcurrentRequests("async");
+
+		assertTrue(maxInFlight > GATEWAY_THREADS,
+				"Ожидалось больше " + GATEWAY_THREADS + " одновременных запросов, получено " + maxInFlight);
+	}
+
+	@Test
+	void asyncExchange_whenModeAsync_thenBeanCreated() {
+		assertNotNull(asyncExchange.getIfAvailable());
+	}
+}
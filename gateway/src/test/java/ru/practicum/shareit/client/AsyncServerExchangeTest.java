@@ -0,0 +1,98 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.exception.ServerBusyException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncServerExchangeTest {
+	private final CountDownLatch release = new CountDownLatch(1);
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private HttpServer server;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.setExecutor(Executors.newCachedThreadPool());
+		server.createContext("/unknown", exchange -> {
+			byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+			exchange.sendResponseHeaders(599, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		});
+		server.createContext("/slow", exchange -> {
+			try {
+				release.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			exchange.sendResponseHeaders(204, -1);
+			exchange.close();
+		});
+		server.start();
+	}
+
+	@AfterEach
+	void tearDown() {
+		release.countDown();
+		server.stop(0);
+	}
+
+	@Test
+	void send_whenServerRespondsNonStandardStatus_thenRawStatusRelayed() {
+		ResponseEntity<Object> response = exchange(10).send(HttpMethod.GET, uri("/unknown"), new HttpHeaders(), null).join();
+
+		assertEquals(599, response.getStatusCodeValue());
+		assertArrayEquals("{}".getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+	}
+
+	@Test
+	void send_whenConcurrencyLimitReached_thenFailImmediatelyWithServerBusy() {
+		AsyncServerExchange exchange = exchange(1);
+		CompletableFuture<ResponseEntity<Object>> first = exchange.send(HttpMethod.GET, uri("/slow"), new HttpHeaders(), null);
+
+		CompletableFuture<ResponseEntity<Object>> second = exchange.send(HttpMethod.GET, uri("/slow"), new HttpHeaders(), null);
+		assertTrue(second.isCompletedExceptionally());
+		CompletionException e = assertThrows(CompletionException.class, second::join);
+		assertInstanceOf(ServerBusyException.class, e.getCause());
+		assertEquals(1, meterRegistry.get(AsyncServerExchange.IN_FLIGHT_GAUGE).gauge().value());
+
+		release.countDown();
+		assertEquals(204, first.join().getStatusCodeValue());
+		assertEquals(0, meterRegistry.get(AsyncServerExchange.IN_FLIGHT_GAUGE).gauge().value());
+	}
+
+	private AsyncServerExchange exchange(int maxTotal) {
+		HttpClientProperties properties = new HttpClientProperties();
+		properties.setMaxTotal(maxTotal);
+		return new AsyncServerExchange(properties, new ObjectMapper(), meterRegistry);
+	}
+
+	private URI uri(String path) {
+		return URI.create("http://localhost:" + server.getAddress().getPort() + path);
+	}
+}
@@ -0,0 +1,181 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withRawStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class BaseClientTest {
+	private static final String SERVER_URL = "http://localhost:9090/items";
+
+	private MockRestServiceServer server;
+	private RestTemplate rest;
+
+	@BeforeEach
+	void setUp() {
+		rest = new RestTemplate();
+		rest.setUriTemplateHandler(new DefaultUriBuilderFactory(SERVER_URL));
+		server = MockRestServiceServer.bindTo(rest).build();
+	}
+
+	@Test
+	void get_whenPassThroughAndServerRespondsOk_thenBodyBytesAndContentTypeRelayed() {
+		String json = "[{\"id\":1,\"name\":\"Дрель\"}]";
+		server.expect(requestTo(SERVER_URL + "/search?text=%D0%B4%D1%80%D0%B5%D0%BB%D1%8C"))
+				.andExpect(method(HttpMethod.GET))
+				.andExpect(header("X-Sharer-User-Id", "1"))
+				.andRespond(withSuccess(json, MediaType.APPLICATION_JSON));
+
+		ResponseEntity<Object> response = new TestClient(rest, true).get("/search?text={text}", 1L, Map.of("text", "дрель")).join();
+
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+		assertArrayEquals(json.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+		server.verify();
+	}
+
+	@Test
+	void get_whenPassThroughAndServerRespondsError_thenErrorBodyAndStatusRelayed() {
+		String json = "{\"error\":\"Вещь не найдена.\"}";
+		server.expect(requestTo(SERVER_URL + "/5"))
+				.andRespond(withStatus(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON).body(json));
+
+		ResponseEntity<Object> response = new TestClient(rest, true).get("/5", 1L).join();
+
+		assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+		assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+		assertArrayEquals(json.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+	}
+
+	@Test
+	void get_whenPassThroughAndServerRespondsNonStandardStatus_thenRawStatusRelayed() {
+		server.expect(requestTo(SERVER_URL + "/5"))
+				.andRespond(withRawStatus(599).contentType(MediaType.APPLICATION_JSON).body("{}"));
+
+		ResponseEntity<Object> response = new TestClient(rest, true).get("/5", 1L).join();
+
+		assertEquals(599, response.getStatusCodeValue());
+		assertArrayEquals("{}".getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+	}
+
+	@Test
+	void delete_whenPassThroughAndServerRespondsWithoutBody_thenEmptyResponseRelayed() {
+		server.expect(requestTo(SERVER_URL + "/5"))
+				.andRespond(withStatus(HttpStatus.NO_CONTENT));
+
+		ResponseEntity<Object> response = new TestClient(rest, true).delete("/5").join();
+
+		assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+		assertFalse(response.hasBody());
+		assertFalse(response.getHeaders().containsKey(HttpHeaders.CONTENT_TYPE));
+	}
+
+	@Test
+	void get_whenPassThroughDisabled_thenBodyDeserialized() {
+		server.expect(requestTo(SERVER_URL + "/1"))
+				.andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+
+		ResponseEntity<Object> response = new TestClient(rest, false).get("/1", 1L).join();
+
+		assertEquals(Map.of("id", 1), response.getBody());
+	}
+
+	@Test
+	void get_whenMeterRegistryPresent_thenServerCallTimedByClientAndStatus() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		server.expect(requestTo(SERVER_URL + "/5"))
+				.andRespond(withStatus(HttpStatus.NOT_FOUND));
+
+		new TestClient(rest, true, registry).get("/5", 1L).join();
+
+		Timer timer = registry.find(BaseClient.SERVER_TIMER)
+				.tags("client", "TestClient", "method", "GET", "status", "404")
+				.timer();
+		assertNotNull(timer);
+		assertEquals(1, timer.count());
+	}
+
+	@Test
+	void postStream_whenServerRespondsOk_thenBodyStreamedAndResponseRelayed() {
+		String ndjson = "{\"name\":\"Дрель\"}\n{\"name\":\"Пила\"}";
+		String report = "{\"imported\":2,\"failed\":0,\"errors\":[]}";
+		server.expect(requestTo(SERVER_URL + "/bulk"))
+				.andExpect(method(HttpMethod.POST))
+				.andExpect(header("X-Sharer-User-Id", "1"))
+				.andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+				.andExpect(content().bytes(ndjson.getBytes(StandardCharsets.UTF_8)))
+				.andRespond(withSuccess(report, MediaType.APPLICATION_JSON));
+
+		ResponseEntity<Object> response = new TestClient(rest, false).postStream(rest, "/bulk", 1L,
+				MediaType.APPLICATION_NDJSON, new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8))).join();
+
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertArrayEquals(report.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+		server.verify();
+	}
+
+	@Test
+	void getStream_whenServerRespondsOk_thenStatusHeadersAndBodyWrittenToResponse() throws Exception {
+		String ndjson = "{\"id\":2}\n{\"id\":1}\n";
+		server.expect(requestTo(SERVER_URL + "/owner/export?state=ALL"))
+				.andExpect(method(HttpMethod.GET))
+				.andExpect(header("X-Sharer-User-Id", "1"))
+				.andExpect(header(HttpHeaders.ACCEPT, MediaType.APPLICATION_NDJSON_VALUE + ", " + MediaType.APPLICATION_JSON_VALUE))
+				.andRespond(withSuccess(ndjson, MediaType.APPLICATION_NDJSON));
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		new TestClient(rest, true).getStream("/owner/export?state={state}", 1L, Map.of("state", "ALL"),
+				MediaType.APPLICATION_NDJSON, response);
+
+		assertEquals(HttpStatus.OK.value(), response.getStatus());
+		assertEquals(MediaType.APPLICATION_NDJSON_VALUE, response.getContentType());
+		assertEquals(ndjson, response.getContentAsString(StandardCharsets.UTF_8));
+		server.verify();
+	}
+
+	@Test
+	void getStream_whenServerRespondsError_thenErrorRelayed() throws Exception {
+		String json = "{\"error\":\"Пользователь не найден.\"}";
+		server.expect(requestTo(SERVER_URL + "/owner/export?state=ALL"))
+				.andRespond(withStatus(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON).body(json));
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		new TestClient(rest, true).getStream("/owner/export?state={state}", 1L, Map.of("state", "ALL"),
+				MediaType.APPLICATION_NDJSON, response);
+
+		assertEquals(HttpStatus.NOT_FOUND.value(), response.getStatus());
+		assertEquals(json, response.getContentAsString(StandardCharsets.UTF_8));
+	}
+
+	private static class TestClient extends BaseClient {
+		TestClient(RestTemplate rest, boolean passThrough) {
+			super(rest, passThrough);
+		}
+
+		TestClient(RestTemplate rest, boolean passThrough, SimpleMeterRegistry registry) {
+			super(rest, passThrough, null, registry);
+		}
+	}
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@TestPropertySource(properties = "shareit-server.http.mode=blocking")
+class BlockingGatewayLoadTest extends GatewayLoadTest {
+
+	@Test
+	void concurrentRequests_whenServerIsSlow_thenThroughputCappedByTomcatThreads() {
+		int maxInFlight = sendConcurrentRequests("blocking");
+
+		assertTrue(maxInFlight <= GATEWAY_THREADS,
+				"Ожидалось не больше " + GATEWAY_THREADS + " одновременных запросов, получено " + maxInFlight);
+	}
+
+	@Test
+	void asyncExchange_whenModeBlocking_thenBeanNotCreated() {
+		assertNull(asyncExchange.getIfAvailable());
+	}
+}
@@ -0,0 +1,110 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"server.tomcat.threads.max=" + GatewayLoadTest.GATEWAY_THREADS,
+		"server.tomcat.threads.min-spare=" + GatewayLoadTest.GATEWAY_THREADS
+})
+abstract class GatewayLoadTest {
+	static final int GATEWAY_THREADS = 4;
+	static final int REQUESTS = 40;
+	static final long SERVER_LATENCY_MILLIS = 250;
+
+	private static final AtomicInteger inFlight = new AtomicInteger();
+	private static final AtomicInteger maxInFlight = new AtomicInteger();
+	private static HttpServer slowServer;
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	ObjectProvider<AsyncServerExchange> asyncExchange;
+
+	@DynamicPropertySource
+	static void slowServerProperties(DynamicPropertyRegistry registry) throws IOException {
+		if (slowServer == null) {
+			slowServer = startSlowServer();
+		}
+		registry.add("shareit-server.url", () -> "http://localhost:" + slowServer.getAddress().getPort());
+	}
+
+	@AfterAll
+	static void stopSlowServer() {
+		if (slowServer != null) {
+			slowServer.stop(0);
+			slowServer = null;
+		}
+	}
+
+	/**
+	 * Отправляет запросы одновременно и возвращает наибольшее число запросов,
+	 * которые сервер обрабатывал в один момент.
+	 */
+	int sendConcurrentRequests(String mode) {
+		inFlight.set(0);
+		maxInFlight.set(0);
+		HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/users/1")).build();
+
+		long start = System.nanoTime();
+		List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+		for (int i = 0; i < REQUESTS; i++) {
+			responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+		}
+		responses.forEach(response -> assertEquals(200, response.join().statusCode()));
+		long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+		log.info("Режим {}: {} запросов при задержке сервера {} мс и {} потоках Tomcat - {} мс, одновременно на сервере до {}",
+				mode, REQUESTS, SERVER_LATENCY_MILLIS, GATEWAY_THREADS, elapsedMillis, maxInFlight.get());
+		return maxInFlight.get();
+	}
+
+	private static HttpServer startSlowServer() throws IOException {
+		HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), REQUESTS * 2);
+		server.setExecutor(Executors.newCachedThreadPool());
+		server.createContext("/users", exchange -> {
+			maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+			try {
+				Thread.sleep(SERVER_LATENCY_MILLIS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				inFlight.decrementAndGet();
+			}
+			byte[] body = "{\"id\":1,\"name\":\"user\",\"email\":\"user@mail.ru\"}".getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().add("Content-Type", "application/json");
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		});
+		server.start();
+		return server;
+	}
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.protocol.BasicHttpContext;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class HttpClientConfigTest {
+	private final HttpClientConfig config = new HttpClientConfig();
+
+	@Test
+	void shareItServerConnectionManager_whenPropertiesSet_thenPoolLimitsApplied() {
+		HttpClientProperties properties = new HttpClientProperties();
+		properties.setMaxTotal(50);
+		properties.setMaxPerRoute(20);
+
+		PoolingHttpClientConnectionManager connectionManager = config.shareItServerConnectionManager(properties);
+
+		assertEquals(50, connectionManager.getMaxTotal());
+		assertEquals(20, connectionManager.getDefaultMaxPerRoute());
+		connectionManager.close();
+	}
+
+	@Test
+	void shareItServerPoolMetrics_whenBound_thenLeasedPendingAndAvailableReported() {
+		PoolingHttpClientConnectionManager connectionManager = config.shareItServerConnectionManager(new HttpClientProperties());
+		MeterRegistry registry = new SimpleMeterRegistry();
+
+		config.shareItServerPoolMetrics(connectionManager).bindTo(registry);
+
+		assertNotNull(registry.find("httpcomponents.httpclient.pool.total.connections").tag("state", "leased").gauge());
+		assertNotNull(registry.find("httpcomponents.httpclient.pool.total.connections").tag("state", "available").gauge());
+		assertNotNull(registry.find("httpcomponents.httpclient.pool.total.pending").gauge());
+		connectionManager.close();
+	}
+
+	@Test
+	void keepAliveStrategy_whenServerSendsNoKeepAlive_thenConfiguredValueUsed() {
+		HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+		long keepAlive = Duration.ofSeconds(60).toMillis();
+
+		assertEquals(keepAlive, HttpClientConfig.keepAliveStrategy(keepAlive).getKeepAliveDuration(response, new BasicHttpContext()));
+	}
+
+	@Test
+	void keepAliveStrategy_whenServerSendsShorterKeepAlive_thenServerValueUsed() {
+		HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+		response.addHeader("Keep-Alive", "timeout=5");
+
+		assertEquals(5000, HttpClientConfig.keepAliveStrategy(60000).getKeepAliveDuration(response, new BasicHttpContext()));
+	}
+}
@@ -11,7 +11,15 @@ import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
 
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = ItemController.class)
@@ -160,4 +168,50 @@ class ItemControllerTest {
 						.content(objectMapper.writeValueAsString(commentToAdd)))
 				.andExpect(status().isBadRequest());
 	}
-}
\ No newline at end of file
+
+	@Test
+	void importItems_whenNdjson_thenRelayToServer() throws Exception {
+		mockMvc.perform(post("/items/bulk")
+						.header(X_SHARER_USER_ID, USER_ID)
+						.contentType(MediaType.APPLICATION_NDJSON)
+						.content("{\"name\":\"name\",\"description\":\"description\",\"available\":true}"))
+				.andExpect(status().isOk());
+
+		verify(client).importItems(eq(USER_ID), any());
+	}
+
+	@Test
+	void importItems_whenJson_thenReturnUnsupportedMediaType() throws Exception {
+		mockMvc.perform(post("/items/bulk")
+						.header(X_SHARER_USER_ID, USER_ID)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("[]"))
+				.andExpect(status().isUnsupportedMediaType());
+
+		verify(client, never()).importItems(anyLong(), any());
+	}
+
+	@Test
+	void getAvailability_whenValidGranularity_thenRelayToServer() throws Exception {
+		mockMvc.perform(get("/items/{id}/availability", 1L)
+						.header(X_SHARER_USER_ID, USER_ID)
+						.param("from", "2024-04-10T00:00:00")
+						.param("to", "2024-04-12T00:00:00")
+						.param("granularity", "day"))
+				.andExpect(status().isOk());
+
+		verify(client).getAvailability(USER_ID, 1L, LocalDateTime.of(2024, 4, 10, 0, 0),
+				LocalDateTime.of(2024, 4, 12, 0, 0), AvailabilityGranularity.DAY);
+	}
+
+	@Test
+	void getAvailability_whenUnknownGranularity_thenReturnBadRequest() throws Exception {
+		mockMvc.perform(get("/items/{id}/availability", 1L)
+						.header(X_SHARER_USER_ID, USER_ID)
+						.param("from", "2024-04-10T00:00:00")
+						.param("to", "2024-04-12T00:00:00")
+						.param("granularity", "week"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.error").value("Unknown granularity: week"));
+	}
+}
@@ -1,15 +1,27 @@
 package ru.practicum.shareit.booking;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingSliceDto;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.ErrorResponse;
+import ru.practicum.shareit.logging.RequestLog;
 import ru.practicum.shareit.util.OffsetPageRequest;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -19,14 +31,16 @@ import java.util.List;
 public class BookingController {
 
 	public static final String X_SHARER_USER_ID = "X-Sharer-User-Id";
+	public static final String X_NEXT_CURSOR = "X-Next-Cursor";
 	private final BookingService bookingService;
+	private final ObjectMapper objectMapper;
 
 	@PostMapping
 	@ResponseStatus(HttpStatus.CREATED)
 	public BookingResponseDto addBooking(@RequestHeader(X_SHARER_USER_ID) long userId,
 										 @RequestBody BookingRequestDto bookingRequestDto) {
 		BookingResponseDto savedBooking = bookingService.add(userId, bookingRequestDto);
-		log.info("Обработан запрос на бронирование вещи = {}, userId = {}", savedBooking, userId);
+		RequestLog.info(log, "Обработан запрос на бронирование вещи: bookingId={}, userId={}", savedBooking.getId(), userId);
 		return savedBooking;
 	}
 
@@ -35,7 +49,7 @@ public class BookingController {
 									  @PathVariable long bookingId,
 									  @RequestParam boolean approved) {
 		BookingResponseDto bookingResponseDto = bookingService.approve(userId, bookingId, approved);
-		log.info("Обработан запрос - решение владельца вещи по одобрению бронирования = {}, userId = {}, bookingId = {}", bookingResponseDto, userId, bookingId);
+		RequestLog.info(log, "Обработан запрос на подтверждение бронирования: bookingId={}, status={}", bookingId, bookingResponseDto.getStatus());
 		return bookingResponseDto;
 	}
 
@@ -43,31 +57,115 @@ public class BookingController {
 	public BookingResponseDto getBookingInfoById(@RequestHeader(X_SHARER_USER_ID) long userId,
 												 @PathVariable long bookingId) {
 		BookingResponseDto bookingResponseDto = bookingService.getInfoById(userId, bookingId);
-		log.info("Обработан запрос на получение информации о бронировании с bookingId = {}, userId = {}", bookingId, userId);
+		RequestLog.info(log, "Обработан запрос на получение бронирования: bookingId={}, userId={}", bookingId, userId);
 		return bookingResponseDto;
 	}
 
 	@GetMapping
 	public List<BookingResponseDto> getAllBookings(@RequestHeader(X_SHARER_USER_ID) long userId,
 												   @RequestParam(defaultValue = "ALL") String state,
+												   @RequestParam(required = false) String status,
 												   @RequestParam(defaultValue = "0") int from,
 												   @RequestParam(defaultValue = "10") int size) {
 		PageRequest page = OffsetPageRequest.createPageRequest(from, size);
 		BookingState validState = BookingState.valueOf(state);
-		List<BookingResponseDto> allBookings = bookingService.getAllBookings(userId, validState, page);
-		log.info("Обработан запрос на получение всех бронирований пользователя с userId = {}, бронирования = {}", userId, allBookings);
+		List<BookingResponseDto> allBookings = bookingService.getAllBookings(userId, validState, toStatus(status), page);
+		RequestLog.info(log, "Обработан запрос на получение бронирований пользователя: userId={}, state={}", userId, validState);
 		return allBookings;
 	}
 
 	@GetMapping("/owner")
 	public List<BookingResponseDto> getAllOwnerBookings(@RequestHeader(X_SHARER_USER_ID) long userId,
 														@RequestParam(defaultValue = "ALL") String state,
+														@RequestParam(required = false) String status,
 														@RequestParam(defaultValue = "0") int from,
 														@RequestParam(defaultValue = "10") int size) {
 		PageRequest page = OffsetPageRequest.createPageRequest(from, size);
 		BookingState validState = BookingState.valueOf(state);
-		List<BookingResponseDto> allBookings = bookingService.getAllOwnerBookings(userId, validState, page);
-		log.info("Обработан запрос на получение всех бронирований вещей владельца с userId = {}, со статусом = {}", userId, validState);
+		List<BookingResponseDto> allBookings = bookingService.getAllOwnerBookings(userId, validState, toStatus(status), page);
+		RequestLog.info(log, "Обработан запрос на получение бронирований вещей владельца: userId={}, state={}", userId, validState);
 		return allBookings;
 	}
+
+	/**
+	 * Все бронирования вещей владельца в формате NDJSON, по одному BookingResponseDto на строку.
+	 * Ответ пишется по мере чтения из БД, без страниц по смещению. Если чтение оборвалось после
+	 * первой строки, последней строкой выгрузки идет ErrorResponse.
+	 */
+	@GetMapping("/owner/export")
+	public void exportOwnerBookings(@RequestHeader(X_SHARER_USER_ID) long userId,
+									@RequestParam(defaultValue = "ALL") String state,
+									@RequestParam(required = false) String status,
+									HttpServletResponse response) throws IOException {
+		BookingState validState = BookingState.valueOf(state);
+		ObjectWriter writer = objectMapper.writerFor(BookingResponseDto.class)
+				.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+		JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream());
+		generator.setRootValueSeparator(null);
+		// тип выставляется с первой строкой: ошибка до нее (владелец не найден) уходит обычным JSON
+		try {
+			bookingService.exportOwnerBookings(userId, validState, toStatus(status), booking -> {
+				if (response.getContentType() == null) {
+					response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+				}
+				writeLine(writer, generator, booking);
+			});
+		} catch (RuntimeException e) {
+			if (response.getContentType() == null) {
+				throw e;
+			}
+			// ответ уже начат со статусом 200: о прерывании говорит последняя строка {"error": ...}
+			log.error("Выгрузка бронирований вещей владельца прервана: userId={}", userId, e);
+			writeLine(objectMapper.writerFor(ErrorResponse.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE),
+					generator, new ErrorResponse("Выгрузка прервана: " + e.getMessage()));
+		}
+		response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+		generator.flush();
+		RequestLog.info(log, "Обработан запрос на выгрузку бронирований вещей владельца: userId={}, state={}", userId, validState);
+	}
+
+	@GetMapping(params = "after")
+	public ResponseEntity<List<BookingResponseDto>> getAllBookingsAfter(@RequestHeader(X_SHARER_USER_ID) long userId,
+																		@RequestParam(defaultValue = "ALL") String state,
+																		@RequestParam(required = false) String status,
+																		@RequestParam String after,
+																		@RequestParam(defaultValue = "10") int size) {
+		BookingState validState = BookingState.valueOf(state);
+		BookingSliceDto slice = bookingService.getAllBookingsAfter(userId, validState, toStatus(status), after, size);
+		RequestLog.info(log, "Обработан запрос на получение бронирований пользователя после курсора: userId={}, state={}", userId, validState);
+		return toSliceResponse(slice);
+	}
+
+	@GetMapping(path = "/owner", params = "after")
+	public ResponseEntity<List<BookingResponseDto>> getAllOwnerBookingsAfter(@RequestHeader(X_SHARER_USER_ID) long userId,
+																			 @RequestParam(defaultValue = "ALL") String state,
+																			 @RequestParam(required = false) String status,
+																			 @RequestParam String after,
+																			 @RequestParam(defaultValue = "10") int size) {
+		BookingState validState = BookingState.valueOf(state);
+		BookingSliceDto slice = bookingService.getAllOwnerBookingsAfter(userId, validState, toStatus(status), after, size);
+		RequestLog.info(log, "Обработан запрос на получение бронирований вещей владельца после курсора: userId={}, state={}", userId, validState);
+		return toSliceResponse(slice);
+	}
+
+	private Status toStatus(String status) {
+		return status == null ? null : Status.valueOf(status);
+	}
+
+	private static void writeLine(ObjectWriter writer, JsonGenerator generator, Object value) {
+		try {
+			writer.writeValue(generator, value);
+			generator.writeRaw('\n');
+		} catch (IOException e) {
+			throw new UncheckedIOException("Не удалось записать бронирование в выгрузку", e);
+		}
+	}
+
+	private ResponseEntity<List<BookingResponseDto>> toSliceResponse(BookingSliceDto slice) {
+		ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+		if (slice.getNextCursor() != null) {
+			response.header(X_NEXT_CURSOR, slice.getNextCursor());
+		}
+		return response.body(slice.getBookings());
+	}
 }
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import ru.practicum.shareit.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+@Getter
+@ToString
+@EqualsAndHashCode
+public class BookingCursor {
+	private static final char SEPARATOR = '|';
+
+	private final LocalDateTime startDate;
+	private final long id;
+
+	public BookingCursor(LocalDateTime startDate, long id) {
+		this.startDate = startDate;
+		this.id = id;
+	}
+
+	public static BookingCursor of(BookingView booking) {
+		return new BookingCursor(booking.getStartDate(), booking.getId());
+	}
+
+	public String encode() {
+		String raw = startDate.toString() + SEPARATOR + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public static BookingCursor decode(String token) {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			int separator = raw.lastIndexOf(SEPARATOR);
+			return new BookingCursor(LocalDateTime.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+		} catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+			throw new InvalidCursorException("Некорректный курсор: " + token);
+		}
+	}
+}
@@ -1,33 +1,32 @@
 package ru.practicum.shareit.booking.dto;
 
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoMapper;
+import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserDtoMapper;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import static ru.practicum.shareit.util.DateTimeFormats.DATE_TIME_FORMATTER;
+
 public class BookingDtoMapper {
 	public static Booking ofBookingRequestDto(BookingRequestDto bookingRequestDto) {
 		return Booking.builder()
 				.startDate(bookingRequestDto.getStart() == null ? null : LocalDateTime
-						.parse(bookingRequestDto.getStart(), DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss")))
+						.parse(bookingRequestDto.getStart(), DATE_TIME_FORMATTER))
 				.endDate(bookingRequestDto.getEnd() == null ? null : LocalDateTime
-						.parse(bookingRequestDto.getEnd(), DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss")))
+						.parse(bookingRequestDto.getEnd(), DATE_TIME_FORMATTER))
 				.build();
 	}
 
 	public static BookingResponseDto toBookingResponseDto(Booking booking) {
 		return BookingResponseDto.builder()
 				.id(booking.getId())
-				.start(DateTimeFormatter
-						.ofPattern("yyyy-MM-dd'T'HH:mm:ss")
-						.format(booking.getStartDate()))
-				.end(DateTimeFormatter
-						.ofPattern("yyyy-MM-dd'T'HH:mm:ss")
-						.format(booking.getEndDate()))
+				.start(DATE_TIME_FORMATTER.format(booking.getStartDate()))
+				.end(DATE_TIME_FORMATTER.format(booking.getEndDate()))
 				.status(booking.getStatus())
 				.booker(booking.getBooker() != null ? UserDtoMapper.toUserDtoId(booking.getBooker()) : null)
 				.item(booking.getItem() != null ? ItemDtoMapper.toItemDto(booking.getItem()) : null)
@@ -41,8 +40,42 @@ public class BookingDtoMapper {
 				.build();
 	}
 
-	public static List<BookingResponseDto> toBookingResponseDto(List<Booking> bookingRepository) {
-		return bookingRepository
+	public static BookingShortDto toBookingShortDto(Long bookingId, Long bookerId) {
+		if (bookingId == null) {
+			return null;
+		}
+		return BookingShortDto.builder()
+				.id(bookingId)
+				.bookerId(bookerId)
+				.build();
+	}
+
+	public static BookingShortDto toBookingShortDto(ItemBookingShort booking) {
+		return BookingShortDto.builder()
+				.id(booking.getId())
+				.bookerId(booking.getBookerId())
+				.build();
+	}
+
+	public static BookingResponseDto toBookingResponseDto(BookingView booking) {
+		return BookingResponseDto.builder()
+				.id(booking.getId())
+				.start(DATE_TIME_FORMATTER.format(booking.getStartDate()))
+				.end(DATE_TIME_FORMATTER.format(booking.getEndDate()))
+				.status(booking.getStatus())
+				.booker(UserDto.builder().id(booking.getBookerId()).build())
+				.item(ItemDto.builder()
+						.id(booking.getItemId())
+						.name(booking.getItemName())
+						.description(booking.getItemDescription())
+						.available(booking.getItemAvailable())
+						.requestId(booking.getItemRequestId())
+						.build())
+				.build();
+	}
+
+	public static List<BookingResponseDto> toBookingResponseDto(List<BookingView> bookings) {
+		return bookings
 				.stream()
 				.map(BookingDtoMapper::toBookingResponseDto)
 				.collect(Collectors.toList());
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import ru.practicum.shareit.booking.Status;
+
+import java.time.LocalDateTime;
+
+/**
+ * Строка списка бронирований из конструкторной проекции JPQL: только колонки BookingResponseDto,
+ * без управляемой сущности, снимка состояния и проверки изменений при flush.
+ * Порядок аргументов конструктора совпадает с cb.construct в BookingRepositoryCustomImpl.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class BookingView {
+	private final Long id;
+	private final LocalDateTime startDate;
+	private final LocalDateTime endDate;
+	private final Status status;
+	private final Long bookerId;
+	private final Long itemId;
+	private final String itemName;
+	private final String itemDescription;
+	private final Boolean itemAvailable;
+	private final Long itemRequestId;
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking.dto;
+
+public interface ItemBookingShort {
+	String LAST = "last";
+	String NEXT = "next";
+
+	Long getItemId();
+
+	Long getId();
+
+	Long getBookerId();
+
+	String getKind();
+}
@@ -19,7 +19,8 @@ import java.time.LocalDateTime;
 @Table(name = "bookings")
 public class Booking {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+	@SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
 	@Column(name = "booking_id")
 	private Long id;
 
@@ -29,11 +30,11 @@ public class Booking {
 	@Column(name = "end_date")
 	private LocalDateTime endDate;
 
-	@ManyToOne
+	@ManyToOne(optional = false)
 	@JoinColumn(name = "item_id")
 	private Item item;
 
-	@ManyToOne
+	@ManyToOne(optional = false)
 	@JoinColumn(name = "booker_id")
 	private User booker;
 
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Последнее начавшееся и ближайшее будущее подтвержденное бронирование вещи.
+ * Строка создается при первом чтении и затем поддерживается {@link ru.practicum.shareit.booking.service.BookingSummaryService}.
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode(of = "itemId")
+@Entity
+@Table(name = "item_booking_summary")
+public class ItemBookingSummary implements Persistable<Long> {
+	@Id
+	@Column(name = "item_id")
+	private Long itemId;
+
+	@Column(name = "last_booking_id")
+	private Long lastBookingId;
+
+	@Column(name = "last_booker_id")
+	private Long lastBookerId;
+
+	@Column(name = "last_end_date")
+	private LocalDateTime lastEndDate;
+
+	@Column(name = "next_booking_id")
+	private Long nextBookingId;
+
+	@Column(name = "next_booker_id")
+	private Long nextBookerId;
+
+	@Column(name = "next_start_date")
+	private LocalDateTime nextStartDate;
+
+	@Column(name = "next_end_date")
+	private LocalDateTime nextEndDate;
+
+	@Override
+	public Long getId() {
+		return itemId;
+	}
+
+	/**
+	 * Сводка всегда сохраняется через insert: существующую строку меняют только условные update.
+	 */
+	@Override
+	public boolean isNew() {
+		return true;
+	}
+}
@@ -1,50 +1,52 @@
 package ru.practicum.shareit.booking.repo;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.ItemBookingShort;
 import ru.practicum.shareit.booking.model.Booking;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-	Page<Booking> findByBookerId(long bookerId, Pageable pageable);
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
+	Optional<Booking> findFirstByItemIdAndStatusAndStartDateBeforeOrderByEndDateDesc(long itemId, Status status, LocalDateTime date);
+
+	Optional<Booking> findFirstByItemIdAndStatusAndStartDateAfterOrderByStartDateAsc(long itemId, Status status, LocalDateTime date);
+
+	/**
+	 * Для каждой вещи - не больше одного последнего завершившегося и одного ближайшего будущего
+	 * подтвержденного бронирования, kind = 'last' или 'next'.
+	 */
+	@Query(value = "select ranked.item_id as itemId, ranked.booking_id as id, ranked.booker_id as bookerId, " +
+			"ranked.kind as kind " +
+			"from (select b.item_id, b.booking_id, b.booker_id, 'last' as kind, " +
+			"row_number() over (partition by b.item_id order by b.end_date desc, b.booking_id desc) as rn " +
+			"from bookings as b " +
+			"where b.item_id in :ids and b.status = 'APPROVED' and b.end_date < :now " +
+			"union all " +
+			"select b.item_id, b.booking_id, b.booker_id, 'next' as kind, " +
+			"row_number() over (partition by b.item_id order by b.start_date, b.booking_id) as rn " +
+			"from bookings as b " +
+			"where b.item_id in :ids and b.status = 'APPROVED' and b.start_date > :now) as ranked " +
+			"where ranked.rn = 1", nativeQuery = true)
+	List<ItemBookingShort> findLastAndNextApproved(@Param("ids") Collection<Long> itemIds, @Param("now") LocalDateTime now);
 
-	Page<Booking> findByBookerIdAndStatus(long bookerId, Status status, Pageable pageable);
-
-	Page<Booking> findByBookerIdAndEndDateBefore(long bookerId, LocalDateTime date, Pageable pageable);
-
-	Page<Booking> findByBookerIdAndStartDateAfter(long bookerId, LocalDateTime date, Pageable pageable);
-
-	Page<Booking> findByBookerIdAndStartDateBeforeAndEndDateAfter(long bookerId, LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
-
-	Page<Booking> findByItemOwnerIdAndStatus(long id, Status status, Pageable pageable);
-
-	Page<Booking> findByItemOwnerIdAndEndDateBefore(long id, LocalDateTime date, Pageable pageable);
-
-	Page<Booking> findByItemOwnerIdAndStartDateAfter(long id, LocalDateTime date, Pageable pageable);
-
-	Page<Booking> findByItemOwnerIdAndStartDateBeforeAndEndDateAfter(long id, LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
-
-	Booking findTop1ByItemOwnerIdAndStartDateBeforeAndStatusIn(long id, LocalDateTime date, List<Status> status, Sort sort);
-
-	Booking findTop1ByItemOwnerIdAndStartDateAfterAndStatusIn(long id, LocalDateTime date, List<Status> status, Sort sort);
-
-	@Query("SELECT b FROM Booking b WHERE b.item.id IN :id AND b.endDate < :date ORDER BY b.endDate DESC")
-	List<Booking> findByItemIdAndEndDateBeforeOrderByEndDateDesc(@Param("id") Set<Long> id, @Param("date") LocalDateTime date);
+	Optional<Booking> findTop1ByItemIdAndBookerIdAndStatusAndEndDateBefore(long itemId, long bookerId, Status status, LocalDateTime date);
 
-	@Query("SELECT b FROM Booking b WHERE b.item.id IN :id AND b.startDate > :date ORDER BY b.startDate ASC")
-	List<Booking> findByItemIdAndStartDateAfterOrderByStartDateAsc(@Param("id") Set<Long> id, @Param("date") LocalDateTime date);
+	@Query("select b from Booking as b join fetch b.item as i join fetch b.booker " +
+			"where i.id = ?1 and b.status = ?2")
+	List<Booking> findByItemIdAndStatus(long itemId, Status status);
 
-	Optional<Booking> findTop1ByItemIdAndBookerIdAndStatusAndEndDateBefore(long itemId, long bookerId, Status status, LocalDateTime date);
+	@Query("select count(b) > 0 from Booking as b " +
+			"where b.item.id = ?1 and b.status = ?2 and b.id <> ?3 and b.startDate < ?5 and b.endDate > ?4")
+	boolean existsOverlapping(long itemId, Status status, long excludedBookingId, LocalDateTime start, LocalDateTime end);
 
-	Page<Booking> findByItemOwnerId(long userId, Pageable pageable);
+	@Query("select b from Booking as b join fetch b.item as i " +
+			"where b.status = ?2 and (b.booker.id = ?1 or i.owner.id = ?1)")
+	List<Booking> findByBookerOrItemOwnerAndStatus(long userId, Status status);
 
 }
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.booking.repo;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.booking.BookingRole;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingView;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface BookingRepositoryCustom {
+	/**
+	 * Бронирования арендатора или вещей владельца по состоянию на момент date и, если задан, статусу,
+	 * от новых к старым, страница по смещению.
+	 */
+	List<BookingView> findBookings(BookingRole role, long userId, BookingState state, @Nullable Status status,
+								   LocalDateTime date, Pageable pageable);
+
+	/**
+	 * То же, но страница после курсора: бронирования, идущие в порядке (startDate, id) по убыванию после after.
+	 */
+	Slice<BookingView> findBookingsAfter(BookingRole role, long userId, BookingState state, @Nullable Status status,
+										 LocalDateTime date, @Nullable BookingCursor after, int size);
+
+	/**
+	 * Все бронирования в том же порядке одним запросом: строки читаются курсором порциями по fetch-size.
+	 * Поток нужно читать внутри транзакции и закрыть.
+	 */
+	Stream<BookingView> streamBookings(BookingRole role, long userId, BookingState state, @Nullable Status status,
+									   LocalDateTime date);
+}
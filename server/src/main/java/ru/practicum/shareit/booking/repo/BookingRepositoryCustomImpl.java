@@ -0,0 +1,140 @@
+package ru.practicum.shareit.booking.repo;
+
+import org.hibernate.jpa.QueryHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.booking.BookingRole;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.ParameterExpression;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Единый построитель запросов списков бронирований: (роль, состояние, статус, курсор) дают один
+ * параметризованный запрос. Все значения передаются параметрами, а не литералами, поэтому для каждой
+ * комбинации фильтров SQL один и тот же, и БД переиспользует его план.
+ */
+public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Value("${shareit.booking-export.fetch-size:500}")
+	private int exportFetchSize;
+
+	@Override
+	public List<BookingView> findBookings(BookingRole role, long userId, BookingState state, @Nullable Status status,
+										  LocalDateTime date, Pageable pageable) {
+		return createQuery(role, userId, state, status, date, null)
+				.setFirstResult((int) pageable.getOffset())
+				.setMaxResults(pageable.getPageSize())
+				.getResultList();
+	}
+
+	@Override
+	public Slice<BookingView> findBookingsAfter(BookingRole role, long userId, BookingState state, @Nullable Status status,
+												LocalDateTime date, @Nullable BookingCursor after, int size) {
+		List<BookingView> bookings = createQuery(role, userId, state, status, date, after)
+				.setMaxResults(size + 1)
+				.getResultList();
+		boolean hasNext = bookings.size() > size;
+		return new SliceImpl<>(hasNext ? bookings.subList(0, size) : bookings, PageRequest.of(0, size), hasNext);
+	}
+
+	@Override
+	public Stream<BookingView> streamBookings(BookingRole role, long userId, BookingState state, @Nullable Status status,
+											  LocalDateTime date) {
+		return createQuery(role, userId, state, status, date, null)
+				.setHint(QueryHints.HINT_FETCH_SIZE, exportFetchSize)
+				.getResultStream();
+	}
+
+	private TypedQuery<BookingView> createQuery(BookingRole role, long userId, BookingState state,
+												@Nullable Status status, LocalDateTime date,
+												@Nullable BookingCursor after) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<BookingView> query = cb.createQuery(BookingView.class);
+		Root<Booking> booking = query.from(Booking.class);
+		Join<Booking, Item> item = booking.join("item");
+		Path<LocalDateTime> startDate = booking.get("startDate");
+		Path<LocalDateTime> endDate = booking.get("endDate");
+		Path<Long> bookingId = booking.get("id");
+		Path<Status> bookingStatus = booking.get("status");
+		Map<ParameterExpression<?>, Object> parameters = new LinkedHashMap<>();
+
+		List<Predicate> predicates = new ArrayList<>();
+		Path<Long> user = role == BookingRole.OWNER ? item.get("owner").get("id") : booking.get("booker").get("id");
+		predicates.add(cb.equal(user, bind(cb, parameters, Long.class, userId)));
+		switch (state) {
+			case ALL:
+				break;
+			case PAST:
+				predicates.add(cb.lessThan(endDate, bind(cb, parameters, LocalDateTime.class, date)));
+				break;
+			case CURRENT:
+				predicates.add(cb.lessThan(startDate, bind(cb, parameters, LocalDateTime.class, date)));
+				predicates.add(cb.greaterThan(endDate, bind(cb, parameters, LocalDateTime.class, date)));
+				break;
+			case FUTURE:
+				predicates.add(cb.greaterThan(startDate, bind(cb, parameters, LocalDateTime.class, date)));
+				break;
+			default:
+				predicates.add(cb.equal(bookingStatus, bind(cb, parameters, Status.class, Status.valueOf(state.name()))));
+		}
+		if (status != null) {
+			predicates.add(cb.equal(bookingStatus, bind(cb, parameters, Status.class, status)));
+		}
+		if (after != null) {
+			ParameterExpression<LocalDateTime> afterStart = bind(cb, parameters, LocalDateTime.class, after.getStartDate());
+			predicates.add(cb.or(
+					cb.lessThan(startDate, afterStart),
+					cb.and(cb.equal(startDate, afterStart),
+							cb.lessThan(bookingId, bind(cb, parameters, Long.class, after.getId())))
+			));
+		}
+
+		query.select(cb.construct(BookingView.class, bookingId, startDate, endDate, bookingStatus,
+						booking.get("booker").get("id"), item.get("id"), item.get("name"), item.get("description"),
+						item.get("available"), item.get("request").get("id")))
+				.where(predicates.toArray(new Predicate[0]))
+				.orderBy(cb.desc(startDate), cb.desc(bookingId));
+
+		TypedQuery<BookingView> typedQuery = entityManager.createQuery(query);
+		parameters.forEach((parameter, value) -> setParameter(typedQuery, parameter, value));
+		return typedQuery;
+	}
+
+	private static <T> ParameterExpression<T> bind(CriteriaBuilder cb, Map<ParameterExpression<?>, Object> parameters,
+												   Class<T> type, T value) {
+		ParameterExpression<T> parameter = cb.parameter(type);
+		parameters.put(parameter, value);
+		return parameter;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void setParameter(TypedQuery<?> query, ParameterExpression<?> parameter, Object value) {
+		query.setParameter((ParameterExpression<Object>) parameter, value);
+	}
+}
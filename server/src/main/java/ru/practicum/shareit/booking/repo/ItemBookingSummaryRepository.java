@@ -0,0 +1,53 @@
+package ru.practicum.shareit.booking.repo;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ItemBookingSummaryRepository extends JpaRepository<ItemBookingSummary, Long> {
+	/**
+	 * Ставит бронирование последним, если оно заканчивается позже текущего последнего.
+	 */
+	@Transactional
+	@Modifying
+	@Query("update ItemBookingSummary s set s.lastBookingId = :bookingId, s.lastBookerId = :bookerId, " +
+			"s.lastEndDate = :endDate " +
+			"where s.itemId = :itemId and (s.lastEndDate is null or s.lastEndDate < :endDate)")
+	int offerLast(@Param("itemId") long itemId, @Param("bookingId") long bookingId, @Param("bookerId") long bookerId,
+				  @Param("endDate") LocalDateTime endDate);
+
+	/**
+	 * Ставит бронирование ближайшим, если оно начинается раньше текущего ближайшего
+	 * или текущее уже началось и ждет переноса в последние.
+	 */
+	@Transactional
+	@Modifying
+	@Query("update ItemBookingSummary s set s.nextBookingId = :bookingId, s.nextBookerId = :bookerId, " +
+			"s.nextStartDate = :startDate, s.nextEndDate = :endDate " +
+			"where s.itemId = :itemId " +
+			"and (s.nextStartDate is null or s.nextStartDate <= :now or s.nextStartDate > :startDate)")
+	int offerNext(@Param("itemId") long itemId, @Param("bookingId") long bookingId, @Param("bookerId") long bookerId,
+				  @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate,
+				  @Param("now") LocalDateTime now);
+
+	/**
+	 * Заменяет ближайшее бронирование, только если оно все еще expectedBookingId.
+	 */
+	@Transactional
+	@Modifying
+	@Query("update ItemBookingSummary s set s.nextBookingId = :bookingId, s.nextBookerId = :bookerId, " +
+			"s.nextStartDate = :startDate, s.nextEndDate = :endDate " +
+			"where s.itemId = :itemId and s.nextBookingId = :expectedBookingId")
+	int replaceNext(@Param("itemId") long itemId, @Param("expectedBookingId") long expectedBookingId,
+					@Param("bookingId") Long bookingId, @Param("bookerId") Long bookerId,
+					@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+
+	@Query("select s from ItemBookingSummary as s where s.nextStartDate <= ?1")
+	List<ItemBookingSummary> findStarted(LocalDateTime now);
+}
@@ -0,0 +1,146 @@
+package ru.practicum.shareit.booking.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repo.BookingRepository;
+import ru.practicum.shareit.exception.NotAvailableException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Подтвержденные бронирования каждой вещи в памяти, см. {@link ItemTimeline}.
+ * Проверка пересечения и поиск свободного окна - O(log n), занятость по часам собирается на запрошенное окно.
+ * Вещь загружается из БД при первом обращении и хранится не дольше ttl, поэтому подтверждения
+ * на других узлах видны с задержкой: окончательно пересечение проверяет БД при подтверждении.
+ * Метрики - cache.gets, cache.evictions, cache.size с тегом cache=bookingIntervals в /actuator/metrics.
+ */
+@Component
+@Slf4j
+public class BookingIntervalIndex {
+	private final BookingRepository bookingRepository;
+	private final Cache<Long, ItemTimeline> timelines;
+
+	public BookingIntervalIndex(BookingRepository bookingRepository, MeterRegistry meterRegistry,
+								@Value("${shareit.booking.interval-index.max-size:10000}") long maxSize,
+								@Value("${shareit.booking.interval-index.ttl:PT5M}") Duration ttl) {
+		this.bookingRepository = bookingRepository;
+		this.timelines = Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfterWrite(ttl)
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, timelines, "bookingIntervals");
+	}
+
+	public boolean isFree(long itemId, LocalDateTime start, LocalDateTime end) {
+		ItemTimeline timeline = timeline(itemId);
+		synchronized (timeline) {
+			return !timeline.overlaps(toEpochSecond(start), toEpochSecond(end));
+		}
+	}
+
+	public LocalDateTime nextFreeWindow(long itemId, LocalDateTime from, Duration duration) {
+		ItemTimeline timeline = timeline(itemId);
+		synchronized (timeline) {
+			return toLocalDateTime(timeline.nextFree(toEpochSecond(from), duration.getSeconds()));
+		}
+	}
+
+	/**
+	 * Занятость вещи по часам начиная с from: бит i соответствует часу from + i.
+	 */
+	public BitSet busyHours(long itemId, LocalDateTime from, LocalDateTime to) {
+		ItemTimeline timeline = timeline(itemId);
+		synchronized (timeline) {
+			return timeline.busyHours(ItemTimeline.floorHour(toEpochSecond(from)), ItemTimeline.ceilHour(toEpochSecond(to)));
+		}
+	}
+
+	public void checkFree(long itemId, LocalDateTime start, LocalDateTime end) {
+		if (!isFree(itemId, start, end)) {
+			throw new NotAvailableException("Вещь уже забронирована на это время. Ближайшее свободное время: " +
+					nextFreeWindow(itemId, start, Duration.between(start, end)));
+		}
+	}
+
+	public void reserve(long itemId, LocalDateTime start, LocalDateTime end) {
+		ItemTimeline timeline = timeline(itemId);
+		long from = toEpochSecond(start);
+		long to = toEpochSecond(end);
+		synchronized (timeline) {
+			if (timeline.overlaps(from, to)) {
+				throw new NotAvailableException("Вещь уже забронирована на это время.");
+			}
+			timeline.add(from, to);
+		}
+	}
+
+	/**
+	 * Убирает интервал бронирования. Если такого интервала нет (он склеен с соседним при загрузке),
+	 * вещь выгружается и при следующем обращении загружается из БД заново.
+	 */
+	public void release(long itemId, LocalDateTime start, LocalDateTime end) {
+		ItemTimeline timeline = timelines.getIfPresent(itemId);
+		if (timeline == null) {
+			return;
+		}
+		synchronized (timeline) {
+			if (timeline.remove(toEpochSecond(start), toEpochSecond(end))) {
+				return;
+			}
+		}
+		timelines.asMap().remove(itemId, timeline);
+	}
+
+	/**
+	 * Выгружает вещь, если ее занятость в памяти разошлась с БД; при следующем обращении она загрузится заново.
+	 */
+	public void evict(long itemId) {
+		timelines.invalidate(itemId);
+	}
+
+	/**
+	 * Подтвержденные бронирования, которые удалятся каскадно вместе с пользователем: его собственные
+	 * и на его вещи. Вызывается до удаления, после удаления результат передается в {@link #releaseAll}.
+	 */
+	public List<Booking> approvedOfUser(long userId) {
+		return bookingRepository.findByBookerOrItemOwnerAndStatus(userId, Status.APPROVED);
+	}
+
+	public void releaseAll(List<Booking> bookings) {
+		bookings.forEach(booking -> release(booking.getItem().getId(), booking.getStartDate(), booking.getEndDate()));
+	}
+
+	private ItemTimeline timeline(long itemId) {
+		return timelines.get(itemId, this::load);
+	}
+
+	private ItemTimeline load(long itemId) {
+		List<Booking> approved = bookingRepository.findByItemIdAndStatus(itemId, Status.APPROVED);
+		ItemTimeline timeline = new ItemTimeline();
+		for (Booking booking : approved) {
+			timeline.merge(toEpochSecond(booking.getStartDate()), toEpochSecond(booking.getEndDate()));
+		}
+		log.debug("Загружено {} подтвержденных бронирований вещи с itemId = {}", approved.size(), itemId);
+		return timeline;
+	}
+
+	private static long toEpochSecond(LocalDateTime dateTime) {
+		return dateTime.toEpochSecond(ZoneOffset.UTC);
+	}
+
+	private static LocalDateTime toLocalDateTime(long epochSecond) {
+		return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+	}
+}
@@ -1,11 +1,15 @@
 package ru.practicum.shareit.booking.service;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.lang.Nullable;
 import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.Status;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingSliceDto;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface BookingService {
 	BookingResponseDto add(long userId, BookingRequestDto bookingRequestDto);
@@ -14,8 +18,18 @@ public interface BookingService {
 
 	BookingResponseDto getInfoById(long userId, long bookingId);
 
-	List<BookingResponseDto> getAllBookings(long userId, BookingState state, Pageable pageable);
+	List<BookingResponseDto> getAllBookings(long userId, BookingState state, @Nullable Status status, Pageable pageable);
 
-	List<BookingResponseDto> getAllOwnerBookings(long userId, BookingState state, Pageable pageable);
+	List<BookingResponseDto> getAllOwnerBookings(long userId, BookingState state, @Nullable Status status, Pageable pageable);
+
+	BookingSliceDto getAllBookingsAfter(long userId, BookingState state, @Nullable Status status, String after, int size);
+
+	BookingSliceDto getAllOwnerBookingsAfter(long userId, BookingState state, @Nullable Status status, String after, int size);
+
+	/**
+	 * Передает consumer все бронирования вещей владельца по состоянию и статусу, от новых к старым.
+	 * Владелец проверяется до первого бронирования.
+	 */
+	void exportOwnerBookings(long userId, BookingState state, @Nullable Status status, Consumer<BookingResponseDto> consumer);
 
 }
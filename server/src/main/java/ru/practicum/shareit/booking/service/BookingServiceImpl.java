@@ -1,18 +1,26 @@
 package ru.practicum.shareit.booking.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Slice;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.BookingRole;
 import ru.practicum.shareit.booking.BookingState;
 import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDtoMapper;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingSliceDto;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repo.BookingRepository;
 import ru.practicum.shareit.exception.BookingDateException;
+import ru.practicum.shareit.exception.InvalidPageSizeException;
 import ru.practicum.shareit.exception.NotAvailableException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.ItemDtoMapper;
@@ -20,6 +28,7 @@ import ru.practicum.shareit.item.dto.ItemUpdateDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repo.ItemRepository;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.metrics.MetricsConfig;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserDtoMapper;
 import ru.practicum.shareit.user.service.UserService;
@@ -27,8 +36,11 @@ import ru.practicum.shareit.user.service.UserService;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
 
@@ -36,8 +48,10 @@ public class BookingServiceImpl implements BookingService {
 	private final ItemRepository itemRepository;
 	private final ItemService itemService;
 	private final UserService userService;
+	private final BookingIntervalIndex bookingIntervalIndex;
+	private final BookingSummaryService bookingSummaryService;
+	private final TransactionTemplate transactionTemplate;
 
-	private final Sort byStartDateDesc = Sort.by(Sort.Direction.DESC, "StartDate");
 
 	@Override
 	public BookingResponseDto add(long userId, BookingRequestDto bookingRequestDto) {
@@ -58,6 +72,7 @@ public class BookingServiceImpl implements BookingService {
 				booking.getStartDate().equals(booking.getEndDate())) {
 			throw new BookingDateException("Выбрано некорректное время бронирования.");
 		}
+		bookingIntervalIndex.checkFree(item.getId(), booking.getStartDate(), booking.getEndDate());
 
 		booking.setStatus(Status.WAITING);
 		booking.setItem(item);
@@ -79,14 +94,20 @@ public class BookingServiceImpl implements BookingService {
 		Item item = ItemDtoMapper.ofItemWithFullInfoDto(itemService.getById(booking.getItem().getId(), userId));
 		if (!status) {
 			booking.setStatus(Status.REJECTED);
-		} else {
-			booking.setStatus(Status.APPROVED);
+			return BookingDtoMapper.toBookingResponseDto(updateItemAndSave(item, userId, booking));
 		}
 
-		ItemUpdateDto itemUpdateDto = ItemDtoMapper.toItemUpdateDto(item);
-		itemUpdateDto.setOwnerId(userId);
-		itemService.update(itemUpdateDto);
-		return BookingDtoMapper.toBookingResponseDto(bookingRepository.save(booking));
+		booking.setStatus(Status.APPROVED);
+		bookingIntervalIndex.reserve(item.getId(), booking.getStartDate(), booking.getEndDate());
+		Booking approved;
+		try {
+			approved = transactionTemplate.execute(tx -> approveLocked(item, userId, booking));
+		} catch (RuntimeException e) {
+			bookingIntervalIndex.release(item.getId(), booking.getStartDate(), booking.getEndDate());
+			throw e;
+		}
+		bookingSummaryService.onApproved(approved);
+		return BookingDtoMapper.toBookingResponseDto(approved);
 	}
 
 	@Override
@@ -101,45 +122,84 @@ public class BookingServiceImpl implements BookingService {
 	}
 
 	@Override
-	public List<BookingResponseDto> getAllBookings(long booker, BookingState state, Pageable pageable) {
+	public List<BookingResponseDto> getAllBookings(long booker, BookingState state, @Nullable Status status, Pageable pageable) {
 		userService.getById(booker);
-		List<BookingResponseDto> result;
-		LocalDateTime date = LocalDateTime.now();
-		Pageable sortByStartDateDesc = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), byStartDateDesc);
-		if (state.equals(BookingState.ALL)) {
-			result = BookingDtoMapper.toBookingResponseDto(bookingRepository.findByBookerId(booker, sortByStartDateDesc).getContent());
-		} else if (state.equals(BookingState.PAST)) {
-			result = BookingDtoMapper.toBookingResponseDto(bookingRepository.findByBookerIdAndEndDateBefore(booker, date, sortByStartDateDesc).getContent());
-		} else if (state.equals(BookingState.CURRENT)) {
-			result = BookingDtoMapper.toBookingResponseDto(bookingRepository.findByBookerIdAndStartDateBeforeAndEndDateAfter(booker, date, date, sortByStartDateDesc).getContent());
-		} else if (state.equals(BookingState.FUTURE)) {
-			result = BookingDtoMapper.toBookingResponseDto(bookingRepository.findByBookerIdAndStartDateAfter(booker, date, sortByStartDateDesc).getContent());
-		} else {
-			result = BookingDtoMapper.toBookingResponseDto(bookingRepository.findByBookerIdAndStatus(booker, Status.valueOf(state.name()), sortByStartDateDesc).getContent());
-		}
+		return BookingDtoMapper.toBookingResponseDto(bookingRepository.findBookings(BookingRole.BOOKER, booker, state,
+				status, LocalDateTime.now(), pageable));
+	}
+
+	@Override
+	public List<BookingResponseDto> getAllOwnerBookings(long ownerId, BookingState state, @Nullable Status status, Pageable pageable) {
+		userService.getById(ownerId);
+		return BookingDtoMapper.toBookingResponseDto(bookingRepository.findBookings(BookingRole.OWNER, ownerId, state,
+				status, LocalDateTime.now(), pageable));
+	}
 
-		return result;
+	@Override
+	public BookingSliceDto getAllBookingsAfter(long booker, BookingState state, @Nullable Status status, String after, int size) {
+		checkSliceSize(size);
+		userService.getById(booker);
+		return toSliceDto(bookingRepository.findBookingsAfter(BookingRole.BOOKER, booker, state, status,
+				LocalDateTime.now(), decodeCursor(after), size));
 	}
 
 	@Override
-	public List<BookingResponseDto> getAllOwnerBookings(long ownerId, BookingState state, Pageable pageable) {
+	public BookingSliceDto getAllOwnerBookingsAfter(long ownerId, BookingState state, @Nullable Status status, String after, int size) {
+		checkSliceSize(size);
 		userService.getById(ownerId);
-		List<BookingResponseDto> result;
-		LocalDateTime date = LocalDateTime.now();
-		Pageable sortByStartDateDesc = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), byStartDateDesc);
-		if (state.equals(BookingState.ALL)) {
-			result = BookingDtoMapper.toBookingResponseDto(bookingRepository.findByItemOwnerId(ownerId, sortByStartDateDesc).getContent());
-		} else if (state.equals(BookingState.PAST)) {
-			result = BookingDtoMapper.toBookingResponseDto(bookingRepository.findByItemOwnerIdAndEndDateBefore(ownerId, date, sortByStartDateDesc).getContent());
-		} else if (state.equals(BookingState.CURRENT)) {
-			result = BookingDtoMapper.toBookingResponseDto(bookingRepository.findByItemOwnerIdAndStartDateBeforeAndEndDateAfter(ownerId, date, date, sortByStartDateDesc).getContent());
-		} else if (state.equals(BookingState.FUTURE)) {
-			result = BookingDtoMapper.toBookingResponseDto(bookingRepository.findByItemOwnerIdAndStartDateAfter(ownerId, date, sortByStartDateDesc).getContent());
-		} else {
-			result = BookingDtoMapper.toBookingResponseDto(bookingRepository.findByItemOwnerIdAndStatus(ownerId, Status.valueOf(state.name()), sortByStartDateDesc).getContent());
+		return toSliceDto(bookingRepository.findBookingsAfter(BookingRole.OWNER, ownerId, state, status,
+				LocalDateTime.now(), decodeCursor(after), size));
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public void exportOwnerBookings(long ownerId, BookingState state, @Nullable Status status,
+									Consumer<BookingResponseDto> consumer) {
+		userService.getById(ownerId);
+		try (Stream<BookingView> bookings = bookingRepository.streamBookings(BookingRole.OWNER, ownerId, state, status,
+				LocalDateTime.now())) {
+			bookings.map(BookingDtoMapper::toBookingResponseDto).forEachOrdered(consumer);
+		}
+	}
+
+	private void checkSliceSize(int size) {
+		if (size < 1) {
+			throw new InvalidPageSizeException("Размер страницы должен быть больше нуля: " + size);
 		}
+	}
+
+	private BookingCursor decodeCursor(String after) {
+		return after == null || after.isBlank() ? null : BookingCursor.decode(after);
+	}
 
-		return result;
+	private BookingSliceDto toSliceDto(Slice<BookingView> slice) {
+		List<BookingView> bookings = slice.getContent();
+		String nextCursor = slice.hasNext() ? BookingCursor.of(bookings.get(bookings.size() - 1)).encode() : null;
+		return BookingSliceDto.builder()
+				.bookings(BookingDtoMapper.toBookingResponseDto(bookings))
+				.nextCursor(nextCursor)
+				.build();
+	}
+
+	/**
+	 * Индекс в памяти может не знать о подтверждениях на других узлах, поэтому пересечение
+	 * окончательно проверяется в БД под блокировкой строки вещи, в той же транзакции, что и запись.
+	 */
+	private Booking approveLocked(Item item, long userId, Booking booking) {
+		itemRepository.findForUpdateById(item.getId());
+		if (bookingRepository.existsOverlapping(item.getId(), Status.APPROVED, booking.getId(),
+				booking.getStartDate(), booking.getEndDate())) {
+			bookingIntervalIndex.evict(item.getId());
+			throw new NotAvailableException("Вещь уже забронирована на это время.");
+		}
+		return updateItemAndSave(item, userId, booking);
+	}
+
+	private Booking updateItemAndSave(Item item, long userId, Booking booking) {
+		ItemUpdateDto itemUpdateDto = ItemDtoMapper.toItemUpdateDto(item);
+		itemUpdateDto.setOwnerId(userId);
+		itemService.update(itemUpdateDto);
+		return bookingRepository.save(booking);
 	}
 
 	private Booking getBooking(Long id) {
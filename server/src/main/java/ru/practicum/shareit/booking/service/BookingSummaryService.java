@@ -0,0 +1,97 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+import ru.practicum.shareit.booking.repo.BookingRepository;
+import ru.practicum.shareit.booking.repo.ItemBookingSummaryRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Сводка последнего и ближайшего подтвержденного бронирования по вещам в таблице item_booking_summary.
+ * Подтверждение бронирования применяется условными update, поэтому параллельные подтверждения не теряются.
+ * Начавшееся ближайшее бронирование переносится в последние по расписанию или при чтении.
+ * Строка удаляется каскадно вместе с вещью или любым из бронирований и заново строится при следующем чтении.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookingSummaryService {
+	private final ItemBookingSummaryRepository summaryRepository;
+	private final BookingRepository bookingRepository;
+
+	public ItemBookingSummary getSummary(long itemId) {
+		ItemBookingSummary summary = summaryRepository.findById(itemId).orElseGet(() -> create(itemId));
+		if (summary.getNextStartDate() != null && !summary.getNextStartDate().isAfter(LocalDateTime.now())) {
+			roll(summary);
+			summary = summaryRepository.findById(itemId).orElseGet(() -> create(itemId));
+		}
+		return summary;
+	}
+
+	public void onApproved(Booking booking) {
+		long itemId = booking.getItem().getId();
+		if (!summaryRepository.existsById(itemId)) {
+			create(itemId);
+		}
+		LocalDateTime now = LocalDateTime.now();
+		if (booking.getStartDate().isAfter(now)) {
+			summaryRepository.offerNext(itemId, booking.getId(), booking.getBooker().getId(),
+					booking.getStartDate(), booking.getEndDate(), now);
+		} else {
+			summaryRepository.offerLast(itemId, booking.getId(), booking.getBooker().getId(), booking.getEndDate());
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${shareit.booking-summary.roll-interval:PT1M}")
+	public void rollStarted() {
+		List<ItemBookingSummary> started = summaryRepository.findStarted(LocalDateTime.now());
+		started.forEach(this::roll);
+		if (!started.isEmpty()) {
+			log.debug("Начавшиеся бронирования перенесены в последние, вещей: {}", started.size());
+		}
+	}
+
+	private void roll(ItemBookingSummary summary) {
+		long itemId = summary.getItemId();
+		summaryRepository.offerLast(itemId, summary.getNextBookingId(), summary.getNextBookerId(), summary.getNextEndDate());
+		Optional<Booking> next = bookingRepository.findFirstByItemIdAndStatusAndStartDateAfterOrderByStartDateAsc(
+				itemId, Status.APPROVED, LocalDateTime.now());
+		summaryRepository.replaceNext(itemId, summary.getNextBookingId(),
+				next.map(Booking::getId).orElse(null),
+				next.map(booking -> booking.getBooker().getId()).orElse(null),
+				next.map(Booking::getStartDate).orElse(null),
+				next.map(Booking::getEndDate).orElse(null));
+	}
+
+	private ItemBookingSummary create(long itemId) {
+		LocalDateTime now = LocalDateTime.now();
+		ItemBookingSummary summary = ItemBookingSummary.builder().itemId(itemId).build();
+		bookingRepository.findFirstByItemIdAndStatusAndStartDateBeforeOrderByEndDateDesc(itemId, Status.APPROVED, now)
+				.ifPresent(last -> {
+					summary.setLastBookingId(last.getId());
+					summary.setLastBookerId(last.getBooker().getId());
+					summary.setLastEndDate(last.getEndDate());
+				});
+		bookingRepository.findFirstByItemIdAndStatusAndStartDateAfterOrderByStartDateAsc(itemId, Status.APPROVED, now)
+				.ifPresent(next -> {
+					summary.setNextBookingId(next.getId());
+					summary.setNextBookerId(next.getBooker().getId());
+					summary.setNextStartDate(next.getStartDate());
+					summary.setNextEndDate(next.getEndDate());
+				});
+		try {
+			return summaryRepository.save(summary);
+		} catch (DataIntegrityViolationException e) {
+			return summaryRepository.findById(itemId).orElse(summary);
+		}
+	}
+}
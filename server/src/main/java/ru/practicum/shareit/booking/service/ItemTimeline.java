@@ -0,0 +1,89 @@
+package ru.practicum.shareit.booking.service;
+
+import java.util.BitSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Занятость одной вещи: непересекающиеся полуинтервалы [start, end) в секундах эпохи, упорядоченные по началу.
+ * Битовая карта по часам строится только на запрошенное окно, поэтому память не зависит от разброса дат.
+ * Не потокобезопасен, доступ синхронизирует {@link BookingIntervalIndex}.
+ */
+class ItemTimeline {
+	static final long SECONDS_PER_HOUR = 3600;
+
+	private final NavigableMap<Long, Long> intervals = new TreeMap<>();
+
+	boolean overlaps(long start, long end) {
+		Map.Entry<Long, Long> previous = intervals.lowerEntry(end);
+		return previous != null && previous.getValue() > start;
+	}
+
+	void add(long start, long end) {
+		intervals.put(start, end);
+	}
+
+	/**
+	 * Удаляет интервал, только если он хранится ровно в таких границах; склеенные при загрузке не разбираются.
+	 */
+	boolean remove(long start, long end) {
+		return intervals.remove(start, end);
+	}
+
+	/**
+	 * Склеивает пересечения, сохраненные в БД до появления проверки, в один интервал.
+	 */
+	void merge(long start, long end) {
+		Map.Entry<Long, Long> previous = intervals.lowerEntry(end);
+		while (previous != null && previous.getValue() > start) {
+			intervals.remove(previous.getKey());
+			start = Math.min(start, previous.getKey());
+			end = Math.max(end, previous.getValue());
+			previous = intervals.lowerEntry(end);
+		}
+		add(start, end);
+	}
+
+	long nextFree(long from, long length) {
+		long start = from;
+		Map.Entry<Long, Long> previous = intervals.floorEntry(start);
+		if (previous != null && previous.getValue() > start) {
+			start = previous.getValue();
+		}
+		Map.Entry<Long, Long> next = intervals.ceilingEntry(start);
+		while (next != null && next.getKey() < start + length) {
+			start = next.getValue();
+			next = intervals.ceilingEntry(start);
+		}
+		return start;
+	}
+
+	/**
+	 * Возвращает занятость часов [fromHour, toHour): бит i соответствует часу fromHour + i.
+	 * Час занят, если его хотя бы частично покрывает бронирование.
+	 */
+	BitSet busyHours(long fromHour, long toHour) {
+		BitSet result = new BitSet();
+		long from = fromHour * SECONDS_PER_HOUR;
+		long to = toHour * SECONDS_PER_HOUR;
+		Long first = intervals.lowerKey(from);
+		if (first == null || intervals.get(first) <= from) {
+			first = from;
+		}
+		for (Map.Entry<Long, Long> entry : intervals.subMap(first, true, to, false).entrySet()) {
+			long busyFrom = Math.max(floorHour(entry.getKey()), fromHour);
+			long busyTo = Math.min(ceilHour(entry.getValue()), toHour);
+			result.set((int) (busyFrom - fromHour), (int) (busyTo - fromHour));
+		}
+		return result;
+	}
+
+	static long floorHour(long epochSecond) {
+		return Math.floorDiv(epochSecond, SECONDS_PER_HOUR);
+	}
+
+	static long ceilHour(long epochSecond) {
+		return -Math.floorDiv(-epochSecond, SECONDS_PER_HOUR);
+	}
+}
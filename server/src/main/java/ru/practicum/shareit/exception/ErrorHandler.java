@@ -2,6 +2,7 @@ package ru.practicum.shareit.exception;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -55,6 +56,27 @@ public class ErrorHandler {
 		return new ErrorResponse(e.getMessage());
 	}
 
+	@ExceptionHandler(InvalidCursorException.class)
+	@ResponseStatus(HttpStatus.BAD_REQUEST)
+	public ErrorResponse handler(final InvalidCursorException e) {
+		log.info("Ошибка - передан некорректный курсор: {}", e.getMessage());
+		return new ErrorResponse(e.getMessage());
+	}
+
+	@ExceptionHandler(InvalidPageSizeException.class)
+	@ResponseStatus(HttpStatus.BAD_REQUEST)
+	public ErrorResponse handler(final InvalidPageSizeException e) {
+		log.info("Ошибка - передан некорректный размер страницы: {}", e.getMessage());
+		return new ErrorResponse(e.getMessage());
+	}
+
+	@ExceptionHandler(HttpMediaTypeNotSupportedException.class)
+	@ResponseStatus(HttpStatus.UNSUPPORTED_MEDIA_TYPE)
+	public ErrorResponse handler(final HttpMediaTypeNotSupportedException e) {
+		log.info("Ошибка - неподдерживаемый тип содержимого: {}", e.getMessage());
+		return new ErrorResponse(e.getMessage());
+	}
+
 	@ExceptionHandler(Exception.class)
 	@ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
 	public ErrorResponse handler(final Exception e) {
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exception;
+
+public class InvalidPageSizeException extends RuntimeException {
+	public InvalidPageSizeException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.item;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+public enum AvailabilityGranularity {
+	HOUR(ChronoUnit.HOURS, 1), DAY(ChronoUnit.DAYS, 24);
+
+	private final ChronoUnit unit;
+	private final int hours;
+
+	AvailabilityGranularity(ChronoUnit unit, int hours) {
+		this.unit = unit;
+		this.hours = hours;
+	}
+
+	public int getHours() {
+		return hours;
+	}
+
+	public LocalDateTime floor(LocalDateTime dateTime) {
+		return dateTime.truncatedTo(unit);
+	}
+
+	public LocalDateTime ceil(LocalDateTime dateTime) {
+		LocalDateTime floor = floor(dateTime);
+		return floor.equals(dateTime) ? floor : floor.plus(1, unit);
+	}
+}
@@ -3,12 +3,18 @@ package ru.practicum.shareit.item;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.*;
+import ru.practicum.shareit.item.service.ItemImportService;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.logging.RequestLog;
 import ru.practicum.shareit.util.OffsetPageRequest;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -19,15 +25,24 @@ public class ItemController {
 
 	public static final String X_SHARER_USER_ID = "X-Sharer-User-Id";
 	private final ItemService itemService;
+	private final ItemImportService itemImportService;
 
 	@PostMapping
 	@ResponseStatus(HttpStatus.CREATED)
 	public ItemDto addItem(@RequestHeader(X_SHARER_USER_ID) long ownerId,
 						   @RequestBody ItemCreateDto itemCreateDto) {
-		log.info("Получен запрос на создание вещи = {}, ownerId = {}", itemCreateDto, ownerId);
 		itemCreateDto.setOwnerId(ownerId);
 		ItemDto response = itemService.add(itemCreateDto);
-		log.info("Отработан запрос на добавление вещи: {}", response);
+		RequestLog.info(log, "Отработан запрос на добавление вещи: itemId={}, ownerId={}", response.getId(), ownerId);
+		return response;
+	}
+
+	@PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+	public ItemImportReportDto importItems(@RequestHeader(X_SHARER_USER_ID) long ownerId,
+										   InputStream body) {
+		ItemImportReportDto response = itemImportService.importItems(ownerId, body);
+		RequestLog.info(log, "Отработан запрос на импорт вещей: imported={}, failed={}", response.getImported(),
+				response.getFailed());
 		return response;
 	}
 
@@ -35,20 +50,18 @@ public class ItemController {
 	public ItemDto updateItem(@RequestHeader(X_SHARER_USER_ID) long ownerId,
 							  @PathVariable Long id,
 							  @RequestBody ItemUpdateDto itemUpdateDto) {
-		log.info("Получен запрос на обновление вещи c id = {}, описание вещи = {} , ownerId = {}", itemUpdateDto, id, ownerId);
 		itemUpdateDto.setId(id);
 		itemUpdateDto.setOwnerId(ownerId);
 		ItemDto response = itemService.update(itemUpdateDto);
-		log.info("Отработан запрос на обновление вещи: {}", response);
+		RequestLog.info(log, "Отработан запрос на обновление вещи: itemId={}, ownerId={}", id, ownerId);
 		return response;
 	}
 
 	@GetMapping("/{id}")
 	public ItemWithFullInfoDto getItem(@RequestHeader(X_SHARER_USER_ID) long userId,
 									   @PathVariable Long id) {
-		log.info("Получен запрос на получение вещи, item_id: {}", id);
 		ItemWithFullInfoDto response = itemService.getById(id, userId);
-		log.info("Отработан запрос на получение вещи, item_id: {}", id);
+		RequestLog.info(log, "Отработан запрос на получение вещи: itemId={}, userId={}", id, userId);
 		return response;
 	}
 
@@ -56,10 +69,9 @@ public class ItemController {
 	public List<ItemWithFullInfoDto> findAllByOwnerId(@RequestHeader(X_SHARER_USER_ID) long ownerId,
 													  @RequestParam(required = false, defaultValue = "0") int from,
 													  @RequestParam(required = false, defaultValue = "10") int size) {
-		log.info("Получен запрос на получение всех вещей владельца вещи, ownerId: {}", ownerId);
 		PageRequest page = OffsetPageRequest.createPageRequest(from, size);
 		List<ItemWithFullInfoDto> response = itemService.findByOwnerId(ownerId, page);
-		log.info("Отработан запрос на получение всех вещей владельца вещи, ownerId: {}", ownerId);
+		RequestLog.info(log, "Отработан запрос на получение всех вещей владельца: ownerId={}, items={}", ownerId, response.size());
 		return response;
 	}
 
@@ -68,10 +80,9 @@ public class ItemController {
 								  @RequestParam String text,
 								  @RequestParam(required = false, defaultValue = "0") int from,
 								  @RequestParam(required = false, defaultValue = "10") int size) {
-		log.info("Получен запрос на поиск всех вещей по тексту: {}", text);
 		PageRequest page = OffsetPageRequest.createPageRequest(from, size);
 		List<ItemDto> response = itemService.searchBy(userId, text, page);
-		log.info("Отработан запрос на поиск всех вещей по тексту: {}", text);
+		RequestLog.info(log, "Отработан запрос на поиск вещей: text={}, items={}", text, response.size());
 		return response;
 	}
 
@@ -79,11 +90,22 @@ public class ItemController {
 	public CommentResponseDto addComment(@RequestHeader(X_SHARER_USER_ID) long userId,
 										 @PathVariable Long itemId,
 										 @RequestBody CommentRequestDto commentRequestDto) {
-		log.info("Получен запрос на добавление комментария для вещи: {}, {}", itemId, commentRequestDto);
 		commentRequestDto.setAuthorId(userId);
 		commentRequestDto.setItemId(itemId);
 		CommentResponseDto response = itemService.addComment(commentRequestDto);
-		log.info("Отработан запрос на добавление комментария для вещи: {}, {}", itemId, response);
+		RequestLog.info(log, "Отработан запрос на добавление комментария: itemId={}, commentId={}", itemId, response.getId());
+		return response;
+	}
+
+	@GetMapping("/{id}/availability")
+	public ItemAvailabilityDto getAvailability(@RequestHeader(X_SHARER_USER_ID) long userId,
+											   @PathVariable Long id,
+											   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+											   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+											   @RequestParam(defaultValue = "HOUR") String granularity) {
+		AvailabilityGranularity validGranularity = AvailabilityGranularity.valueOf(granularity.toUpperCase());
+		ItemAvailabilityDto response = itemService.getAvailability(userId, id, from, to, validGranularity);
+		RequestLog.info(log, "Отработан запрос на получение занятости вещи: itemId={}, slots={}", id, response.getSlots().size());
 		return response;
 	}
 }
@@ -2,18 +2,15 @@ package ru.practicum.shareit.item.dto;
 
 import ru.practicum.shareit.item.model.Comment;
 
-import java.time.format.DateTimeFormatter;
+import static ru.practicum.shareit.util.DateTimeFormats.DATE_TIME_FORMATTER;
 
 public class CommentDtoMapper {
-
 	public static CommentResponseDto toCommentResponseDto(Comment comment) {
 		return CommentResponseDto.builder()
 				.id(comment.getId())
 				.text(comment.getText())
 				.authorName(comment.getAuthor().getName())
-				.created(comment.getCreated() != null ? DateTimeFormatter
-						.ofPattern("yyyy-MM-dd'T'HH:mm:ss")
-						.format(comment.getCreated()) : null)
+				.created(comment.getCreated() != null ? DATE_TIME_FORMATTER.format(comment.getCreated()) : null)
 				.build();
 	}
 
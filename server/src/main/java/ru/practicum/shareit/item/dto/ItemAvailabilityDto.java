@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import ru.practicum.shareit.item.AvailabilityGranularity;
+
+import java.util.List;
+
+@Getter
+@Setter
+@ToString
+@Builder
+public class ItemAvailabilityDto {
+	private long itemId;
+	private AvailabilityGranularity granularity;
+	private List<AvailabilitySlotDto> slots;
+}
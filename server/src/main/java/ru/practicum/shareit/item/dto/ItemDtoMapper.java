@@ -2,8 +2,11 @@ package ru.practicum.shareit.item.dto;
 
 import ru.practicum.shareit.item.model.Item;
 
-public class ItemDtoMapper {
+import java.time.LocalDateTime;
+
+import static ru.practicum.shareit.util.DateTimeFormats.DATE_TIME_FORMATTER;
 
+public class ItemDtoMapper {
 	public static Item ofItemWithFullInfoDto(ItemWithFullInfoDto itemDto) {
 		return Item.builder()
 				.id(itemDto.getId())
@@ -31,6 +34,16 @@ public class ItemDtoMapper {
 				.build();
 	}
 
+	public static ItemDto toItemDto(ItemShort item) {
+		return ItemDto.builder()
+				.id(item.getId())
+				.name(item.getName())
+				.description(item.getDescription())
+				.available(item.getAvailable())
+				.requestId(item.getRequestId())
+				.build();
+	}
+
 	public static ItemUpdateDto toItemUpdateDto(Item item) {
 		return ItemUpdateDto.builder()
 				.id(item.getId())
@@ -51,4 +64,12 @@ public class ItemDtoMapper {
 				.requestId(item.getRequest() == null ? null : item.getRequest().getId())
 				.build();
 	}
+
+	public static AvailabilitySlotDto toAvailabilitySlotDto(LocalDateTime start, LocalDateTime end, boolean free) {
+		return AvailabilitySlotDto.builder()
+				.start(DATE_TIME_FORMATTER.format(start))
+				.end(DATE_TIME_FORMATTER.format(end))
+				.free(free)
+				.build();
+	}
 }
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ToString
+public class ItemImportReportDto {
+	private long imported;
+	private long failed;
+	private List<ItemImportErrorDto> errors = new ArrayList<>();
+}
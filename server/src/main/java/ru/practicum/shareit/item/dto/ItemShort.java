@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item.dto;
+
+public interface ItemShort {
+	long getId();
+
+	String getName();
+
+	String getDescription();
+
+	Boolean getAvailable();
+
+	Long getRequestId();
+}
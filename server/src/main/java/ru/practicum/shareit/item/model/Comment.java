@@ -17,12 +17,13 @@ import java.time.LocalDateTime;
 @Table(name = "comments")
 public class Comment {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comments_seq")
+	@SequenceGenerator(name = "comments_seq", sequenceName = "comments_seq", allocationSize = 50)
 	@Column(name = "comment_id")
 	private long id;
 	private String text;
 	@JoinColumn(name = "item_id")
-	@ManyToOne(fetch = FetchType.EAGER)
+	@ManyToOne(fetch = FetchType.EAGER, optional = false)
 	private Item item;
 	@JoinColumn(name = "author_id")
 	@ManyToOne(fetch = FetchType.EAGER)
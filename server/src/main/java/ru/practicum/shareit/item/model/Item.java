@@ -17,7 +17,8 @@ import javax.validation.constraints.NotEmpty;
 @Table(name = "items")
 public class Item {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+	@SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
 	@Column(name = "item_id")
 	private long id;
 
@@ -30,7 +31,7 @@ public class Item {
 	private Boolean available;
 
 	@JoinColumn(name = "owner_id")
-	@ManyToOne(fetch = FetchType.LAZY)
+	@ManyToOne(fetch = FetchType.LAZY, optional = false)
 	private User owner;
 
 	@JoinColumn(name = "request_id")
@@ -3,13 +3,18 @@ package ru.practicum.shareit.item.repo;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.dto.ItemShort;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
-	List<Item> findByOwnerId(long userId);
+	List<Item> findByOwnerId(long userId, Pageable pageable);
 
 	@Query("select new Item(it.id, it.name, it.description, it.available, it.owner) " +
 			"from Item as it " +
@@ -17,7 +22,25 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
 			"and it.available is true")
 	Page<Item> findByNameOrDescriptionContainingAndAvailableTrue(String text, Pageable pageable);
 
-	List<Item> findByRequestIdIsNotNull();
+	@Query(value = "select * from items as it " +
+			"where it.is_available is true " +
+			"and (lower(it.name) like concat('%', ?1, '%') or lower(it.description) like concat('%', ?1, '%')) " +
+			"order by it.item_id", nativeQuery = true)
+	List<Item> findAvailableBySubstring(String text, Pageable pageable);
 
+	@Query("select it.id as id, it.name as name, it.description as description, " +
+			"it.available as available, it.request.id as requestId " +
+			"from Item as it " +
+			"where it.request.id in ?1")
+	List<ItemShort> findByRequestIdIn(Collection<Long> requestIds);
+
+	@Query("select it.id from Item as it where it.owner.id = ?1")
+	List<Long> findIdsByOwnerId(long ownerId);
+
+	@Query("select it from Item as it where it.request.id = ?1")
 	List<Item> findByRequestId(long requestId);
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select it from Item as it where it.id = ?1")
+	Optional<Item> findForUpdateById(long itemId);
 }
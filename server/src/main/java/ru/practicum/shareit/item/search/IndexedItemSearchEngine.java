@@ -0,0 +1,108 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repo.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Поиск по индексу в памяти: индекс строится при старте и по запросу к /actuator/searchindex,
+ * изменения, пришедшие во время перестроения, применяются к новому индексу перед заменой.
+ * Запись и удаление в индексе и замена индекса идут под одной блокировкой, поэтому изменение не теряется между ними.
+ */
+@Slf4j
+public abstract class IndexedItemSearchEngine implements ItemSearchEngine {
+	private static final int REBUILD_BATCH_SIZE = 1000;
+
+	private final ItemRepository itemRepository;
+	private final Supplier<ItemIndex> indexFactory;
+	private final Object swapLock = new Object();
+	private volatile ItemIndex index;
+	private List<Consumer<ItemIndex>> changedDuringRebuild;
+
+	protected IndexedItemSearchEngine(ItemRepository itemRepository, Supplier<ItemIndex> indexFactory) {
+		this.itemRepository = itemRepository;
+		this.indexFactory = indexFactory;
+		this.index = indexFactory.get();
+	}
+
+	@Override
+	public List<Item> search(String text, Pageable pageable) {
+		List<Long> ids = index.search(text, pageable.getOffset(), pageable.getPageSize());
+		if (ids.isEmpty()) {
+			return Collections.emptyList();
+		}
+		Map<Long, Item> items = itemRepository.findAllById(ids)
+				.stream()
+				.collect(Collectors.toMap(Item::getId, Function.identity()));
+		List<Item> ranked = new ArrayList<>(ids.size());
+		for (Long id : ids) {
+			Item item = items.get(id);
+			if (item != null) {
+				ranked.add(item);
+			}
+		}
+		return ranked;
+	}
+
+	@Override
+	public void index(Item item) {
+		apply(target -> put(target, item));
+	}
+
+	@Override
+	public void remove(long itemId) {
+		apply(target -> target.remove(itemId));
+	}
+
+	@Override
+	@EventListener(ApplicationReadyEvent.class)
+	public synchronized int rebuild() {
+		synchronized (swapLock) {
+			changedDuringRebuild = new ArrayList<>();
+		}
+		ItemIndex rebuilt = indexFactory.get();
+		Pageable page = PageRequest.of(0, REBUILD_BATCH_SIZE, Sort.by("id"));
+		Page<Item> batch;
+		do {
+			batch = itemRepository.findAll(page);
+			batch.forEach(item -> put(rebuilt, item));
+			page = page.next();
+		} while (batch.hasNext());
+
+		synchronized (swapLock) {
+			changedDuringRebuild.forEach(change -> change.accept(rebuilt));
+			changedDuringRebuild = null;
+			index = rebuilt;
+		}
+		log.info("Поисковый индекс вещей перестроен, проиндексировано вещей: {}", rebuilt.size());
+		return rebuilt.size();
+	}
+
+	private void apply(Consumer<ItemIndex> change) {
+		synchronized (swapLock) {
+			change.accept(index);
+			if (changedDuringRebuild != null) {
+				changedDuringRebuild.add(change);
+			}
+		}
+	}
+
+	private static void put(ItemIndex target, Item item) {
+		target.put(item.getId(), item.getName(), item.getDescription(), Boolean.TRUE.equals(item.getAvailable()));
+	}
+}
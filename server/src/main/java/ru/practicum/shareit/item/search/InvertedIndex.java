@@ -0,0 +1,153 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Инвертированный индекс по названию и описанию доступных вещей: терм -> (itemId -> вес).
+ * Слово из названия весит вдвое больше слова из описания. Поиск возвращает вещи, содержащие
+ * все термы запроса, отсортированные по сумме tf * idf.
+ */
+public class InvertedIndex implements ItemIndex {
+	private static final int NAME_WEIGHT = 2;
+	private static final int DESCRIPTION_WEIGHT = 1;
+
+	private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+	private final Map<Long, Set<String>> termsByItem = new HashMap<>();
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	@Override
+	public void put(long itemId, String name, String description, boolean available) {
+		Map<String, Integer> weights = new HashMap<>();
+		if (available) {
+			TextAnalyzer.terms(name).forEach(term -> weights.merge(term, NAME_WEIGHT, Integer::sum));
+			TextAnalyzer.terms(description).forEach(term -> weights.merge(term, DESCRIPTION_WEIGHT, Integer::sum));
+		}
+
+		lock.writeLock().lock();
+		try {
+			removeTerms(itemId);
+			if (weights.isEmpty()) {
+				return;
+			}
+			weights.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(itemId, weight));
+			termsByItem.put(itemId, weights.keySet());
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public void remove(long itemId) {
+		lock.writeLock().lock();
+		try {
+			removeTerms(itemId);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return termsByItem.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public List<Long> search(String text, long offset, int limit) {
+		Set<String> terms = new LinkedHashSet<>(TextAnalyzer.terms(text));
+		if (terms.isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		Map<Long, Double> scores;
+		lock.readLock().lock();
+		try {
+			List<Map<Long, Integer>> matches = new ArrayList<>(terms.size());
+			for (String term : terms) {
+				Map<Long, Integer> posting = postings.get(term);
+				if (posting == null) {
+					return Collections.emptyList();
+				}
+				matches.add(posting);
+			}
+			matches.sort(Comparator.comparingInt(Map::size));
+			scores = score(matches, termsByItem.size());
+		} finally {
+			lock.readLock().unlock();
+		}
+
+		return topPage(scores, offset, limit);
+	}
+
+	private static List<Long> topPage(Map<Long, Double> scores, long offset, int limit) {
+		long wanted = offset + limit;
+		if (offset >= scores.size() || wanted <= 0) {
+			return Collections.emptyList();
+		}
+		Comparator<Map.Entry<Long, Double>> byRelevance = Map.Entry.<Long, Double>comparingByValue().reversed()
+				.thenComparing(Map.Entry.comparingByKey());
+		PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(byRelevance.reversed());
+		for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+			top.add(entry);
+			if (top.size() > wanted) {
+				top.poll();
+			}
+		}
+
+		List<Map.Entry<Long, Double>> ranked = new ArrayList<>(top);
+		ranked.sort(byRelevance);
+		List<Long> page = new ArrayList<>(limit);
+		for (int i = (int) offset; i < ranked.size(); i++) {
+			page.add(ranked.get(i).getKey());
+		}
+		return page;
+	}
+
+	private static Map<Long, Double> score(List<Map<Long, Integer>> matches, int documents) {
+		Map<Long, Double> scores = new HashMap<>();
+		Map<Long, Integer> rarest = matches.get(0);
+		for (Long itemId : rarest.keySet()) {
+			double score = 0;
+			for (Map<Long, Integer> posting : matches) {
+				Integer weight = posting.get(itemId);
+				if (weight == null) {
+					score = -1;
+					break;
+				}
+				score += weight * Math.log(1 + (double) documents / posting.size());
+			}
+			if (score >= 0) {
+				scores.put(itemId, score);
+			}
+		}
+		return scores;
+	}
+
+	private void removeTerms(long itemId) {
+		Set<String> terms = termsByItem.remove(itemId);
+		if (terms == null) {
+			return;
+		}
+		for (String term : terms) {
+			Map<Long, Integer> posting = postings.get(term);
+			posting.remove(itemId);
+			if (posting.isEmpty()) {
+				postings.remove(term);
+			}
+		}
+	}
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repo.ItemRepository;
+
+import java.util.HashSet;
+import java.util.Set;
+
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "inverted")
+public class InvertedIndexItemSearchEngine extends IndexedItemSearchEngine {
+	public InvertedIndexItemSearchEngine(ItemRepository itemRepository) {
+		super(itemRepository, InvertedIndex::new);
+	}
+
+	@Override
+	public boolean matches(String text, Item item) {
+		if (!Boolean.TRUE.equals(item.getAvailable())) {
+			return false;
+		}
+		Set<String> itemTerms = new HashSet<>(TextAnalyzer.terms(item.getName()));
+		itemTerms.addAll(TextAnalyzer.terms(item.getDescription()));
+		return itemTerms.containsAll(TextAnalyzer.terms(text));
+	}
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.List;
+
+/**
+ * Индекс доступных вещей в памяти узла, поиск возвращает страницу идентификаторов.
+ */
+public interface ItemIndex {
+	void put(long itemId, String name, String description, boolean available);
+
+	void remove(long itemId);
+
+	int size();
+
+	List<Long> search(String text, long offset, int limit);
+}
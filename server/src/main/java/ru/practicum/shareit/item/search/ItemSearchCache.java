@@ -0,0 +1,114 @@
+package ru.practicum.shareit.item.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Кэш страниц поиска по ключу (текст в нижнем регистре, from, size), вытеснение - W-TinyLFU.
+ * При изменении названия, описания или доступности вещи удаляются только страницы тех запросов,
+ * в которые вещь попадала до изменения или попадает после. При каскадном удалении вещей кэш
+ * очищается целиком; изменения на других узлах видны по истечении ttl.
+ * Метрики - cache.gets, cache.evictions, cache.size с тегом cache=itemSearch в /actuator/metrics.
+ */
+@Component
+@Slf4j
+public class ItemSearchCache {
+	private final Cache<SearchKey, List<ItemDto>> cache;
+	private final ItemSearchEngine itemSearchEngine;
+	private final AtomicLong changes = new AtomicLong();
+
+	public ItemSearchCache(ItemSearchEngine itemSearchEngine, MeterRegistry meterRegistry,
+						   @Value("${shareit.search.cache.max-size:10000}") long maxSize,
+						   @Value("${shareit.search.cache.ttl:PT5M}") Duration ttl) {
+		this.itemSearchEngine = itemSearchEngine;
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfterWrite(ttl)
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, "itemSearch");
+	}
+
+	public List<ItemDto> get(String text, long from, int size, Supplier<List<ItemDto>> loader) {
+		SearchKey key = new SearchKey(text.toLowerCase(Locale.ROOT), from, size);
+		List<ItemDto> cached = cache.getIfPresent(key);
+		if (cached != null) {
+			return cached;
+		}
+
+		long changesBeforeLoad = changes.get();
+		List<ItemDto> loaded = List.copyOf(loader.get());
+		cache.put(key, loaded);
+		if (changes.get() != changesBeforeLoad) {
+			cache.invalidate(key);
+		}
+		return loaded;
+	}
+
+	/**
+	 * Вызывается после сохранения вещи, before - состояние до изменения или null для новой вещи.
+	 */
+	public void onChange(@Nullable Item before, Item after) {
+		if (before != null && Objects.equals(before.getName(), after.getName())
+				&& Objects.equals(before.getDescription(), after.getDescription())
+				&& Objects.equals(before.getAvailable(), after.getAvailable())) {
+			return;
+		}
+
+		changes.incrementAndGet();
+		cache.asMap().keySet().removeIf(key -> itemSearchEngine.matches(key.getText(), after)
+				|| before != null && itemSearchEngine.matches(key.getText(), before));
+		log.debug("Кэш поиска очищен от запросов, затронутых изменением вещи с id = {}", after.getId());
+	}
+
+	/**
+	 * Вызывается после сохранения пачки новых вещей: один проход по кэшу на всю пачку.
+	 */
+	public void onAdded(Collection<Item> items) {
+		if (items.isEmpty()) {
+			return;
+		}
+
+		changes.incrementAndGet();
+		cache.asMap().keySet().removeIf(key -> items.stream()
+				.anyMatch(item -> itemSearchEngine.matches(key.getText(), item)));
+		log.debug("Кэш поиска очищен от запросов, затронутых добавлением вещей: {}", items.size());
+	}
+
+	/**
+	 * Вызывается после удаления вещей вместе с владельцем: какие запросы их находили, уже не узнать.
+	 */
+	public void onItemsDeleted() {
+		changes.incrementAndGet();
+		cache.invalidateAll();
+		log.debug("Кэш поиска очищен после удаления вещей");
+	}
+
+	@Getter
+	@EqualsAndHashCode
+	@AllArgsConstructor
+	private static class SearchKey {
+		private final String text;
+		private final long from;
+		private final int size;
+	}
+}
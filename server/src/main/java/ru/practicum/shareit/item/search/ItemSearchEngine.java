@@ -0,0 +1,29 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+import java.util.Locale;
+
+public interface ItemSearchEngine {
+	List<Item> search(String text, Pageable pageable);
+
+	void index(Item item);
+
+	void remove(long itemId);
+
+	int rebuild();
+
+	/**
+	 * Попадает ли вещь в результаты поиска по text. По умолчанию - вхождение подстроки без учета регистра.
+	 */
+	default boolean matches(String text, Item item) {
+		if (!Boolean.TRUE.equals(item.getAvailable())) {
+			return false;
+		}
+		String query = text.toLowerCase(Locale.ROOT);
+		return item.getName() != null && item.getName().toLowerCase(Locale.ROOT).contains(query)
+				|| item.getDescription() != null && item.getDescription().toLowerCase(Locale.ROOT).contains(query);
+	}
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repo.ItemRepository;
+
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "like", matchIfMissing = true)
+@RequiredArgsConstructor
+public class LikeItemSearchEngine implements ItemSearchEngine {
+	private final ItemRepository itemRepository;
+
+	@Override
+	public List<Item> search(String text, Pageable pageable) {
+		PageRequest page = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+		return itemRepository.findByNameOrDescriptionContainingAndAvailableTrue(text.toLowerCase(), page).getContent();
+	}
+
+	@Override
+	public void index(Item item) {
+	}
+
+	@Override
+	public void remove(long itemId) {
+	}
+
+	@Override
+	public int rebuild() {
+		return 0;
+	}
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repo.ItemRepository;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Подстрочный поиск в PostgreSQL: условие like '%text%' обслуживают GIN-индексы pg_trgm
+ * из schema-postgresql.sql, поэтому индексировать в приложении ничего не нужно.
+ */
+@Component
+@ConditionalOnExpression("'${shareit.search.engine:like}' == 'trigram' and '${spring.sql.init.platform:all}' == 'postgresql'")
+@RequiredArgsConstructor
+public class PgTrgmItemSearchEngine implements ItemSearchEngine {
+	private final ItemRepository itemRepository;
+
+	@Override
+	public List<Item> search(String text, Pageable pageable) {
+		PageRequest page = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+		return itemRepository.findAvailableBySubstring(text.toLowerCase(Locale.ROOT), page);
+	}
+
+	@Override
+	public void index(Item item) {
+	}
+
+	@Override
+	public void remove(long itemId) {
+	}
+
+	@Override
+	public int rebuild() {
+		return 0;
+	}
+}
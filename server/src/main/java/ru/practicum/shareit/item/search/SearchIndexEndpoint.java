@@ -0,0 +1,23 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+@Component
+@Endpoint(id = "searchindex")
+@RequiredArgsConstructor
+public class SearchIndexEndpoint {
+	private final ItemSearchEngine itemSearchEngine;
+
+	@WriteOperation
+	public Map<String, Object> rebuild() {
+		return Map.of(
+				"engine", itemSearchEngine.getClass().getSimpleName(),
+				"indexed", itemSearchEngine.rebuild()
+		);
+	}
+}
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Разбивает текст на слова, приводит к нижнему регистру и отрезает типичные окончания
+ * русских и английских слов, чтобы "дрели", "дрель" и "drills", "drill" давали один терм.
+ */
+public final class TextAnalyzer {
+	private static final int MIN_STEM_LENGTH = 3;
+
+	private static final String[] RU_SUFFIXES = {
+			"иями", "ями", "ами", "ого", "его", "ому", "ему", "ыми", "ими", "ией", "ия", "ие", "ий",
+			"ая", "яя", "ое", "ее", "ые", "ой", "ей", "ый", "ом", "ем", "ам", "ям", "ах", "ях", "ов", "ев",
+			"ую", "юю", "ью", "а", "я", "о", "е", "ы", "и", "у", "ю", "ь", "й"
+	};
+
+	private static final String[] EN_SUFFIXES = {
+			"ings", "ing", "ies", "sses", "xes", "ches", "shes", "ed", "ly", "s"
+	};
+
+	private TextAnalyzer() {
+	}
+
+	public static List<String> terms(String text) {
+		List<String> terms = new ArrayList<>();
+		if (text == null) {
+			return terms;
+		}
+		String lower = text.toLowerCase(Locale.ROOT).replace('ё', 'е');
+		int start = -1;
+		for (int i = 0; i <= lower.length(); i++) {
+			boolean letter = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+			if (letter && start < 0) {
+				start = i;
+			} else if (!letter && start >= 0) {
+				terms.add(stem(lower.substring(start, i)));
+				start = -1;
+			}
+		}
+		return terms;
+	}
+
+	static String stem(String word) {
+		String[] suffixes = isCyrillic(word) ? RU_SUFFIXES : EN_SUFFIXES;
+		for (String suffix : suffixes) {
+			if ("s".equals(suffix) && word.endsWith("ss")) {
+				continue;
+			}
+			if (word.endsWith(suffix) && word.length() - suffix.length() >= MIN_STEM_LENGTH) {
+				return word.substring(0, word.length() - suffix.length()) + restoredEnding(suffix);
+			}
+		}
+		return word;
+	}
+
+	private static String restoredEnding(String suffix) {
+		switch (suffix) {
+			case "ies":
+				return "y";
+			case "sses":
+				return "ss";
+			case "xes":
+				return "x";
+			case "ches":
+				return "ch";
+			case "shes":
+				return "sh";
+			default:
+				return "";
+		}
+	}
+
+	private static boolean isCyrillic(String word) {
+		return Character.UnicodeBlock.of(word.charAt(0)) == Character.UnicodeBlock.CYRILLIC;
+	}
+}
@@ -0,0 +1,157 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Триграммный индекс по названию и описанию доступных вещей с семантикой like '%text%'.
+ * Кандидаты - пересечение списков вещей по триграммам запроса, затем проверка вхождения подстроки.
+ * Списки упорядочены по itemId, поэтому поиск останавливается, как только набрана страница.
+ * Запросы короче трех символов проверяются по всем вещам.
+ */
+public class TrigramIndex implements ItemIndex {
+	private static final int GRAM_LENGTH = 3;
+
+	private final Map<Long, NavigableSet<Long>> postings = new HashMap<>();
+	private final NavigableMap<Long, String[]> fields = new TreeMap<>();
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	@Override
+	public void put(long itemId, String name, String description, boolean available) {
+		String[] normalized = {normalize(name), normalize(description)};
+		lock.writeLock().lock();
+		try {
+			removeGrams(itemId);
+			if (!available) {
+				return;
+			}
+			fields.put(itemId, normalized);
+			for (long gram : grams(normalized)) {
+				postings.computeIfAbsent(gram, g -> new TreeSet<>()).add(itemId);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public void remove(long itemId) {
+		lock.writeLock().lock();
+		try {
+			removeGrams(itemId);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return fields.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public List<Long> search(String text, long offset, int limit) {
+		String query = normalize(text);
+		long wanted = offset + limit;
+		if (query.isEmpty() || wanted <= 0) {
+			return Collections.emptyList();
+		}
+
+		List<Long> page = new ArrayList<>(limit);
+		lock.readLock().lock();
+		try {
+			long skipped = 0;
+			for (Long itemId : candidates(query)) {
+				if (!matches(fields.get(itemId), query)) {
+					continue;
+				}
+				if (skipped < offset) {
+					skipped++;
+					continue;
+				}
+				page.add(itemId);
+				if (page.size() == limit) {
+					break;
+				}
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+		return page;
+	}
+
+	private Iterable<Long> candidates(String query) {
+		if (query.length() < GRAM_LENGTH) {
+			return fields.keySet();
+		}
+		List<NavigableSet<Long>> lists = new ArrayList<>();
+		for (long gram : grams(new String[]{query})) {
+			NavigableSet<Long> posting = postings.get(gram);
+			if (posting == null) {
+				return Collections.emptyList();
+			}
+			lists.add(posting);
+		}
+		lists.sort(Comparator.comparingInt(Set::size));
+		NavigableSet<Long> rarest = lists.get(0);
+		List<NavigableSet<Long>> others = lists.subList(1, lists.size());
+		return () -> rarest.stream()
+				.filter(itemId -> others.stream().allMatch(posting -> posting.contains(itemId)))
+				.iterator();
+	}
+
+	private static boolean matches(String[] itemFields, String query) {
+		for (String field : itemFields) {
+			if (field.contains(query)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void removeGrams(long itemId) {
+		String[] previous = fields.remove(itemId);
+		if (previous == null) {
+			return;
+		}
+		for (long gram : grams(previous)) {
+			NavigableSet<Long> posting = postings.get(gram);
+			posting.remove(itemId);
+			if (posting.isEmpty()) {
+				postings.remove(gram);
+			}
+		}
+	}
+
+	private static Set<Long> grams(String[] texts) {
+		Set<Long> grams = new HashSet<>();
+		for (String text : texts) {
+			for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+				grams.add((long) text.charAt(i) << 32 | (long) text.charAt(i + 1) << 16 | text.charAt(i + 2));
+			}
+		}
+		return grams;
+	}
+
+	private static String normalize(String text) {
+		return text == null ? "" : text.toLowerCase(Locale.ROOT);
+	}
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.repo.ItemRepository;
+
+/**
+ * Подстрочный поиск по триграммам в памяти для БД без pg_trgm (H2).
+ */
+@Component
+@ConditionalOnExpression("'${shareit.search.engine:like}' == 'trigram' and '${spring.sql.init.platform:all}' != 'postgresql'")
+public class TrigramItemSearchEngine extends IndexedItemSearchEngine {
+	public TrigramItemSearchEngine(ItemRepository itemRepository) {
+		super(itemRepository, TrigramIndex::new);
+	}
+}
@@ -0,0 +1,213 @@
+package ru.practicum.shareit.item.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.annotation.Timed;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.item.dto.ItemDtoMapper;
+import ru.practicum.shareit.item.dto.ItemImportErrorDto;
+import ru.practicum.shareit.item.dto.ItemImportReportDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repo.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchCache;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.metrics.MetricsConfig;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repo.RequestRepository;
+import ru.practicum.shareit.user.dto.UserDtoMapper;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManager;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Импорт вещей из NDJSON: одна строка - один ItemCreateDto.
+ * Строки читаются из потока и сохраняются отдельными транзакциями по chunk-size вещей пакетными insert,
+ * поэтому память не зависит от размера загрузки. Если пакет не сохранился, его вещи сохраняются по одной.
+ * Некорректная строка попадает в отчет с номером и не прерывает импорт; в отчет попадает
+ * не больше max-reported-errors ошибок, остальные только считаются.
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+@Slf4j
+public class ItemImportService {
+	private final UserService userService;
+	private final ItemRepository itemRepository;
+	private final RequestRepository requestRepository;
+	private final ItemSearchEngine itemSearchEngine;
+	private final ItemSearchCache itemSearchCache;
+	private final Validator validator;
+	private final ObjectReader itemReader;
+	private final TransactionTemplate transactionTemplate;
+	private final EntityManager entityManager;
+	private final int chunkSize;
+	private final int maxReportedErrors;
+
+	public ItemImportService(UserService userService, ItemRepository itemRepository, RequestRepository requestRepository,
+							 ItemSearchEngine itemSearchEngine, ItemSearchCache itemSearchCache, Validator validator,
+							 ObjectMapper objectMapper, TransactionTemplate transactionTemplate, EntityManager entityManager,
+							 @Value("${shareit.item-import.chunk-size:500}") int chunkSize,
+							 @Value("${shareit.item-import.max-reported-errors:100}") int maxReportedErrors) {
+		this.userService = userService;
+		this.itemRepository = itemRepository;
+		this.requestRepository = requestRepository;
+		this.itemSearchEngine = itemSearchEngine;
+		this.itemSearchCache = itemSearchCache;
+		this.validator = validator;
+		this.itemReader = objectMapper.readerFor(ItemCreateDto.class);
+		this.transactionTemplate = transactionTemplate;
+		this.entityManager = entityManager;
+		this.chunkSize = chunkSize;
+		this.maxReportedErrors = maxReportedErrors;
+	}
+
+	public ItemImportReportDto importItems(long ownerId, InputStream body) {
+		User owner = UserDtoMapper.ofUserDto(userService.getById(ownerId));
+		ItemImportReportDto report = new ItemImportReportDto();
+		List<ImportLine> chunk = new ArrayList<>(chunkSize);
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+			long lineNumber = 0;
+			String line;
+			while ((line = reader.readLine()) != null) {
+				lineNumber++;
+				if (line.isBlank()) {
+					continue;
+				}
+				ItemCreateDto itemCreateDto = parse(lineNumber, line, report);
+				if (itemCreateDto != null) {
+					chunk.add(new ImportLine(lineNumber, itemCreateDto));
+				}
+				if (chunk.size() == chunkSize) {
+					save(owner, chunk, report);
+					chunk.clear();
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Не удалось прочитать импортируемые вещи", e);
+		}
+		if (!chunk.isEmpty()) {
+			save(owner, chunk, report);
+		}
+		return report;
+	}
+
+	@Nullable
+	private ItemCreateDto parse(long lineNumber, String line, ItemImportReportDto report) {
+		ItemCreateDto itemCreateDto;
+		try {
+			itemCreateDto = itemReader.readValue(line);
+		} catch (JsonProcessingException e) {
+			fail(report, lineNumber, "Некорректный JSON: " + e.getOriginalMessage());
+			return null;
+		}
+		if (itemCreateDto == null) {
+			fail(report, lineNumber, "Ожидался объект вещи");
+			return null;
+		}
+
+		Set<ConstraintViolation<ItemCreateDto>> violations = validator.validate(itemCreateDto);
+		if (!violations.isEmpty()) {
+			fail(report, lineNumber, violations.stream()
+					.map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+					.sorted()
+					.collect(Collectors.joining(", ")));
+			return null;
+		}
+		return itemCreateDto;
+	}
+
+	private void save(User owner, List<ImportLine> chunk, ItemImportReportDto report) {
+		Map<Long, ItemRequest> requests = findRequests(chunk);
+		List<Item> items = chunk.stream()
+				.map(line -> toItem(line.getItemCreateDto(), owner, requests))
+				.collect(Collectors.toList());
+
+		List<Item> saved;
+		try {
+			saved = transactionTemplate.execute(status -> itemRepository.saveAll(items));
+		} catch (DataAccessException | TransactionException e) {
+			log.info("Пакет из {} вещей не сохранен, вещи сохраняются по одной: {}", items.size(),
+					e.getMostSpecificCause().getMessage());
+			saved = saveEach(chunk, items, report);
+		}
+
+		saved.forEach(itemSearchEngine::index);
+		itemSearchCache.onAdded(saved);
+		report.setImported(report.getImported() + saved.size());
+		entityManager.clear();
+	}
+
+	private List<Item> saveEach(List<ImportLine> chunk, List<Item> items, ItemImportReportDto report) {
+		List<Item> saved = new ArrayList<>(items.size());
+		for (int i = 0; i < items.size(); i++) {
+			Item item = items.get(i);
+			item.setId(0);
+			try {
+				saved.add(transactionTemplate.execute(status -> itemRepository.save(item)));
+			} catch (DataAccessException | TransactionException e) {
+				fail(report, chunk.get(i).getLineNumber(), e.getMostSpecificCause().getMessage());
+			}
+		}
+		return saved;
+	}
+
+	private Map<Long, ItemRequest> findRequests(List<ImportLine> chunk) {
+		Set<Long> requestIds = chunk.stream()
+				.map(line -> line.getItemCreateDto().getRequestId())
+				.filter(Objects::nonNull)
+				.collect(Collectors.toSet());
+		if (requestIds.isEmpty()) {
+			return Map.of();
+		}
+		return requestRepository.findAllById(requestIds).stream()
+				.collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+	}
+
+	private static Item toItem(ItemCreateDto itemCreateDto, User owner, Map<Long, ItemRequest> requests) {
+		Item item = ItemDtoMapper.ofItemCreateDto(itemCreateDto);
+		item.setOwner(owner);
+		if (itemCreateDto.getRequestId() != null) {
+			item.setRequest(requests.get(itemCreateDto.getRequestId()));
+		}
+		return item;
+	}
+
+	private void fail(ItemImportReportDto report, long lineNumber, String message) {
+		report.setFailed(report.getFailed() + 1);
+		if (report.getErrors().size() < maxReportedErrors) {
+			report.getErrors().add(new ItemImportErrorDto(lineNumber, message));
+		}
+	}
+
+	@Getter
+	@AllArgsConstructor
+	private static class ImportLine {
+		private final long lineNumber;
+		private final ItemCreateDto itemCreateDto;
+	}
+}
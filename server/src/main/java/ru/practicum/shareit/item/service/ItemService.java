@@ -1,8 +1,10 @@
 package ru.practicum.shareit.item.service;
 
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.AvailabilityGranularity;
 import ru.practicum.shareit.item.dto.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
@@ -17,4 +19,7 @@ public interface ItemService {
 	List<ItemDto> searchBy(long userId, String text, Pageable pageable);
 
 	CommentResponseDto addComment(CommentRequestDto commentRequestDto);
+
+	ItemAvailabilityDto getAvailability(long userId, long itemId, LocalDateTime from, LocalDateTime to,
+										AvailabilityGranularity granularity);
 }
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -8,16 +9,25 @@ import org.springframework.stereotype.Service;
 import ru.practicum.shareit.booking.Status;
 import ru.practicum.shareit.booking.dto.BookingDtoMapper;
 import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.booking.dto.ItemBookingShort;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
 import ru.practicum.shareit.booking.repo.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
+import ru.practicum.shareit.booking.service.BookingSummaryService;
 import ru.practicum.shareit.exception.AccessDeniedException;
+import ru.practicum.shareit.exception.BookingDateException;
 import ru.practicum.shareit.exception.NotAvailableException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.AvailabilityGranularity;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repo.CommentRepository;
 import ru.practicum.shareit.item.repo.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchCache;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.metrics.MetricsConfig;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repo.RequestRepository;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -25,12 +35,13 @@ import ru.practicum.shareit.user.dto.UserDtoMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
 	private final ItemRepository itemRepository;
@@ -38,8 +49,12 @@ public class ItemServiceImpl implements ItemService {
 	private final CommentRepository commentRepository;
 	private final UserService userService;
 	private final RequestRepository requestRepository;
-	private final Sort byStartDateAsc = Sort.by(Sort.Direction.ASC, "StartDate");
-	private final Sort byEndDateDesc = Sort.by(Sort.Direction.DESC, "EndDate");
+	private final BookingIntervalIndex bookingIntervalIndex;
+	private final BookingSummaryService bookingSummaryService;
+	private final ItemSearchEngine itemSearchEngine;
+	private final ItemSearchCache itemSearchCache;
+	private final Duration maxAvailabilityPeriod = Duration.ofDays(366);
+	private final Sort byId = Sort.by(Sort.Direction.ASC, "id");
 
 	@Override
 	public ItemDto add(ItemCreateDto itemCreateDto) {
@@ -47,7 +62,10 @@ public class ItemServiceImpl implements ItemService {
 		Item item = ItemDtoMapper.ofItemCreateDto(itemCreateDto);
 		item.setOwner(owner);
 		setRequest(itemCreateDto, item);
-		return ItemDtoMapper.toItemDto(itemRepository.save(item));
+		Item savedItem = itemRepository.save(item);
+		itemSearchEngine.index(savedItem);
+		itemSearchCache.onChange(null, savedItem);
+		return ItemDtoMapper.toItemDto(savedItem);
 	}
 
 	@Override
@@ -59,25 +77,32 @@ public class ItemServiceImpl implements ItemService {
 			throw new AccessDeniedException("Доступ к редактированию запрещен, " +
 					"только владелец может редактировать вещь.");
 		}
+		Item before = Item.builder()
+				.name(item.getName())
+				.description(item.getDescription())
+				.available(item.getAvailable())
+				.build();
 		Item itemToUpdate = ItemDtoMapper.ofItemWithFullInfoDto(getById(itemUpdateDto.getId(), userId));
 		itemToUpdate.setOwner(user);
 
 		setFieldsToUpdate(itemUpdateDto, itemToUpdate);
 
-		return ItemDtoMapper.toItemDto(itemRepository.save(itemToUpdate));
+		Item savedItem = itemRepository.save(itemToUpdate);
+		itemSearchEngine.index(savedItem);
+		itemSearchCache.onChange(before, savedItem);
+		return ItemDtoMapper.toItemDto(savedItem);
 	}
 
 	@Override
 	public ItemWithFullInfoDto getById(long itemId, long userId) {
 		userService.getById(userId);
 		Item item = getItem(itemId);
-		Booking lastOpt = null;
-		Booking nextOpt = null;
+		ItemWithFullInfoDto itemWithFullInfoDto = ItemDtoMapper.toItemWithFullInfoDto(item);
 		if (isOwner(userId, item)) {
-			lastOpt = bookingRepository.findTop1ByItemOwnerIdAndStartDateBeforeAndStatusIn(userId, LocalDateTime.now(), List.of(Status.APPROVED), byEndDateDesc);
-			nextOpt = bookingRepository.findTop1ByItemOwnerIdAndStartDateAfterAndStatusIn(userId, LocalDateTime.now(), List.of(Status.APPROVED), byStartDateAsc);
+			ItemBookingSummary summary = bookingSummaryService.getSummary(itemId);
+			itemWithFullInfoDto.setLastBooking(BookingDtoMapper.toBookingShortDto(summary.getLastBookingId(), summary.getLastBookerId()));
+			itemWithFullInfoDto.setNextBooking(BookingDtoMapper.toBookingShortDto(summary.getNextBookingId(), summary.getNextBookerId()));
 		}
-		ItemWithFullInfoDto itemWithFullInfoDto = makeItemWithBookingsDto(item, lastOpt, nextOpt);
 		List<CommentShort> comments = commentRepository.findAllByItemId(itemId);
 		itemWithFullInfoDto.setComments(comments);
 		return itemWithFullInfoDto;
@@ -86,33 +111,29 @@ public class ItemServiceImpl implements ItemService {
 	@Override
 	public List<ItemWithFullInfoDto> findByOwnerId(long userId, Pageable pageable) {
 		UserDto owner = userService.getById(userId);
+		PageRequest page = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()).withSort(byId);
+		List<Item> items = itemRepository.findByOwnerId(owner.getId(), page);
+		if (items.isEmpty()) {
+			return Collections.emptyList();
+		}
 
-		Map<Long, Item> itemMap = itemRepository.findByOwnerId(owner.getId())
-				.stream()
-				.collect(Collectors.toMap(Item::getId, Function.identity()));
-
-		Set<Long> itemIds = itemMap.keySet();
-
-		Map<Item, List<Booking>> pastBookings = bookingRepository
-				.findByItemIdAndEndDateBeforeOrderByEndDateDesc(itemIds, LocalDateTime.now())
-				.stream()
-				.collect(Collectors.groupingBy(Booking::getItem));
+		Set<Long> itemIds = items.stream()
+				.map(Item::getId)
+				.collect(Collectors.toSet());
 
-		Map<Item, List<Booking>> nextBookings = bookingRepository
-				.findByItemIdAndStartDateAfterOrderByStartDateAsc(itemIds, LocalDateTime.now())
-				.stream()
-				.collect(Collectors.groupingBy(Booking::getItem));
+		Map<Long, BookingShortDto> lastBookings = new HashMap<>();
+		Map<Long, BookingShortDto> nextBookings = new HashMap<>();
+		for (ItemBookingShort booking : bookingRepository.findLastAndNextApproved(itemIds, LocalDateTime.now())) {
+			Map<Long, BookingShortDto> target = ItemBookingShort.LAST.equals(booking.getKind()) ? lastBookings : nextBookings;
+			target.put(booking.getItemId(), BookingDtoMapper.toBookingShortDto(booking));
+		}
 
-		return itemMap.values()
-				.stream()
+		return items.stream()
 				.map(item -> {
-					if (isOwner(userId, item)) {
-						return makeItemWithBookingsDto(item,
-								pastBookings.get(item) == null ? null : pastBookings.get(item).get(0),
-								nextBookings.get(item) == null ? null : nextBookings.get(item).get(0));
-					} else {
-						return makeItemWithBookingsDto(item, null, null);
-					}
+					ItemWithFullInfoDto itemWithFullInfoDto = ItemDtoMapper.toItemWithFullInfoDto(item);
+					itemWithFullInfoDto.setLastBooking(lastBookings.get(item.getId()));
+					itemWithFullInfoDto.setNextBooking(nextBookings.get(item.getId()));
+					return itemWithFullInfoDto;
 				})
 				.collect(Collectors.toList());
 	}
@@ -124,13 +145,10 @@ public class ItemServiceImpl implements ItemService {
 			return Collections.emptyList();
 		}
 
-		PageRequest page = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
-
-		return itemRepository.findByNameOrDescriptionContainingAndAvailableTrue(text.toLowerCase(), page)
-				.getContent()
+		return itemSearchCache.get(text, pageable.getOffset(), pageable.getPageSize(), () -> itemSearchEngine.search(text, pageable)
 				.stream()
 				.map(ItemDtoMapper::toItemDto)
-				.collect(Collectors.toList());
+				.collect(Collectors.toList()));
 	}
 
 	@Override
@@ -152,24 +170,49 @@ public class ItemServiceImpl implements ItemService {
 		return CommentDtoMapper.toCommentResponseDto(commentRepository.save(comment));
 	}
 
+	@Override
+	public ItemAvailabilityDto getAvailability(long userId, long itemId, LocalDateTime from, LocalDateTime to,
+											   AvailabilityGranularity granularity) {
+		userService.getById(userId);
+		getItem(itemId);
+		LocalDateTime start = granularity.floor(from);
+		LocalDateTime end = granularity.ceil(to);
+		if (!start.isBefore(end) || Duration.between(start, end).compareTo(maxAvailabilityPeriod) > 0) {
+			throw new BookingDateException("Выбран некорректный период, максимальная длина - " + maxAvailabilityPeriod.toDays() + " дней.");
+		}
+
+		BitSet busyHours = bookingIntervalIndex.busyHours(itemId, start, end);
+		int slotHours = granularity.getHours();
+		int slots = (int) (Duration.between(start, end).toHours() / slotHours);
+		List<AvailabilitySlotDto> runs = new ArrayList<>();
+		int runStart = 0;
+		boolean runFree = isFreeSlot(busyHours, 0, slotHours);
+		for (int slot = 1; slot <= slots; slot++) {
+			if (slot == slots || isFreeSlot(busyHours, slot, slotHours) != runFree) {
+				runs.add(ItemDtoMapper.toAvailabilitySlotDto(start.plusHours((long) runStart * slotHours),
+						start.plusHours((long) slot * slotHours), runFree));
+				runStart = slot;
+				runFree = !runFree;
+			}
+		}
+
+		return ItemAvailabilityDto.builder()
+				.itemId(itemId)
+				.granularity(granularity)
+				.slots(runs)
+				.build();
+	}
+
+	private boolean isFreeSlot(BitSet busyHours, int slot, int slotHours) {
+		int nextBusy = busyHours.nextSetBit(slot * slotHours);
+		return nextBusy < 0 || nextBusy >= (slot + 1) * slotHours;
+	}
+
 	private Item getItem(Long id) {
 		Optional<Item> optItem = itemRepository.findById(id);
 		return optItem.orElseThrow(() -> new NotFoundException("Вещь с таким id не найдена: " + id));
 	}
 
-	private ItemWithFullInfoDto makeItemWithBookingsDto(Item item, Booking lastBooking, Booking nextBooking) {
-		ItemWithFullInfoDto itemWithFullInfoDto = ItemDtoMapper.toItemWithFullInfoDto(item);
-		if (lastBooking != null) {
-			BookingShortDto last = BookingDtoMapper.toBookingShortDto(lastBooking);
-			itemWithFullInfoDto.setLastBooking(last);
-		}
-		if (nextBooking != null) {
-			BookingShortDto next = BookingDtoMapper.toBookingShortDto(nextBooking);
-			itemWithFullInfoDto.setNextBooking(next);
-		}
-		return itemWithFullInfoDto;
-	}
-
 	private void setRequest(ItemCreateDto itemCreateDto, Item item) {
 		if (itemCreateDto.getRequestId() != null) {
 			Optional<ItemRequest> optRequest = requestRepository.findById(itemCreateDto.getRequestId());
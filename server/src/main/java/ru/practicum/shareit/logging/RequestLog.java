@@ -0,0 +1,71 @@
+package ru.practicum.shareit.logging;
+
+import org.slf4j.Logger;
+
+/**
+ * Логи обработки HTTP-запросов. Пишутся только для доли запросов, отобранной RequestLogSamplingFilter,
+ * поля передаются парами key={} без toString DTO. Не больше двух аргументов, id передаются как long:
+ * при выключенном уровне или неотобранном запросе вызов не создает ни массива аргументов, ни строк, ни Long.
+ * Вне HTTP-запроса (планировщик, тесты) логи не отсеиваются.
+ */
+public final class RequestLog {
+	private static final ThreadLocal<Boolean> SAMPLED = new ThreadLocal<>();
+
+	private RequestLog() {
+	}
+
+	public static void info(Logger log, String message) {
+		if (isSampled() && log.isInfoEnabled()) {
+			log.info(message);
+		}
+	}
+
+	public static void info(Logger log, String format, Object arg) {
+		if (isSampled() && log.isInfoEnabled()) {
+			log.info(format, arg);
+		}
+	}
+
+	public static void info(Logger log, String format, long arg) {
+		if (isSampled() && log.isInfoEnabled()) {
+			log.info(format, arg);
+		}
+	}
+
+	public static void info(Logger log, String format, Object arg1, Object arg2) {
+		if (isSampled() && log.isInfoEnabled()) {
+			log.info(format, arg1, arg2);
+		}
+	}
+
+	public static void info(Logger log, String format, long arg1, long arg2) {
+		if (isSampled() && log.isInfoEnabled()) {
+			log.info(format, arg1, arg2);
+		}
+	}
+
+	public static void info(Logger log, String format, long arg1, Object arg2) {
+		if (isSampled() && log.isInfoEnabled()) {
+			log.info(format, arg1, arg2);
+		}
+	}
+
+	public static void info(Logger log, String format, Object arg1, long arg2) {
+		if (isSampled() && log.isInfoEnabled()) {
+			log.info(format, arg1, arg2);
+		}
+	}
+
+	static void setSampled(boolean sampled) {
+		SAMPLED.set(sampled);
+	}
+
+	static void clear() {
+		SAMPLED.remove();
+	}
+
+	static boolean isSampled() {
+		Boolean sampled = SAMPLED.get();
+		return sampled == null || sampled;
+	}
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.logging;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Один раз на запрос решает, пишутся ли его логи RequestLog: доля задается shareit.logging.request-sample-rate.
+ */
+@Component
+public class RequestLogSamplingFilter extends OncePerRequestFilter {
+	private final double sampleRate;
+
+	public RequestLogSamplingFilter(@Value("${shareit.logging.request-sample-rate:1.0}") double sampleRate) {
+		this.sampleRate = sampleRate;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		RequestLog.setSampled(sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate);
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			RequestLog.clear();
+		}
+	}
+}
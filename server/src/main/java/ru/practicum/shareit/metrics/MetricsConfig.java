@@ -0,0 +1,39 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.booking.BookingState;
+
+/**
+ * Таймеры методов сервисов, помеченных @Timed(SERVICE_TIMER). Помимо класса и метода таймер получает тег state
+ * со значением BookingState из аргументов, чтобы ветки выборки бронирований были видны по отдельности.
+ * Эндпоинты (http.server.requests) и запросы репозиториев (spring.data.repository.invocations)
+ * измеряет Spring Boot, гистограммы включены в application.properties.
+ */
+@Configuration
+public class MetricsConfig {
+	public static final String SERVICE_TIMER = "shareit.service";
+	static final String NO_STATE = "NONE";
+
+	@Bean
+	public TimedAspect timedAspect(MeterRegistry registry) {
+		return new TimedAspect(registry, MetricsConfig::serviceTags);
+	}
+
+	static Tags serviceTags(ProceedingJoinPoint joinPoint) {
+		Signature signature = joinPoint.getStaticPart().getSignature();
+		String state = NO_STATE;
+		for (Object arg : joinPoint.getArgs()) {
+			if (arg instanceof BookingState) {
+				state = ((BookingState) arg).name();
+				break;
+			}
+		}
+		return Tags.of("class", signature.getDeclaringTypeName(), "method", signature.getName(), "state", state);
+	}
+}
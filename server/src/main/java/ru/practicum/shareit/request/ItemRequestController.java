@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.logging.RequestLog;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
 import ru.practicum.shareit.request.service.RequestService;
@@ -25,17 +26,15 @@ public class ItemRequestController {
 	@ResponseStatus(HttpStatus.CREATED)
 	public ItemRequestResponseDto addRequest(@RequestHeader(X_SHARER_USER_ID) long userId,
 											 @RequestBody ItemRequestCreateDto itemRequestDto) {
-		log.info("Получен запрос на новый item request: {}", itemRequestDto);
 		ItemRequestResponseDto response = requestService.addRequest(itemRequestDto, userId);
-		log.info("Отработан запрос на новый item request: {}", response);
+		RequestLog.info(log, "Отработан запрос на новый запрос вещи: requestId={}, userId={}", response.getId(), userId);
 		return response;
 	}
 
 	@GetMapping
 	public List<ItemRequestResponseDto> getRequests(@RequestHeader(X_SHARER_USER_ID) long ownerId) {
-		log.info("Получен запрос на все запросы пользователя с id: {}", ownerId);
 		List<ItemRequestResponseDto> response = requestService.getRequests(ownerId);
-		log.info("Обработан запрос на все запросы пользователя: {}", response);
+		RequestLog.info(log, "Отработан запрос на все запросы пользователя: userId={}, requests={}", ownerId, response.size());
 		return response;
 	}
 
@@ -43,19 +42,17 @@ public class ItemRequestController {
 	public List<ItemRequestResponseDto> getOtherRequests(@RequestHeader(X_SHARER_USER_ID) long userId,
 														 @RequestParam(required = false, defaultValue = "0") int from,
 														 @RequestParam(required = false, defaultValue = "10") int size) {
-		log.info("Получен запрос на просмотр запросов, созданных другими пользователями");
 		PageRequest page = OffsetPageRequest.createPageRequest(from, size);
 		List<ItemRequestResponseDto> response = requestService.getOtherRequests(userId, page);
-		log.info("Обработан запрос на все item request: {}", response);
+		RequestLog.info(log, "Отработан запрос на запросы других пользователей: userId={}, requests={}", userId, response.size());
 		return response;
 	}
 
 	@GetMapping("/{requestId}")
 	public ItemRequestResponseDto getRequestById(@RequestHeader(X_SHARER_USER_ID) long userId,
 												 @PathVariable Long requestId) {
-		log.info("Получен запрос на item request для запроса с id: {}", requestId);
 		ItemRequestResponseDto response = requestService.getRequestById(userId, requestId);
-		log.info("Отработан запрос на item request для запроса: {}", response);
+		RequestLog.info(log, "Отработан запрос на получение запроса вещи: requestId={}, userId={}", requestId, userId);
 		return response;
 	}
 }
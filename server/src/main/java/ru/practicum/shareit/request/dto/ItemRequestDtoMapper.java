@@ -2,12 +2,12 @@ package ru.practicum.shareit.request.dto;
 
 import ru.practicum.shareit.request.model.ItemRequest;
 
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.stream.Collectors;
 
-public class ItemRequestDtoMapper {
+import static ru.practicum.shareit.util.DateTimeFormats.DATE_TIME_FORMATTER;
 
+public class ItemRequestDtoMapper {
 	public static ItemRequest ofItemRequestCreateDto(ItemRequestCreateDto request) {
 		return ItemRequest.builder()
 				.id(request.getId())
@@ -19,9 +19,7 @@ public class ItemRequestDtoMapper {
 		return ItemRequestResponseDto.builder()
 				.id(request.getId())
 				.description(request.getDescription())
-				.created(request.getCreated() != null ? DateTimeFormatter
-						.ofPattern("yyyy-MM-dd'T'HH:mm:ss")
-						.format(request.getCreated()) : null)
+				.created(request.getCreated() != null ? DATE_TIME_FORMATTER.format(request.getCreated()) : null)
 				.build();
 	}
 
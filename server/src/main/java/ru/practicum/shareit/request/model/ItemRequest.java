@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
 @Table(name = "requests")
 public class ItemRequest {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "requests_seq")
+	@SequenceGenerator(name = "requests_seq", sequenceName = "requests_seq", allocationSize = 50)
 	@Column(name = "request_id")
 	private Long id;
 
@@ -25,7 +26,7 @@ public class ItemRequest {
 
 	private LocalDateTime created;
 
-	@ManyToOne(fetch = FetchType.LAZY)
+	@ManyToOne(fetch = FetchType.LAZY, optional = false)
 	@JoinColumn(name = "requester_id")
 	private User requester;
 }
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -9,6 +10,7 @@ import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoMapper;
 import ru.practicum.shareit.item.repo.ItemRepository;
+import ru.practicum.shareit.metrics.MetricsConfig;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.dto.ItemRequestDtoMapper;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
@@ -25,6 +27,7 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 public class RequestServiceImpl implements RequestService {
 
@@ -74,8 +77,14 @@ public class RequestServiceImpl implements RequestService {
 	}
 
 	private List<ItemRequestResponseDto> setItemsForRequest(List<ItemRequestResponseDto> requests) {
+		if (requests.isEmpty()) {
+			return requests;
+		}
+		List<Long> requestIds = requests.stream()
+				.map(ItemRequestResponseDto::getId)
+				.collect(Collectors.toList());
 		Map<Long, List<ItemDto>> items = itemRepository
-				.findByRequestIdIsNotNull()
+				.findByRequestIdIn(requestIds)
 				.stream()
 				.map(ItemDtoMapper::toItemDto)
 				.collect(Collectors.groupingBy(ItemDto::getRequestId));
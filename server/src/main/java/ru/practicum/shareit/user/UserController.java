@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.logging.RequestLog;
 import ru.practicum.shareit.user.dto.UserCreateDto;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
@@ -24,39 +25,36 @@ public class UserController {
 	@ResponseStatus(HttpStatus.CREATED)
 	public UserDto saveNewUser(@RequestBody UserCreateDto userCreateDto) {
 		UserDto savedUser = userService.save(userCreateDto);
-		log.info("Отработан запрос на добавление пользователя: {}", savedUser);
+		RequestLog.info(log, "Отработан запрос на добавление пользователя: userId={}", savedUser.getId());
 		return savedUser;
 	}
 
 	@GetMapping
 	public List<UserDto> getAllUsers() {
 		List<UserDto> allUsersDto = userService.getAll();
-		log.info("Отработан запрос на получение всех пользователей");
+		RequestLog.info(log, "Отработан запрос на получение всех пользователей: users={}", allUsersDto.size());
 		return allUsersDto;
 	}
 
 	@GetMapping("/{id}")
 	public UserDto getUserById(@PathVariable Long id) {
-		log.info("Получен запрос на получение пользователя с id: {}", id);
 		UserDto userById = userService.getById(id);
-		log.info("Отработан запрос на получение пользователя с id: {}", id);
+		RequestLog.info(log, "Отработан запрос на получение пользователя: userId={}", id);
 		return userById;
 	}
 
 	@PatchMapping("/{id}")
 	public UserDto updateUser(@PathVariable Long id,
 							  @Valid @RequestBody UserUpdateDto userUpdateDto) {
-		log.info("Получен запрос на обновление пользователя: {}, id: {}", userUpdateDto, id);
 		UserDto updatedUser = userService.update(id, userUpdateDto);
-		log.info("Отработан запрос на обновление пользователя: {}, id: {}", updatedUser, id);
+		RequestLog.info(log, "Отработан запрос на обновление пользователя: userId={}", id);
 		return updatedUser;
 	}
 
 	@DeleteMapping("/{id}")
 	@ResponseStatus(HttpStatus.NO_CONTENT)
 	public void deleteUser(@PathVariable Long id) {
-		log.info("Получен запрос на удаление пользователя с id: {}", id);
 		userService.deleteById(id);
-		log.info("Отработан запрос на удаление пользователя с id: {}", id);
+		RequestLog.info(log, "Отработан запрос на удаление пользователя: userId={}", id);
 	}
 }
@@ -1,7 +1,12 @@
 package ru.practicum.shareit.user.repo;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.List;
+
 public interface UserRepository extends JpaRepository<User, Long> {
+	@Query("select u.id from User as u")
+	List<Long> findAllIds();
 }
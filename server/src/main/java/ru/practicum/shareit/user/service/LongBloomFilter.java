@@ -0,0 +1,68 @@
+package ru.practicum.shareit.user.service;
+
+/**
+ * Фильтр Блума для long на битовом массиве long[]. Ложноотрицательных ответов нет,
+ * доля ложноположительных при заполнении до capacity - не больше falsePositiveRate.
+ * Запись синхронизирована, чтение без блокировок: бит устанавливается до записи volatile-счетчика,
+ * который читается первым, поэтому добавленное значение видно всем последующим проверкам.
+ */
+class LongBloomFilter {
+	private final long[] bits;
+	private final long bitCount;
+	private final int hashCount;
+	private final int capacity;
+	private volatile int size;
+
+	LongBloomFilter(int capacity, double falsePositiveRate) {
+		long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+		this.bits = new long[(int) Math.max(1, (optimalBits + Long.SIZE - 1) / Long.SIZE)];
+		this.bitCount = (long) bits.length * Long.SIZE;
+		this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * Math.log(2)));
+		this.capacity = capacity;
+	}
+
+	synchronized void put(long value) {
+		long hash = mix(value);
+		for (int i = 0; i < hashCount; i++) {
+			long bit = index(hash, i);
+			bits[(int) (bit >>> 6)] |= 1L << bit;
+		}
+		size++;
+	}
+
+	boolean mightContain(long value) {
+		if (size == 0) {
+			return false;
+		}
+		long hash = mix(value);
+		for (int i = 0; i < hashCount; i++) {
+			long bit = index(hash, i);
+			if ((bits[(int) (bit >>> 6)] & 1L << bit) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	int size() {
+		return size;
+	}
+
+	int capacity() {
+		return capacity;
+	}
+
+	private long index(long hash, int i) {
+		long combined = (int) hash + (long) i * (int) (hash >>> 32);
+		return Math.floorMod(combined, bitCount);
+	}
+
+	private static long mix(long value) {
+		value ^= value >>> 33;
+		value *= 0xff51afd7ed558ccdL;
+		value ^= value >>> 33;
+		value *= 0xc4ceb9fe1a85ec53L;
+		value ^= value >>> 33;
+		return value;
+	}
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.user.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Пользователи по id перед UserRepository. Отсутствующие пользователи не кэшируются.
+ * Записи сбрасываются при изменении и удалении пользователя на этом узле, на остальных - по истечении ttl.
+ * Метрики - cache.gets, cache.evictions, cache.size с тегом cache=users в /actuator/metrics.
+ */
+@Component
+public class UserCache {
+	private final Cache<Long, UserDto> cache;
+
+	public UserCache(MeterRegistry meterRegistry,
+					 @Value("${shareit.user.cache.max-size:10000}") long maxSize,
+					 @Value("${shareit.user.cache.ttl:PT5M}") Duration ttl) {
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfterWrite(ttl)
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, "users");
+	}
+
+	public UserDto get(long id, Function<Long, UserDto> loader) {
+		return cache.get(id, loader);
+	}
+
+	public void invalidate(long id) {
+		cache.invalidate(id);
+	}
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.user.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.user.repo.UserRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Фильтр Блума по id пользователей перед загрузкой пользователя: ответ "нет в фильтре" не обращается к БД.
+ * Id, сохраненные на этом узле, добавляются сразу после записи, id с других узлов попадают в фильтр
+ * при плановом перестроении раз в rebuild-interval. Фильтр также перестраивается при старте и когда
+ * число добавленных id превышает емкость; id, добавленные во время перестроения, переносятся в новый фильтр.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserIdFilter {
+	private static final int MIN_CAPACITY = 1024;
+	private static final double FALSE_POSITIVE_RATE = 0.01;
+
+	private final UserRepository userRepository;
+	private final Object swapLock = new Object();
+	private volatile LongBloomFilter filter;
+	private List<Long> addedDuringRebuild;
+
+	public boolean isDefinitelyAbsent(long id) {
+		if (id <= 0) {
+			return true;
+		}
+		LongBloomFilter current = filter;
+		return current != null && !current.mightContain(id);
+	}
+
+	public void add(long id) {
+		LongBloomFilter current;
+		synchronized (swapLock) {
+			if (addedDuringRebuild != null) {
+				addedDuringRebuild.add(id);
+			}
+			current = filter;
+			if (current == null) {
+				return;
+			}
+			current.put(id);
+		}
+		if (current.size() > current.capacity()) {
+			rebuild();
+		}
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(fixedDelayString = "${shareit.user.id-filter.rebuild-interval:PT1M}",
+			initialDelayString = "${shareit.user.id-filter.rebuild-interval:PT1M}")
+	public synchronized void rebuild() {
+		synchronized (swapLock) {
+			addedDuringRebuild = new ArrayList<>();
+		}
+		List<Long> ids = userRepository.findAllIds();
+		LongBloomFilter rebuilt = new LongBloomFilter(Math.max(MIN_CAPACITY, ids.size() * 2), FALSE_POSITIVE_RATE);
+		ids.forEach(rebuilt::put);
+		synchronized (swapLock) {
+			addedDuringRebuild.forEach(rebuilt::put);
+			addedDuringRebuild = null;
+			filter = rebuilt;
+		}
+		log.info("Фильтр id пользователей построен, пользователей: {}", ids.size());
+	}
+}
@@ -1,8 +1,15 @@
 package ru.practicum.shareit.user.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.repo.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchCache;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.metrics.MetricsConfig;
 import ru.practicum.shareit.user.dto.UserCreateDto;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserDtoMapper;
@@ -14,15 +21,24 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
 	private final UserRepository userRepository;
+	private final UserCache userCache;
+	private final UserIdFilter userIdFilter;
+	private final BookingIntervalIndex bookingIntervalIndex;
+	private final ItemRepository itemRepository;
+	private final ItemSearchEngine itemSearchEngine;
+	private final ItemSearchCache itemSearchCache;
 
 	@Override
 	public UserDto save(UserCreateDto userCreateDto) {
 		User user = UserDtoMapper.ofUserCreateDto(userCreateDto);
-		return UserDtoMapper.toUserDto(userRepository.save(user));
+		User savedUser = userRepository.save(user);
+		userIdFilter.add(savedUser.getId());
+		return UserDtoMapper.toUserDto(savedUser);
 	}
 
 	@Override
@@ -35,8 +51,11 @@ public class UserServiceImpl implements UserService {
 
 	@Override
 	public UserDto getById(Long id) {
-		return UserDtoMapper.toUserDto(userRepository.findById(id)
-				.orElseThrow(() -> new NotFoundException("Пользователя с таким id не существует: " + id)));
+		if (userIdFilter.isDefinitelyAbsent(id)) {
+			throw new NotFoundException("Пользователя с таким id не существует: " + id);
+		}
+		return userCache.get(id, userId -> UserDtoMapper.toUserDto(userRepository.findById(userId)
+				.orElseThrow(() -> new NotFoundException("Пользователя с таким id не существует: " + userId))));
 	}
 
 	@Override
@@ -55,11 +74,27 @@ public class UserServiceImpl implements UserService {
 			userUpdate.setEmail(currentUserDto.getEmail());
 		}
 
-		return UserDtoMapper.toUserDto(userRepository.save(userUpdate));
+		// сброс и до, и после записи: чтение, начатое до коммита, может вернуть в кэш старую запись
+		userCache.invalidate(id);
+		try {
+			return UserDtoMapper.toUserDto(userRepository.save(userUpdate));
+		} finally {
+			userCache.invalidate(id);
+		}
 	}
 
 	@Override
 	public void deleteById(Long id) {
-		userRepository.deleteById(id);
+		List<Booking> cascadedBookings = bookingIntervalIndex.approvedOfUser(id);
+		List<Long> cascadedItemIds = itemRepository.findIdsByOwnerId(id);
+		userCache.invalidate(id);
+		try {
+			userRepository.deleteById(id);
+		} finally {
+			userCache.invalidate(id);
+		}
+		bookingIntervalIndex.releaseAll(cascadedBookings);
+		cascadedItemIds.forEach(itemSearchEngine::remove);
+		itemSearchCache.onItemsDeleted();
 	}
 }
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.util;
+
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Формат дат в запросах и ответах API, общий для всех мапперов.
+ */
+public class DateTimeFormats {
+	public static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+}
@@ -0,0 +1,20 @@
+create EXTENSION IF NOT EXISTS pg_trgm;
+
+create INDEX IF NOT EXISTS idx_items_name_trgm ON items USING gin (lower(name) gin_trgm_ops);
+
+create INDEX IF NOT EXISTS idx_items_description_trgm ON items USING gin (lower(description) gin_trgm_ops);
+
+DO '
+DECLARE
+    id_column record;
+BEGIN
+    FOR id_column IN
+        SELECT table_name, column_name FROM information_schema.columns
+        WHERE table_schema = current_schema() AND is_identity = ''YES''
+          AND table_name IN (''users'', ''requests'', ''items'', ''bookings'', ''comments'')
+    LOOP
+        EXECUTE format(''ALTER TABLE %I ALTER COLUMN %I DROP IDENTITY'', id_column.table_name, id_column.column_name);
+        EXECUTE format(''SELECT setval(%L, COALESCE(MAX(%I), 0) + 50, false) FROM %I'',
+                id_column.table_name || ''_seq'', id_column.column_name, id_column.table_name);
+    END LOOP;
+END';
@@ -1,11 +1,21 @@
+create SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+
+create SEQUENCE IF NOT EXISTS requests_seq START WITH 1 INCREMENT BY 50;
+
+create SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+
+create SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+
+create SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
+
 create TABLE IF NOT EXISTS users (
-    user_id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY UNIQUE NOT NULL,
+    user_id BIGINT PRIMARY KEY UNIQUE NOT NULL,
     name varchar(100) NOT NULL,
     email varchar(320) NOT NULL UNIQUE
 );
 
 create TABLE IF NOT EXISTS requests (
-    request_id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY NOT NULL,
+    request_id BIGINT PRIMARY KEY NOT NULL,
     description varchar(1000),
     created timestamp WITHOUT TIME ZONE,
     requester_id BIGINT,
@@ -13,7 +23,7 @@ create TABLE IF NOT EXISTS requests (
 );
 
 create TABLE IF NOT EXISTS items (
-    item_id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY NOT NULL,
+    item_id BIGINT PRIMARY KEY NOT NULL,
     name varchar(100) NOT NULL,
     description varchar(1000),
     is_available boolean,
@@ -24,7 +34,7 @@ create TABLE IF NOT EXISTS items (
 );
 
 create TABLE IF NOT EXISTS bookings (
-    booking_id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY NOT NULL,
+    booking_id BIGINT PRIMARY KEY NOT NULL,
     start_date timestamp without time zone,
     end_date timestamp without time zone,
     item_id BIGINT,
@@ -35,7 +45,7 @@ create TABLE IF NOT EXISTS bookings (
 );
 
 create TABLE IF NOT EXISTS comments (
-    comment_id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY NOT NULL,
+    comment_id BIGINT PRIMARY KEY NOT NULL,
     text varchar(1000),
     item_id BIGINT,
     author_id BIGINT,
@@ -43,3 +53,41 @@ create TABLE IF NOT EXISTS comments (
     CONSTRAINT fk_comments_to_items FOREIGN KEY(item_id) REFERENCES items(item_id) ON delete CASCADE,
     CONSTRAINT fk_comments_to_users FOREIGN KEY(author_id) REFERENCES users(user_id) ON delete CASCADE
 );
+
+create TABLE IF NOT EXISTS item_booking_summary (
+    item_id BIGINT PRIMARY KEY NOT NULL,
+    last_booking_id BIGINT,
+    last_booker_id BIGINT,
+    last_end_date timestamp WITHOUT TIME ZONE,
+    next_booking_id BIGINT,
+    next_booker_id BIGINT,
+    next_start_date timestamp WITHOUT TIME ZONE,
+    next_end_date timestamp WITHOUT TIME ZONE,
+    CONSTRAINT fk_summary_to_items FOREIGN KEY(item_id) REFERENCES items(item_id) ON delete CASCADE,
+    CONSTRAINT fk_summary_last_to_bookings FOREIGN KEY(last_booking_id) REFERENCES bookings(booking_id) ON delete CASCADE,
+    CONSTRAINT fk_summary_next_to_bookings FOREIGN KEY(next_booking_id) REFERENCES bookings(booking_id) ON delete CASCADE
+);
+
+create INDEX IF NOT EXISTS idx_requests_requester ON requests(requester_id, created);
+
+create INDEX IF NOT EXISTS idx_items_owner ON items(owner_id, item_id);
+
+create INDEX IF NOT EXISTS idx_items_request ON items(request_id);
+
+create INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings(booker_id, start_date DESC, booking_id DESC);
+
+create INDEX IF NOT EXISTS idx_bookings_booker_status_start ON bookings(booker_id, status, start_date DESC);
+
+create INDEX IF NOT EXISTS idx_bookings_item_start ON bookings(item_id, start_date DESC, booking_id DESC);
+
+create INDEX IF NOT EXISTS idx_bookings_item_status_start ON bookings(item_id, status, start_date);
+
+create INDEX IF NOT EXISTS idx_bookings_item_end ON bookings(item_id, end_date);
+
+create INDEX IF NOT EXISTS idx_comments_item ON comments(item_id);
+
+create INDEX IF NOT EXISTS idx_summary_next_start ON item_booking_summary(next_start_date);
+
+create INDEX IF NOT EXISTS idx_summary_last_booking ON item_booking_summary(last_booking_id);
+
+create INDEX IF NOT EXISTS idx_summary_next_booking ON item_booking_summary(next_booking_id);
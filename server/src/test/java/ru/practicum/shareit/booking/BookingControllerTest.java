@@ -12,23 +12,33 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingSliceDto;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.InvalidCursorException;
+import ru.practicum.shareit.exception.InvalidPageSizeException;
 import ru.practicum.shareit.exception.NotAvailableException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -246,7 +256,7 @@ class BookingControllerTest {
 				.build();
 		List<BookingResponseDto> response = List.of(bookingResponseDto);
 
-		when(bookingService.getAllBookings(userId, state, page)).thenReturn(response);
+		when(bookingService.getAllBookings(userId, state, null, page)).thenReturn(response);
 
 		String result = mockMvc.perform(get("/bookings")
 						.header(X_SHARER_USER_ID, 1L)
@@ -278,7 +288,7 @@ class BookingControllerTest {
 				.build();
 		List<BookingResponseDto> response = List.of(bookingResponseDto);
 
-		when(bookingService.getAllBookings(anyLong(), any(), any())).thenReturn(response);
+		when(bookingService.getAllBookings(anyLong(), any(), isNull(), any())).thenReturn(response);
 
 		String result = mockMvc.perform(get("/bookings")
 						.header(X_SHARER_USER_ID, 1L)
@@ -332,7 +342,7 @@ class BookingControllerTest {
 				.build();
 		List<BookingResponseDto> response = List.of(bookingResponseDto);
 
-		when(bookingService.getAllOwnerBookings(ownerId, state, page)).thenReturn(response);
+		when(bookingService.getAllOwnerBookings(ownerId, state, null, page)).thenReturn(response);
 
 		String result = mockMvc.perform(get("/bookings/owner")
 						.header(X_SHARER_USER_ID, ownerId)
@@ -348,4 +358,143 @@ class BookingControllerTest {
 
 		assertEquals(objectMapper.writeValueAsString(response), result);
 	}
-}
\ No newline at end of file
+
+	@Test
+	void getAllOwnerBookings_whenStateAndStatusGiven_thenPassBothToService() throws Exception {
+		long ownerId = 2L;
+		when(bookingService.getAllOwnerBookings(eq(ownerId), eq(BookingState.FUTURE), eq(Status.WAITING), any()))
+				.thenReturn(List.of());
+
+		mockMvc.perform(get("/bookings/owner")
+						.header(X_SHARER_USER_ID, ownerId)
+						.param("state", BookingState.FUTURE.name())
+						.param("status", Status.WAITING.name()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(0));
+	}
+
+	@Test
+	void getAllBookingsAfter_whenHasNextSlice_thenReturnBookingsWithNextCursorHeader() throws Exception {
+		long userId = 1L;
+		BookingResponseDto bookingResponseDto = BookingResponseDto.builder()
+				.id(1L)
+				.start(formattedDateTimeStart)
+				.end(formattedDateTimeEnd)
+				.status(Status.WAITING)
+				.build();
+		BookingSliceDto slice = BookingSliceDto.builder()
+				.bookings(List.of(bookingResponseDto))
+				.nextCursor("next")
+				.build();
+
+		when(bookingService.getAllBookingsAfter(userId, BookingState.ALL, null, "", 1)).thenReturn(slice);
+
+		mockMvc.perform(get("/bookings")
+						.header(X_SHARER_USER_ID, userId)
+						.param("after", "")
+						.param("size", "1"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(BookingController.X_NEXT_CURSOR, "next"))
+				.andExpect(jsonPath("$.length()").value(1))
+				.andExpect(jsonPath("$[0].id").value(1L));
+	}
+
+	@Test
+	void getAllOwnerBookingsAfter_whenLastSlice_thenReturnBookingsWithoutNextCursorHeader() throws Exception {
+		long ownerId = 2L;
+		BookingSliceDto slice = BookingSliceDto.builder()
+				.bookings(List.of())
+				.build();
+
+		when(bookingService.getAllOwnerBookingsAfter(ownerId, BookingState.PAST, null, "cursor", 10)).thenReturn(slice);
+
+		mockMvc.perform(get("/bookings/owner")
+						.header(X_SHARER_USER_ID, ownerId)
+						.param("state", BookingState.PAST.name())
+						.param("after", "cursor"))
+				.andExpect(status().isOk())
+				.andExpect(header().doesNotExist(BookingController.X_NEXT_CURSOR))
+				.andExpect(jsonPath("$.length()").value(0));
+	}
+
+	@Test
+	void getAllBookingsAfter_whenInvalidCursor_thenReturnStatusBadRequest() throws Exception {
+		when(bookingService.getAllBookingsAfter(1L, BookingState.ALL, null, "broken", 10))
+				.thenThrow(new InvalidCursorException("Некорректный курсор: broken"));
+
+		mockMvc.perform(get("/bookings")
+						.header(X_SHARER_USER_ID, 1L)
+						.param("after", "broken"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void getAllOwnerBookingsAfter_whenSizeNotPositive_thenReturnStatusBadRequest() throws Exception {
+		when(bookingService.getAllOwnerBookingsAfter(1L, BookingState.ALL, null, "cursor", 0))
+				.thenThrow(new InvalidPageSizeException("Размер страницы должен быть больше нуля: 0"));
+
+		mockMvc.perform(get("/bookings/owner")
+						.header(X_SHARER_USER_ID, 1L)
+						.param("after", "cursor")
+						.param("size", "0"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void exportOwnerBookings_whenBookingsFound_thenWriteOneJsonPerLine() throws Exception {
+		doAnswer(invocation -> {
+			Consumer<BookingResponseDto> consumer = invocation.getArgument(3);
+			consumer.accept(BookingResponseDto.builder().id(2L).status(Status.APPROVED).build());
+			consumer.accept(BookingResponseDto.builder().id(1L).status(Status.APPROVED).build());
+			return null;
+		}).when(bookingService).exportOwnerBookings(eq(1L), eq(BookingState.APPROVED), isNull(), any());
+
+		String result = mockMvc.perform(get("/bookings/owner/export")
+						.header(X_SHARER_USER_ID, 1L)
+						.param("state", "APPROVED"))
+				.andExpect(status().isOk())
+				.andExpect(header().string("Content-Type", MediaType.APPLICATION_NDJSON_VALUE))
+				.andReturn()
+				.getResponse()
+				.getContentAsString();
+
+		String[] lines = result.split("\n");
+		assertEquals(2, lines.length);
+		assertEquals(2L, objectMapper.readValue(lines[0], BookingResponseDto.class).getId());
+		assertEquals(1L, objectMapper.readValue(lines[1], BookingResponseDto.class).getId());
+		assertTrue(result.endsWith("\n"));
+	}
+
+	@Test
+	void exportOwnerBookings_whenOwnerNotFound_thenReturnNotFound() throws Exception {
+		doThrow(new NotFoundException("Пользователь не найден."))
+				.when(bookingService).exportOwnerBookings(eq(99L), eq(BookingState.ALL), isNull(), any());
+
+		mockMvc.perform(get("/bookings/owner/export")
+						.header(X_SHARER_USER_ID, 99L))
+				.andExpect(status().isNotFound())
+				.andExpect(jsonPath("$.error", is("Пользователь не найден.")));
+	}
+
+	@Test
+	void exportOwnerBookings_whenStreamFailsAfterFirstLine_thenEndWithErrorLine() throws Exception {
+		doAnswer(invocation -> {
+			Consumer<BookingResponseDto> consumer = invocation.getArgument(3);
+			consumer.accept(BookingResponseDto.builder().id(2L).status(Status.APPROVED).build());
+			throw new IllegalStateException("соединение с БД потеряно");
+		}).when(bookingService).exportOwnerBookings(eq(1L), eq(BookingState.ALL), isNull(), any());
+
+		String result = mockMvc.perform(get("/bookings/owner/export")
+						.header(X_SHARER_USER_ID, 1L))
+				.andExpect(status().isOk())
+				.andExpect(header().string("Content-Type", MediaType.APPLICATION_NDJSON_VALUE))
+				.andReturn()
+				.getResponse()
+				.getContentAsString(StandardCharsets.UTF_8);
+
+		String[] lines = result.split("\n");
+		assertEquals(2, lines.length);
+		assertEquals(2L, objectMapper.readValue(lines[0], BookingResponseDto.class).getId());
+		assertEquals("Выгрузка прервана: соединение с БД потеряно", objectMapper.readTree(lines[1]).get("error").asText());
+	}
+}
@@ -0,0 +1,110 @@
+package ru.practicum.shareit.booking.repo;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.BookingRole;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.BookingDtoMapper;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.RecordingStatementInspector;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+		"ru.practicum.shareit.util.RecordingStatementInspector")
+class BookingListingStatementsTest {
+	private static final int BOOKINGS = 8;
+	private static final int MAX_STATEMENTS = 1;
+
+	@Autowired
+	private BookingRepository bookingRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	private final LocalDateTime now = LocalDateTime.now();
+	private final Pageable page = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "startDate"));
+	private User owner;
+	private User booker;
+
+	@BeforeEach
+	void setUp() {
+		owner = entityManager.persist(User.builder().name("owner").email("owner@mail.ru").build());
+		booker = entityManager.persist(User.builder().name("booker").email("booker@mail.ru").build());
+		for (int i = 0; i < BOOKINGS; i++) {
+			User requester = entityManager.persist(User.builder().name("requester" + i).email("r" + i + "@mail.ru").build());
+			ItemRequest request = entityManager.persist(ItemRequest.builder().description("request" + i)
+					.requester(requester).created(now).build());
+			Item item = entityManager.persist(Item.builder().name("item" + i).description("description")
+					.available(true).owner(owner).request(request).build());
+			User itemBooker = i % 2 == 0 ? booker
+					: entityManager.persist(User.builder().name("booker" + i).email("b" + i + "@mail.ru").build());
+			entityManager.persist(Booking.builder().item(item).booker(itemBooker).status(Status.APPROVED)
+					.startDate(now.minusDays(i + 1)).endDate(now.minusDays(i).minusHours(1)).build());
+		}
+		entityManager.flush();
+		entityManager.clear();
+		RecordingStatementInspector.clear();
+	}
+
+	@Test
+	void bookerListings_whenMappedToDto_thenConstantStatements() {
+		long bookerId = booker.getId();
+		assertListing(() -> bookingRepository.findBookings(BookingRole.BOOKER, bookerId, BookingState.ALL, null, now, page));
+		assertListing(() -> bookingRepository.findBookings(BookingRole.BOOKER, bookerId, BookingState.APPROVED, null, now, page));
+		assertListing(() -> bookingRepository.findBookings(BookingRole.BOOKER, bookerId, BookingState.PAST, null, now, page));
+		assertListing(() -> bookingRepository.findBookingsAfter(BookingRole.BOOKER, bookerId, BookingState.ALL, null, now,
+				null, 10).getContent());
+	}
+
+	@Test
+	void ownerListings_whenMappedToDto_thenConstantStatements() {
+		long ownerId = owner.getId();
+		assertListing(() -> bookingRepository.findBookings(BookingRole.OWNER, ownerId, BookingState.ALL, null, now, page));
+		assertListing(() -> bookingRepository.findBookings(BookingRole.OWNER, ownerId, BookingState.APPROVED, null, now, page));
+		assertListing(() -> bookingRepository.findBookings(BookingRole.OWNER, ownerId, BookingState.PAST, null, now, page));
+		assertListing(() -> bookingRepository.findBookingsAfter(BookingRole.OWNER, ownerId, BookingState.ALL, null, now,
+				null, 10).getContent());
+	}
+
+	@Test
+	void findBookings_whenDifferentUsersAndDates_thenSameStatement() {
+		bookingRepository.findBookings(BookingRole.BOOKER, booker.getId(), BookingState.FUTURE, Status.WAITING, now, page);
+		bookingRepository.findBookings(BookingRole.BOOKER, owner.getId(), BookingState.FUTURE, Status.WAITING,
+				now.minusDays(1), page);
+
+		List<String> statements = RecordingStatementInspector.statements();
+		assertEquals(2, statements.size());
+		assertEquals(statements.get(0), statements.get(1));
+	}
+
+	private void assertListing(Supplier<List<BookingView>> listing) {
+		entityManager.clear();
+		RecordingStatementInspector.clear();
+
+		List<BookingResponseDto> bookings = BookingDtoMapper.toBookingResponseDto(listing.get());
+
+		assertTrue(bookings.size() > 1);
+		assertTrue(bookings.stream().allMatch(booking -> booking.getItem().getRequestId() != null));
+		List<String> statements = RecordingStatementInspector.statements();
+		assertTrue(statements.size() <= MAX_STATEMENTS,
+				"Список бронирований загружается " + statements.size() + " запросами:\n" + String.join("\n", statements));
+	}
+}
@@ -5,11 +5,15 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.booking.BookingRole;
+import ru.practicum.shareit.booking.BookingState;
 import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.dto.ItemBookingShort;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repo.ItemRepository;
@@ -18,8 +22,12 @@ import ru.practicum.shareit.user.repo.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -59,20 +67,20 @@ class BookingRepositoryTest {
 	}
 
 	@Test
-	void findByBookerId_whenFindByValidBookerId_thenReturnBooking() {
+	void findBookings_bookerAll_whenFindByValidBookerId_thenReturnBooking() {
 		Booking booking = Booking.builder()
 				.startDate(LocalDateTime.of(2024, 1, 4, 1, 1, 1))
 				.endDate(LocalDateTime.of(2024, 1, 5, 1, 1, 1))
 				.item(testItem).booker(testBookerUser).status(Status.APPROVED).build();
 		Pageable pageable = PageRequest.of(0, 1);
 		bookingRepository.save(booking);
-		Page<Booking> bookingPage = bookingRepository.findByBookerId(testBookerUser.getId(), pageable);
-		assertEquals(1, bookingPage.getTotalElements());
-		assertEquals(booking, bookingPage.getContent().get(0));
+		List<BookingView> bookings = bookingRepository.findBookings(BookingRole.BOOKER, testBookerUser.getId(), BookingState.ALL, null, LocalDateTime.now(), pageable);
+		assertEquals(1, bookings.size());
+		assertEquals(booking.getId(), bookings.get(0).getId());
 	}
 
 	@Test
-	void findByBookerIdAndStatus_whenFindByValidBookerIdAndStatusWaiting_thenReturnBookingWithStatusWaiting() {
+	void findBookings_bookerStatus_whenFindByValidBookerIdAndStatusWaiting_thenReturnBookingWithStatusWaiting() {
 		Booking bookingApproved = Booking.builder()
 				.startDate(LocalDateTime.of(2024, 1, 4, 1, 1, 1))
 				.endDate(LocalDateTime.of(2024, 1, 5, 1, 1, 1))
@@ -84,14 +92,14 @@ class BookingRepositoryTest {
 		Pageable pageable = PageRequest.of(0, 1);
 		bookingRepository.save(bookingApproved);
 		bookingRepository.save(bookingWaiting);
-		Page<Booking> bookingPage = bookingRepository.findByBookerIdAndStatus(testBookerUser.getId(), Status.WAITING, pageable);
-		assertEquals(1, bookingPage.getTotalElements());
-		assertEquals(bookingWaiting, bookingPage.getContent().get(0));
-		assertNotEquals(bookingApproved, bookingPage.getContent().get(0));
+		List<BookingView> bookings = bookingRepository.findBookings(BookingRole.BOOKER, testBookerUser.getId(), BookingState.WAITING, null, LocalDateTime.now(), pageable);
+		assertEquals(1, bookings.size());
+		assertEquals(bookingWaiting.getId(), bookings.get(0).getId());
+		assertNotEquals(bookingApproved.getId(), bookings.get(0).getId());
 	}
 
 	@Test
-	void findByBookerIdAndEndDateBefore_whenTwoBookingsInDB_thenReturnBookingThatEndsBeforeTestTime() {
+	void findBookings_bookerPast_whenTwoBookingsInDB_thenReturnBookingThatEndsBeforeTestTime() {
 		Booking bookingEndFirst = Booking.builder()
 				.startDate(LocalDateTime.of(2024, 4, 10, 1, 1, 1))
 				.endDate(LocalDateTime.of(2024, 4, 12, 1, 1, 1))
@@ -104,14 +112,14 @@ class BookingRepositoryTest {
 		Pageable pageable = PageRequest.of(0, 1);
 		bookingRepository.save(bookingEndFirst);
 		bookingRepository.save(bookingEndSecond);
-		Page<Booking> bookingPage = bookingRepository.findByBookerIdAndEndDateBefore(testBookerUser.getId(), testTime, pageable);
-		assertEquals(1, bookingPage.getTotalElements());
-		assertEquals(bookingEndFirst, bookingPage.getContent().get(0));
-		assertNotEquals(bookingEndSecond, bookingPage.getContent().get(0));
+		List<BookingView> bookings = bookingRepository.findBookings(BookingRole.BOOKER, testBookerUser.getId(), BookingState.PAST, null, testTime, pageable);
+		assertEquals(1, bookings.size());
+		assertEquals(bookingEndFirst.getId(), bookings.get(0).getId());
+		assertNotEquals(bookingEndSecond.getId(), bookings.get(0).getId());
 	}
 
 	@Test
-	void findByBookerIdAndStartDateAfter_whenTwoBookingsInDB_thenReturnBookingThatStartsAfterTestTime() {
+	void findBookings_bookerFuture_whenTwoBookingsInDB_thenReturnBookingThatStartsAfterTestTime() {
 		Booking bookingStartFirst = Booking.builder()
 				.startDate(LocalDateTime.of(2024, 4, 10, 1, 1, 1))
 				.endDate(LocalDateTime.of(2024, 4, 12, 1, 1, 1))
@@ -124,14 +132,14 @@ class BookingRepositoryTest {
 		Pageable pageable = PageRequest.of(0, 1);
 		bookingRepository.save(bookingStartFirst);
 		bookingRepository.save(bookingStartSecond);
-		Page<Booking> bookingPage = bookingRepository.findByBookerIdAndStartDateAfter(testBookerUser.getId(), testTime, pageable);
-		assertEquals(1, bookingPage.getTotalElements());
-		assertEquals(bookingStartSecond, bookingPage.getContent().get(0));
-		assertNotEquals(bookingStartFirst, bookingPage.getContent().get(0));
+		List<BookingView> bookings = bookingRepository.findBookings(BookingRole.BOOKER, testBookerUser.getId(), BookingState.FUTURE, null, testTime, pageable);
+		assertEquals(1, bookings.size());
+		assertEquals(bookingStartSecond.getId(), bookings.get(0).getId());
+		assertNotEquals(bookingStartFirst.getId(), bookings.get(0).getId());
 	}
 
 	@Test
-	void findByBookerIdAndStartDateBeforeAndEndDateAfter_whenTwoBookingsInDBThatStartBeforeTodayAndEndAfterToday_thenReturnBothBookings() {
+	void findBookings_bookerCurrent_whenTwoBookingsInDBThatStartBeforeTodayAndEndAfterToday_thenReturnBothBookings() {
 		Booking bookingFirst = Booking.builder()
 				.startDate(LocalDateTime.now().minusDays(1))
 				.endDate(LocalDateTime.now().plusDays(1))
@@ -144,27 +152,27 @@ class BookingRepositoryTest {
 		Pageable pageable = PageRequest.of(0, 2);
 		bookingRepository.save(bookingFirst);
 		bookingRepository.save(bookingSecond);
-		Page<Booking> bookingPage = bookingRepository.findByBookerIdAndStartDateBeforeAndEndDateAfter(testBookerUser.getId(), testTime, testTime, pageable);
-		assertEquals(2, bookingPage.getTotalElements());
-		assertEquals(bookingFirst, bookingPage.getContent().get(0));
-		assertEquals(bookingSecond, bookingPage.getContent().get(1));
+		List<BookingView> bookings = bookingRepository.findBookings(BookingRole.BOOKER, testBookerUser.getId(), BookingState.CURRENT, null, testTime, pageable);
+		assertEquals(2, bookings.size());
+		assertEquals(bookingFirst.getId(), bookings.get(0).getId());
+		assertEquals(bookingSecond.getId(), bookings.get(1).getId());
 	}
 
 	@Test
-	void findByItemUserIdAndStatus_whenInvoked_thenReturnBookingWithAskedStatus() {
+	void findBookings_ownerStatus_whenInvoked_thenReturnBookingWithAskedStatus() {
 		Booking booking = Booking.builder()
 				.startDate(LocalDateTime.of(2024, 4, 4, 1, 1, 1))
 				.endDate(LocalDateTime.of(2024, 5, 5, 1, 1, 1))
 				.item(testItem).booker(testOwnerUser).status(Status.APPROVED).build();
 		Pageable pageable = PageRequest.of(0, 1);
 		bookingRepository.save(booking);
-		Page<Booking> bookingPage = bookingRepository.findByItemOwnerIdAndStatus(testOwnerUser.getId(), Status.APPROVED, pageable);
-		assertEquals(1, bookingPage.getTotalElements());
-		assertEquals(booking, bookingPage.getContent().get(0));
+		List<BookingView> bookings = bookingRepository.findBookings(BookingRole.OWNER, testOwnerUser.getId(), BookingState.APPROVED, null, LocalDateTime.now(), pageable);
+		assertEquals(1, bookings.size());
+		assertEquals(booking.getId(), bookings.get(0).getId());
 	}
 
 	@Test
-	void findByItemUserIdAndEndDateBefore_whenInvoked_thenReturnBookingThatAlreadyEnded() {
+	void findBookings_ownerPast_whenInvoked_thenReturnBookingThatAlreadyEnded() {
 		Booking bookingEnded = Booking.builder()
 				.startDate(LocalDateTime.now().minusDays(2))
 				.endDate(LocalDateTime.now().minusDays(1))
@@ -177,13 +185,13 @@ class BookingRepositoryTest {
 		Pageable pageable = PageRequest.of(0, 2);
 		bookingRepository.save(bookingEnded);
 		bookingRepository.save(bookingCurrent);
-		Page<Booking> bookingPage = bookingRepository.findByItemOwnerIdAndEndDateBefore(testOwnerUser.getId(), testTime, pageable);
-		assertEquals(1, bookingPage.getTotalElements());
-		assertEquals(bookingEnded, bookingPage.getContent().get(0));
+		List<BookingView> bookings = bookingRepository.findBookings(BookingRole.OWNER, testOwnerUser.getId(), BookingState.PAST, null, testTime, pageable);
+		assertEquals(1, bookings.size());
+		assertEquals(bookingEnded.getId(), bookings.get(0).getId());
 	}
 
 	@Test
-	void findByItemUserIdAndStartDateAfter_whenInvoked_thenReturnBookingThatWillStartTomorrow() {
+	void findBookings_ownerFuture_whenInvoked_thenReturnBookingThatWillStartTomorrow() {
 		Booking bookingStartTomorrow = Booking.builder()
 				.startDate(LocalDateTime.now().plusDays(1))
 				.endDate(LocalDateTime.now().plusDays(2))
@@ -196,13 +204,13 @@ class BookingRepositoryTest {
 		Pageable pageable = PageRequest.of(0, 2);
 		bookingRepository.save(bookingStartTomorrow);
 		bookingRepository.save(bookingCurrent);
-		Page<Booking> bookingPage = bookingRepository.findByItemOwnerIdAndStartDateAfter(testOwnerUser.getId(), testTime, pageable);
-		assertEquals(1, bookingPage.getTotalElements());
-		assertEquals(bookingStartTomorrow, bookingPage.getContent().get(0));
+		List<BookingView> bookings = bookingRepository.findBookings(BookingRole.OWNER, testOwnerUser.getId(), BookingState.FUTURE, null, testTime, pageable);
+		assertEquals(1, bookings.size());
+		assertEquals(bookingStartTomorrow.getId(), bookings.get(0).getId());
 	}
 
 	@Test
-	void findByItemUserIdAndStartDateBeforeAndEndDateAfter_whenInvoked_thenReturnCurrentBooking() {
+	void findBookings_ownerCurrent_whenInvoked_thenReturnCurrentBooking() {
 		Booking bookingCurrent = Booking.builder()
 				.startDate(LocalDateTime.now().minusDays(1))
 				.endDate(LocalDateTime.now().plusDays(1))
@@ -220,9 +228,31 @@ class BookingRepositoryTest {
 		bookingRepository.save(bookingCurrent);
 		bookingRepository.save(bookingPast);
 		bookingRepository.save(bookingFuture);
-		Page<Booking> bookingPage = bookingRepository.findByItemOwnerIdAndStartDateBeforeAndEndDateAfter(testOwnerUser.getId(), testTime, testTime, pageable);
-		assertEquals(1, bookingPage.getTotalElements());
-		assertEquals(bookingCurrent, bookingPage.getContent().get(0));
+		List<BookingView> bookings = bookingRepository.findBookings(BookingRole.OWNER, testOwnerUser.getId(), BookingState.CURRENT, null, testTime, pageable);
+		assertEquals(1, bookings.size());
+		assertEquals(bookingCurrent.getId(), bookings.get(0).getId());
+	}
+
+	@Test
+	void streamBookings_ownerApproved_whenInvoked_thenReturnAllApprovedNewestFirst() {
+		Booking bookingPast = bookingRepository.save(Booking.builder()
+				.startDate(LocalDateTime.now().minusDays(2))
+				.endDate(LocalDateTime.now().minusDays(1))
+				.item(testItem).booker(testBookerUser).status(Status.APPROVED).build());
+		Booking bookingFuture = bookingRepository.save(Booking.builder()
+				.startDate(LocalDateTime.now().plusDays(1))
+				.endDate(LocalDateTime.now().plusDays(2))
+				.item(testItem).booker(testBookerUser).status(Status.APPROVED).build());
+		bookingRepository.save(Booking.builder()
+				.startDate(LocalDateTime.now().plusDays(3))
+				.endDate(LocalDateTime.now().plusDays(4))
+				.item(testItem).booker(testBookerUser).status(Status.WAITING).build());
+		List<Long> bookingIds;
+		try (Stream<BookingView> bookings = bookingRepository.streamBookings(BookingRole.OWNER, testOwnerUser.getId(),
+				BookingState.APPROVED, null, LocalDateTime.now())) {
+			bookingIds = bookings.map(BookingView::getId).collect(Collectors.toList());
+		}
+		assertEquals(List.of(bookingFuture.getId(), bookingPast.getId()), bookingIds);
 	}
 
 	@Test
@@ -246,9 +276,8 @@ class BookingRepositoryTest {
 		bookingRepository.save(bookingSecond);
 		bookingRepository.save(bookingThird);
 
-		Booking booking =
-				bookingRepository.findTop1ByItemOwnerIdAndStartDateBeforeAndStatusIn(testOwnerUser.getId(),
-						testTime, List.of(Status.APPROVED), Sort.by(Sort.Direction.DESC, "StartDate"));
+		Booking booking = bookingRepository.findFirstByItemIdAndStatusAndStartDateBeforeOrderByEndDateDesc(
+				testItem.getId(), Status.APPROVED, testTime).orElseThrow();
 		assertEquals(bookingThird.getId(), booking.getId());
 	}
 
@@ -273,70 +302,38 @@ class BookingRepositoryTest {
 		bookingRepository.save(bookingSecond);
 		bookingRepository.save(bookingThird);
 
-		Booking booking =
-				bookingRepository.findTop1ByItemOwnerIdAndStartDateAfterAndStatusIn(testOwnerUser.getId(),
-						testTime, List.of(Status.APPROVED), Sort.by(Sort.Direction.ASC, "StartDate"));
+		Booking booking = bookingRepository.findFirstByItemIdAndStatusAndStartDateAfterOrderByStartDateAsc(
+				testItem.getId(), Status.APPROVED, testTime).orElseThrow();
 		assertEquals(bookingFirst.getId(), booking.getId());
 	}
 
 	@Test
-	void findByItemIdAndEndDateBeforeOrderByEndDateDesc_whenInvoked_thenReturnSortedBookings() {
-		Booking bookingFirst = Booking.builder()
-				.startDate(LocalDateTime.now().minusDays(4))
-				.endDate(LocalDateTime.now().minusDays(3))
-				.item(testItem).booker(testOwnerUser).status(Status.APPROVED).build();
-		Booking bookingSecond = Booking.builder()
-				.startDate(LocalDateTime.now().minusDays(3))
-				.endDate(LocalDateTime.now().minusDays(2))
-				.item(testItem).booker(testOwnerUser).status(Status.APPROVED).build();
-		Booking bookingThird = Booking.builder()
-				.startDate(LocalDateTime.now().minusDays(2))
-				.endDate(LocalDateTime.now().minusDays(1))
-				.item(testItem).booker(testOwnerUser).status(Status.APPROVED).build();
-
-		LocalDateTime testTime = LocalDateTime.now();
-
-		bookingRepository.save(bookingFirst);
-		bookingRepository.save(bookingSecond);
-		bookingRepository.save(bookingThird);
+	void findLastAndNextApproved_whenManyBookings_thenReturnOneLastAndOneNextPerItem() {
+		Item otherItem = itemRepository.save(Item.builder().name("other").description("other")
+				.owner(testOwnerUser).available(true).build());
+		LocalDateTime now = LocalDateTime.now();
+		bookingRepository.save(booking(testItem, now.minusDays(4), now.minusDays(3), Status.APPROVED));
+		Booking last = bookingRepository.save(booking(testItem, now.minusDays(2), now.minusDays(1), Status.APPROVED));
+		bookingRepository.save(booking(testItem, now.minusDays(1), now.minusHours(1), Status.REJECTED));
+		Booking next = bookingRepository.save(booking(testItem, now.plusDays(1), now.plusDays(2), Status.APPROVED));
+		bookingRepository.save(booking(testItem, now.plusDays(3), now.plusDays(4), Status.APPROVED));
+		bookingRepository.save(booking(testItem, now.plusHours(1), now.plusHours(2), Status.WAITING));
+		Booking otherNext = bookingRepository.save(booking(otherItem, now.plusDays(5), now.plusDays(6), Status.APPROVED));
+
+		List<ItemBookingShort> bookings = bookingRepository.findLastAndNextApproved(
+				Set.of(testItem.getId(), otherItem.getId()), now);
 
-		List<Booking> bookings =
-				bookingRepository.findByItemIdAndEndDateBeforeOrderByEndDateDesc(Set.of(testItem.getId()),
-						testTime);
 		assertEquals(3, bookings.size());
-		assertEquals(bookingThird, bookings.get(0));
-		assertEquals(bookingSecond, bookings.get(1));
-		assertEquals(bookingFirst, bookings.get(2));
+		Map<String, ItemBookingShort> byKey = bookings.stream()
+				.collect(Collectors.toMap(b -> b.getItemId() + b.getKind(), Function.identity()));
+		assertEquals(last.getId(), byKey.get(testItem.getId() + ItemBookingShort.LAST).getId());
+		assertEquals(testOwnerUser.getId(), byKey.get(testItem.getId() + ItemBookingShort.LAST).getBookerId());
+		assertEquals(next.getId(), byKey.get(testItem.getId() + ItemBookingShort.NEXT).getId());
+		assertEquals(otherNext.getId(), byKey.get(otherItem.getId() + ItemBookingShort.NEXT).getId());
 	}
 
-	@Test
-	void findByItemIdAndStartDateAfterOrderByStartDateAsc_whenInvoked_thenReturnSortedBookings() {
-		Booking bookingFirst = Booking.builder()
-				.startDate(LocalDateTime.now().plusDays(1))
-				.endDate(LocalDateTime.now().plusDays(2))
-				.item(testItem).booker(testOwnerUser).status(Status.APPROVED).build();
-		Booking bookingSecond = Booking.builder()
-				.startDate(LocalDateTime.now().plusDays(2))
-				.endDate(LocalDateTime.now().plusDays(3))
-				.item(testItem).booker(testOwnerUser).status(Status.APPROVED).build();
-		Booking bookingThird = Booking.builder()
-				.startDate(LocalDateTime.now().plusDays(3))
-				.endDate(LocalDateTime.now().plusDays(4))
-				.item(testItem).booker(testOwnerUser).status(Status.APPROVED).build();
-
-		LocalDateTime testTime = LocalDateTime.now();
-
-		bookingRepository.save(bookingFirst);
-		bookingRepository.save(bookingSecond);
-		bookingRepository.save(bookingThird);
-
-		List<Booking> bookings =
-				bookingRepository.findByItemIdAndStartDateAfterOrderByStartDateAsc(Set.of(testItem.getId()),
-						testTime);
-		assertEquals(3, bookings.size());
-		assertEquals(bookingFirst, bookings.get(0));
-		assertEquals(bookingSecond, bookings.get(1));
-		assertEquals(bookingThird, bookings.get(2));
+	private Booking booking(Item item, LocalDateTime start, LocalDateTime end, Status status) {
+		return Booking.builder().startDate(start).endDate(end).item(item).booker(testOwnerUser).status(status).build();
 	}
 
 	@Test
@@ -376,7 +373,7 @@ class BookingRepositoryTest {
 	}
 
 	@Test
-	void findByItemUserId_whenInvoked_thenReturnAllBookingsOfOwner() {
+	void findBookings_ownerAll_whenInvoked_thenReturnAllBookingsOfOwner() {
 		Booking bookingFirst = Booking.builder()
 				.startDate(LocalDateTime.now().plusDays(1))
 				.endDate(LocalDateTime.now().plusDays(2))
@@ -396,12 +393,12 @@ class BookingRepositoryTest {
 		bookingRepository.save(bookingSecond);
 		bookingRepository.save(bookingThird);
 
-		Page<Booking> bookingPage =
-				bookingRepository.findByItemOwnerId(testOwnerUser.getId(), pageable);
-		assertEquals(3, bookingPage.getTotalElements());
-		assertEquals(bookingFirst, bookingPage.getContent().get(0));
-		assertEquals(bookingSecond, bookingPage.getContent().get(1));
-		assertEquals(bookingThird, bookingPage.getContent().get(2));
+		List<BookingView> bookings =
+				bookingRepository.findBookings(BookingRole.OWNER, testOwnerUser.getId(), BookingState.ALL, null, LocalDateTime.now(), pageable);
+		assertEquals(3, bookings.size());
+		assertEquals(bookingThird.getId(), bookings.get(0).getId());
+		assertEquals(bookingSecond.getId(), bookings.get(1).getId());
+		assertEquals(bookingFirst.getId(), bookings.get(2).getId());
 	}
 
 	@AfterEach
@@ -410,4 +407,119 @@ class BookingRepositoryTest {
 		bookingRepository.deleteAll();
 		userRepository.deleteAll();
 	}
-}
\ No newline at end of file
+
+	@Test
+	void findBookings_whenStateFutureAndStatusWaiting_thenReturnOnlyFutureWaiting() {
+		LocalDateTime now = LocalDateTime.of(2024, 5, 1, 1, 1, 1);
+		bookingRepository.save(Booking.builder()
+				.startDate(now.plusDays(1)).endDate(now.plusDays(2))
+				.item(testItem).booker(testBookerUser).status(Status.APPROVED).build());
+		bookingRepository.save(Booking.builder()
+				.startDate(now.minusDays(2)).endDate(now.minusDays(1))
+				.item(testItem).booker(testBookerUser).status(Status.WAITING).build());
+		Booking futureWaiting = bookingRepository.save(Booking.builder()
+				.startDate(now.plusDays(3)).endDate(now.plusDays(4))
+				.item(testItem).booker(testBookerUser).status(Status.WAITING).build());
+
+		List<BookingView> bookings = bookingRepository.findBookings(BookingRole.OWNER, testOwnerUser.getId(),
+				BookingState.FUTURE, Status.WAITING, now, PageRequest.of(0, 10));
+
+		assertEquals(1, bookings.size());
+		assertEquals(futureWaiting.getId(), bookings.get(0).getId());
+	}
+
+	@Test
+	void findBookingsAfter_whenBookerWalkingSlices_thenReturnAllBookingsOnceInStartDateDescOrder() {
+		LocalDateTime sameStart = LocalDateTime.of(2024, 4, 10, 1, 1, 1);
+		Booking first = bookingRepository.save(Booking.builder()
+				.startDate(sameStart).endDate(sameStart.plusDays(1))
+				.item(testItem).booker(testBookerUser).status(Status.APPROVED).build());
+		Booking second = bookingRepository.save(Booking.builder()
+				.startDate(sameStart).endDate(sameStart.plusDays(2))
+				.item(testItem).booker(testBookerUser).status(Status.APPROVED).build());
+		Booking latest = bookingRepository.save(Booking.builder()
+				.startDate(sameStart.plusDays(5)).endDate(sameStart.plusDays(6))
+				.item(testItem).booker(testBookerUser).status(Status.WAITING).build());
+		LocalDateTime now = LocalDateTime.of(2024, 5, 1, 1, 1, 1);
+
+		Slice<BookingView> firstSlice = bookingRepository.findBookingsAfter(BookingRole.BOOKER, testBookerUser.getId(), BookingState.ALL, null, now, null, 2);
+		assertEquals(List.of(latest.getId(), second.getId()), ids(firstSlice));
+		assertTrue(firstSlice.hasNext());
+
+		BookingCursor cursor = BookingCursor.of(firstSlice.getContent().get(1));
+		Slice<BookingView> lastSlice = bookingRepository.findBookingsAfter(BookingRole.BOOKER, testBookerUser.getId(), BookingState.ALL, null, now, cursor, 2);
+		assertEquals(List.of(first.getId()), ids(lastSlice));
+		assertFalse(lastSlice.hasNext());
+	}
+
+	@Test
+	void findBookingsAfter_whenOwnerStateWaiting_thenReturnOnlyWaitingBookings() {
+		bookingRepository.save(Booking.builder()
+				.startDate(LocalDateTime.of(2024, 1, 4, 1, 1, 1))
+				.endDate(LocalDateTime.of(2024, 1, 5, 1, 1, 1))
+				.item(testItem).booker(testBookerUser).status(Status.APPROVED).build());
+		Booking bookingWaiting = bookingRepository.save(Booking.builder()
+				.startDate(LocalDateTime.of(2024, 5, 1, 1, 1))
+				.endDate(LocalDateTime.of(2024, 5, 2, 1, 1, 1))
+				.item(testItem).booker(testBookerUser).status(Status.WAITING).build());
+
+		Slice<BookingView> slice = bookingRepository.findBookingsAfter(BookingRole.OWNER, testOwnerUser.getId(), BookingState.WAITING, null, LocalDateTime.now(), null, 10);
+		assertEquals(List.of(bookingWaiting.getId()), ids(slice));
+		assertFalse(slice.hasNext());
+	}
+
+	@Test
+	void findByItemIdAndStatus_whenApprovedAndWaitingBookings_thenReturnOnlyApproved() {
+		Booking bookingApproved = bookingRepository.save(Booking.builder()
+				.startDate(LocalDateTime.of(2024, 1, 4, 1, 1, 1))
+				.endDate(LocalDateTime.of(2024, 1, 5, 1, 1, 1))
+				.item(testItem).booker(testBookerUser).status(Status.APPROVED).build());
+		bookingRepository.save(Booking.builder()
+				.startDate(LocalDateTime.of(2024, 1, 4, 1, 1, 1))
+				.endDate(LocalDateTime.of(2024, 1, 5, 1, 1, 1))
+				.item(testItem).booker(testBookerUser).status(Status.WAITING).build());
+
+		assertEquals(List.of(bookingApproved), bookingRepository.findByItemIdAndStatus(testItem.getId(), Status.APPROVED));
+	}
+
+	@Test
+	void existsOverlapping_whenApprovedBookingIntersectsInterval_thenReturnTrueExceptForItself() {
+		Booking bookingApproved = bookingRepository.save(Booking.builder()
+				.startDate(LocalDateTime.of(2024, 1, 4, 10, 0))
+				.endDate(LocalDateTime.of(2024, 1, 4, 12, 0))
+				.item(testItem).booker(testBookerUser).status(Status.APPROVED).build());
+
+		assertTrue(bookingRepository.existsOverlapping(testItem.getId(), Status.APPROVED, -1L,
+				LocalDateTime.of(2024, 1, 4, 11, 0), LocalDateTime.of(2024, 1, 4, 13, 0)));
+		assertFalse(bookingRepository.existsOverlapping(testItem.getId(), Status.APPROVED, -1L,
+				LocalDateTime.of(2024, 1, 4, 12, 0), LocalDateTime.of(2024, 1, 4, 13, 0)));
+		assertFalse(bookingRepository.existsOverlapping(testItem.getId(), Status.APPROVED, bookingApproved.getId(),
+				LocalDateTime.of(2024, 1, 4, 10, 0), LocalDateTime.of(2024, 1, 4, 12, 0)));
+	}
+
+	@Test
+	void findForUpdateById_whenItemExists_thenReturnItem() {
+		assertEquals(Optional.of(testItem), itemRepository.findForUpdateById(testItem.getId()));
+	}
+
+	@Test
+	void findByBookerOrItemOwnerAndStatus_whenInvoked_thenReturnApprovedOfBookerAndOnOwnersItems() {
+		Booking bookingApproved = bookingRepository.save(Booking.builder()
+				.startDate(LocalDateTime.of(2024, 1, 4, 1, 1, 1))
+				.endDate(LocalDateTime.of(2024, 1, 5, 1, 1, 1))
+				.item(testItem).booker(testBookerUser).status(Status.APPROVED).build());
+		bookingRepository.save(Booking.builder()
+				.startDate(LocalDateTime.of(2024, 1, 6, 1, 1, 1))
+				.endDate(LocalDateTime.of(2024, 1, 7, 1, 1, 1))
+				.item(testItem).booker(testBookerUser).status(Status.WAITING).build());
+
+		assertEquals(List.of(bookingApproved),
+				bookingRepository.findByBookerOrItemOwnerAndStatus(testBookerUser.getId(), Status.APPROVED));
+		assertEquals(List.of(bookingApproved),
+				bookingRepository.findByBookerOrItemOwnerAndStatus(testOwnerUser.getId(), Status.APPROVED));
+	}
+
+	private static List<Long> ids(Slice<BookingView> slice) {
+		return slice.getContent().stream().map(BookingView::getId).collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,129 @@
+package ru.practicum.shareit.booking.repo;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.BookingRole;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.item.repo.CommentRepository;
+import ru.practicum.shareit.item.repo.ItemRepository;
+import ru.practicum.shareit.request.repo.RequestRepository;
+import ru.practicum.shareit.util.RecordingStatementInspector;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+		"ru.practicum.shareit.util.RecordingStatementInspector")
+class QueryPlanTest {
+	private static final String FULL_SCAN = ".tableScan";
+
+	@Autowired
+	private BookingRepository bookingRepository;
+
+	@Autowired
+	private ItemRepository itemRepository;
+
+	@Autowired
+	private CommentRepository commentRepository;
+
+	@Autowired
+	private RequestRepository requestRepository;
+
+	@Autowired
+	private DataSource dataSource;
+
+	private final LocalDateTime now = LocalDateTime.now();
+	private final Pageable page = PageRequest.of(1, 10, Sort.by(Sort.Direction.DESC, "startDate"));
+
+	@BeforeEach
+	void setUp() {
+		RecordingStatementInspector.clear();
+	}
+
+	@Test
+	void bookerQueries_whenExplained_thenNoFullScans() throws SQLException {
+		for (BookingState state : BookingState.values()) {
+			bookingRepository.findBookings(BookingRole.BOOKER, 1L, state, null, now, page);
+		}
+		bookingRepository.findBookings(BookingRole.BOOKER, 1L, BookingState.FUTURE, Status.WAITING, now, page);
+		bookingRepository.findBookingsAfter(BookingRole.BOOKER, 1L, BookingState.ALL, null, now, new BookingCursor(now, 1L), 10);
+
+		assertNoFullScans();
+	}
+
+	@Test
+	void ownerQueries_whenExplained_thenNoFullScans() throws SQLException {
+		for (BookingState state : BookingState.values()) {
+			bookingRepository.findBookings(BookingRole.OWNER, 1L, state, null, now, page);
+		}
+		bookingRepository.findBookings(BookingRole.OWNER, 1L, BookingState.FUTURE, Status.WAITING, now, page);
+		bookingRepository.findBookingsAfter(BookingRole.OWNER, 1L, BookingState.WAITING, null, now, new BookingCursor(now, 1L), 10);
+
+		assertNoFullScans();
+	}
+
+	@Test
+	void itemQueries_whenExplained_thenNoFullScans() throws SQLException {
+		bookingRepository.findLastAndNextApproved(Set.of(1L, 2L), now);
+		bookingRepository.findFirstByItemIdAndStatusAndStartDateBeforeOrderByEndDateDesc(1L, Status.APPROVED, now);
+		bookingRepository.findFirstByItemIdAndStatusAndStartDateAfterOrderByStartDateAsc(1L, Status.APPROVED, now);
+		bookingRepository.findTop1ByItemIdAndBookerIdAndStatusAndEndDateBefore(1L, 1L, Status.APPROVED, now);
+		bookingRepository.findByItemIdAndStatus(1L, Status.APPROVED);
+		itemRepository.findByOwnerId(1L, PageRequest.of(0, 10, Sort.by("id")));
+		itemRepository.findByRequestId(1L);
+		itemRepository.findByRequestIdIn(List.of(1L, 2L));
+		commentRepository.findAllByItemId(1L);
+		requestRepository.findByRequesterId(1L, Sort.by(Sort.Direction.DESC, "created"));
+
+		assertNoFullScans();
+	}
+
+	private void assertNoFullScans() throws SQLException {
+		List<String> statements = RecordingStatementInspector.statements();
+		assertFalse(statements.isEmpty());
+
+		List<String> fullScans = new ArrayList<>();
+		try (Connection connection = dataSource.getConnection()) {
+			for (String sql : statements) {
+				String plan = explain(connection, sql);
+				if (plan.contains(FULL_SCAN)) {
+					fullScans.add(plan);
+				}
+			}
+		}
+		assertTrue(fullScans.isEmpty(), "Запросы выполняются полным сканированием таблицы:\n" + String.join("\n\n", fullScans));
+	}
+
+	private String explain(Connection connection, String sql) throws SQLException {
+		try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+			int parameters = statement.getParameterMetaData().getParameterCount();
+			for (int i = 1; i <= parameters; i++) {
+				statement.setObject(i, null);
+			}
+			try (ResultSet plan = statement.executeQuery()) {
+				StringBuilder result = new StringBuilder();
+				while (plan.next()) {
+					result.append(plan.getString(1));
+				}
+				return result.toString();
+			}
+		}
+	}
+}
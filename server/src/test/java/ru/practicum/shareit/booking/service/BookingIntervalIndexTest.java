@@ -0,0 +1,181 @@
+package ru.practicum.shareit.booking.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repo.BookingRepository;
+import ru.practicum.shareit.exception.NotAvailableException;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingIntervalIndexTest {
+	private static final long ITEM_ID = 1L;
+	private static final LocalDateTime DAY = LocalDateTime.of(2024, 4, 10, 0, 0);
+
+	@Mock
+	private BookingRepository bookingRepository;
+
+	private BookingIntervalIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new BookingIntervalIndex(bookingRepository, new SimpleMeterRegistry(), 10_000, Duration.ofMinutes(5));
+	}
+
+	@Test
+	void isFree_whenSlotOverlapsApprovedBooking_thenReturnFalse() {
+		when(bookingRepository.findByItemIdAndStatus(ITEM_ID, Status.APPROVED))
+				.thenReturn(List.of(approved(DAY.plusHours(10), DAY.plusHours(12))));
+
+		assertFalse(index.isFree(ITEM_ID, DAY.plusHours(11), DAY.plusHours(13)));
+		assertFalse(index.isFree(ITEM_ID, DAY.plusHours(9), DAY.plusHours(15)));
+		assertTrue(index.isFree(ITEM_ID, DAY.plusHours(8), DAY.plusHours(10)));
+		assertTrue(index.isFree(ITEM_ID, DAY.plusHours(12), DAY.plusHours(14)));
+	}
+
+	@Test
+	void isFree_whenCalledRepeatedly_thenLoadItemOnlyOnce() {
+		when(bookingRepository.findByItemIdAndStatus(ITEM_ID, Status.APPROVED)).thenReturn(List.of());
+
+		index.isFree(ITEM_ID, DAY, DAY.plusHours(1));
+		index.reserve(ITEM_ID, DAY, DAY.plusHours(1));
+		index.isFree(ITEM_ID, DAY, DAY.plusHours(1));
+
+		verify(bookingRepository, times(1)).findByItemIdAndStatus(ITEM_ID, Status.APPROVED);
+	}
+
+	@Test
+	void reserve_whenSlotTaken_thenThrowNotAvailableException() {
+		when(bookingRepository.findByItemIdAndStatus(ITEM_ID, Status.APPROVED)).thenReturn(List.of());
+
+		index.reserve(ITEM_ID, DAY.plusHours(10), DAY.plusHours(12));
+
+		assertThrows(NotAvailableException.class, () -> index.reserve(ITEM_ID, DAY.plusHours(11), DAY.plusHours(14)));
+		assertThrows(NotAvailableException.class, () -> index.checkFree(ITEM_ID, DAY.plusHours(9), DAY.plusHours(11)));
+	}
+
+	@Test
+	void release_whenReservedIntervalReleased_thenSlotIsFreeAgain() {
+		when(bookingRepository.findByItemIdAndStatus(ITEM_ID, Status.APPROVED)).thenReturn(List.of());
+
+		index.reserve(ITEM_ID, DAY.plusHours(10), DAY.plusHours(12));
+		index.release(ITEM_ID, DAY.plusHours(10), DAY.plusHours(12));
+
+		assertTrue(index.isFree(ITEM_ID, DAY.plusHours(10), DAY.plusHours(12)));
+	}
+
+	@Test
+	void release_whenIntervalMergedOnLoad_thenReloadItemFromDatabase() {
+		when(bookingRepository.findByItemIdAndStatus(ITEM_ID, Status.APPROVED))
+				.thenReturn(List.of(approved(DAY.plusHours(10), DAY.plusHours(12)),
+						approved(DAY.plusHours(11), DAY.plusHours(13))))
+				.thenReturn(List.of(approved(DAY.plusHours(11), DAY.plusHours(13))));
+		assertFalse(index.isFree(ITEM_ID, DAY.plusHours(10), DAY.plusHours(11)));
+
+		index.release(ITEM_ID, DAY.plusHours(10), DAY.plusHours(12));
+
+		assertTrue(index.isFree(ITEM_ID, DAY.plusHours(10), DAY.plusHours(11)));
+		assertFalse(index.isFree(ITEM_ID, DAY.plusHours(12), DAY.plusHours(13)));
+		verify(bookingRepository, times(2)).findByItemIdAndStatus(ITEM_ID, Status.APPROVED);
+	}
+
+	@Test
+	void releaseAll_whenBookerDeleted_thenTheirSlotsAreFreeAgain() {
+		Booking deleted = approved(DAY.plusHours(10), DAY.plusHours(12));
+		Booking kept = approved(DAY.plusHours(14), DAY.plusHours(15));
+		when(bookingRepository.findByItemIdAndStatus(ITEM_ID, Status.APPROVED)).thenReturn(List.of(deleted, kept));
+		assertFalse(index.isFree(ITEM_ID, DAY.plusHours(10), DAY.plusHours(12)));
+		when(bookingRepository.findByBookerOrItemOwnerAndStatus(7L, Status.APPROVED)).thenReturn(List.of(deleted));
+
+		index.releaseAll(index.approvedOfUser(7L));
+
+		assertTrue(index.isFree(ITEM_ID, DAY.plusHours(10), DAY.plusHours(12)));
+		assertFalse(index.isFree(ITEM_ID, DAY.plusHours(14), DAY.plusHours(15)));
+	}
+
+	@Test
+	void nextFreeWindow_whenAdjacentBookings_thenSkipToFirstGapLongEnough() {
+		when(bookingRepository.findByItemIdAndStatus(ITEM_ID, Status.APPROVED)).thenReturn(List.of(
+				approved(DAY.plusHours(10), DAY.plusHours(12)),
+				approved(DAY.plusHours(12), DAY.plusHours(13)),
+				approved(DAY.plusHours(14), DAY.plusHours(16))));
+
+		assertEquals(DAY.plusHours(13), index.nextFreeWindow(ITEM_ID, DAY.plusHours(11), Duration.ofHours(1)));
+		assertEquals(DAY.plusHours(16), index.nextFreeWindow(ITEM_ID, DAY.plusHours(11), Duration.ofHours(2)));
+		assertEquals(DAY.plusHours(8), index.nextFreeWindow(ITEM_ID, DAY.plusHours(8), Duration.ofHours(2)));
+	}
+
+	@Test
+	void isFree_whenStoredBookingsOverlap_thenMergeThemOnLoad() {
+		when(bookingRepository.findByItemIdAndStatus(ITEM_ID, Status.APPROVED)).thenReturn(List.of(
+				approved(DAY.plusHours(10), DAY.plusHours(12)),
+				approved(DAY.plusHours(11), DAY.plusHours(15))));
+
+		assertFalse(index.isFree(ITEM_ID, DAY.plusHours(14), DAY.plusHours(16)));
+		assertEquals(DAY.plusHours(15), index.nextFreeWindow(ITEM_ID, DAY.plusHours(10), Duration.ofHours(1)));
+	}
+
+	private static Booking approved(LocalDateTime start, LocalDateTime end) {
+		return Booking.builder().startDate(start).endDate(end).status(Status.APPROVED)
+				.item(Item.builder().id(ITEM_ID).build()).build();
+	}
+
+	@Test
+	void busyHours_whenBookingCoversPartOfHour_thenWholeHourIsBusy() {
+		when(bookingRepository.findByItemIdAndStatus(ITEM_ID, Status.APPROVED))
+				.thenReturn(List.of(approved(DAY.plusHours(10).plusMinutes(30), DAY.plusHours(12).plusMinutes(15))));
+
+		BitSet busy = index.busyHours(ITEM_ID, DAY.plusHours(8), DAY.plusHours(16));
+
+		assertEquals(bits(2, 3, 4), busy);
+		assertEquals(bits(0), index.busyHours(ITEM_ID, DAY.plusHours(12), DAY.plusHours(13)));
+		assertTrue(index.busyHours(ITEM_ID, DAY.minusDays(1), DAY).isEmpty());
+	}
+
+	@Test
+	void busyHours_whenBookingsAreYearsApart_thenEachWindowSeesOnlyItsBookings() {
+		LocalDateTime farFuture = LocalDateTime.of(9999, 12, 30, 0, 0);
+		when(bookingRepository.findByItemIdAndStatus(ITEM_ID, Status.APPROVED))
+				.thenReturn(List.of(approved(farFuture, farFuture.plusHours(2))));
+
+		index.reserve(ITEM_ID, DAY.plusHours(1), DAY.plusHours(2));
+
+		assertEquals(bits(1), index.busyHours(ITEM_ID, DAY, DAY.plusHours(3)));
+		assertEquals(bits(0, 1), index.busyHours(ITEM_ID, farFuture, farFuture.plusDays(1)));
+		assertTrue(index.busyHours(ITEM_ID, DAY.plusDays(1), DAY.plusDays(2)).isEmpty());
+	}
+
+	@Test
+	void busyHours_whenReleasedIntervalSharesHourWithAnother_thenSharedHourStaysBusy() {
+		when(bookingRepository.findByItemIdAndStatus(ITEM_ID, Status.APPROVED)).thenReturn(List.of());
+
+		index.reserve(ITEM_ID, DAY.plusHours(10), DAY.plusHours(10).plusMinutes(30));
+		index.reserve(ITEM_ID, DAY.plusHours(10).plusMinutes(30), DAY.plusHours(12));
+		index.release(ITEM_ID, DAY.plusHours(10).plusMinutes(30), DAY.plusHours(12));
+
+		assertEquals(bits(0), index.busyHours(ITEM_ID, DAY.plusHours(10), DAY.plusHours(12)));
+	}
+
+	private static BitSet bits(int... indexes) {
+		BitSet bits = new BitSet();
+		for (int i : indexes) {
+			bits.set(i);
+		}
+		return bits;
+	}
+}
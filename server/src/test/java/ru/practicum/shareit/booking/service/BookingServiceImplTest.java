@@ -4,18 +4,26 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.BookingRole;
 import ru.practicum.shareit.booking.BookingState;
 import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDtoMapper;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingSliceDto;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repo.BookingRepository;
 import ru.practicum.shareit.exception.BookingDateException;
+import ru.practicum.shareit.exception.InvalidCursorException;
+import ru.practicum.shareit.exception.InvalidPageSizeException;
 import ru.practicum.shareit.exception.NotAvailableException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -29,10 +37,13 @@ import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -52,6 +63,15 @@ class BookingServiceImplTest {
 	@Mock
 	private UserService userService;
 
+	@Mock
+	private BookingIntervalIndex bookingIntervalIndex;
+
+	@Mock
+	private BookingSummaryService bookingSummaryService;
+
+	@Spy
+	private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
 	@Captor
 	private ArgumentCaptor<Item> argumentCaptor;
 
@@ -83,6 +103,26 @@ class BookingServiceImplTest {
 		assertEquals(formattedDateTimeEnd, actualBooking.getEnd());
 	}
 
+	@Test
+	void add_whenSlotTakenByApprovedBooking_thenThrowNotAvailableException() {
+		User owner = User.builder().id(1L).email("owner@mail.ru").name("owner").build();
+		User booker = User.builder().id(2L).email("booker@mail.ru").name("booker").build();
+		Item item = Item.builder().id(1L).name("item").description("description").available(true).owner(owner).build();
+		LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+		LocalDateTime end = LocalDateTime.of(2030, 1, 2, 10, 0);
+		BookingRequestDto bookingToSave = BookingRequestDto.builder()
+				.start("2030-01-01T10:00:00")
+				.end("2030-01-02T10:00:00")
+				.itemId(item.getId())
+				.build();
+		when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+		doThrow(new NotAvailableException("Вещь уже забронирована на это время."))
+				.when(bookingIntervalIndex).checkFree(item.getId(), start, end);
+
+		assertThrows(NotAvailableException.class, () -> bookingService.add(booker.getId(), bookingToSave));
+		verify(bookingRepository, never()).save(any());
+	}
+
 	@Test
 	void add_whenBookerIdEqualsItemOwnerId_thenReturnNotFoundException() {
 		User owner = User.builder().id(1L).email("owner@mail.ru").name("owner").build();
@@ -164,6 +204,79 @@ class BookingServiceImplTest {
 		BookingResponseDto actualBooking = bookingService.approve(owner.getId(), bookingEntity.getId(), true);
 
 		assertEquals(Status.APPROVED, actualBooking.getStatus());
+		verify(bookingSummaryService).onApproved(bookingEntity);
+	}
+
+	@Test
+	void approve_whenApprovedBookingOverlaps_thenThrowNotAvailableExceptionAndDoNotSave() {
+		User owner = User.builder().id(1L).email("owner@mail.ru").name("owner").build();
+		User booker = User.builder().id(2L).email("booker@mail.ru").name("booker").build();
+		Item item = Item.builder().id(1L).name("item").description("description").available(true).owner(owner).build();
+		ItemWithFullInfoDto itemWithFullInfoDto = ItemWithFullInfoDto.builder()
+				.id(1L).name("item").description("description")
+				.available(true).lastBooking(null).nextBooking(null).comments(null).requestId(null).build();
+		Booking bookingEntity = Booking.builder().id(1L)
+				.startDate(LocalDateTime.of(2024, 4, 23, 10, 10, 10))
+				.endDate(LocalDateTime.of(2024, 5, 23, 10, 10, 10))
+				.item(item).booker(booker).status(Status.WAITING).build();
+
+		when(userService.getById(owner.getId())).thenReturn(UserDtoMapper.toUserDto(owner));
+		when(bookingRepository.findById(bookingEntity.getId())).thenReturn(Optional.of(bookingEntity));
+		when(itemService.getById(item.getId(), owner.getId())).thenReturn(itemWithFullInfoDto);
+		doThrow(new NotAvailableException("Вещь уже забронирована на это время."))
+				.when(bookingIntervalIndex).reserve(item.getId(), bookingEntity.getStartDate(), bookingEntity.getEndDate());
+
+		assertThrows(NotAvailableException.class, () -> bookingService.approve(owner.getId(), bookingEntity.getId(), true));
+		verify(bookingRepository, never()).save(any());
+		verify(itemService, never()).update(any());
+	}
+
+	@Test
+	void approve_whenDatabaseHasOverlappingApprovedBooking_thenEvictItemAndReleaseInterval() {
+		User owner = User.builder().id(1L).email("owner@mail.ru").name("owner").build();
+		User booker = User.builder().id(2L).email("booker@mail.ru").name("booker").build();
+		Item item = Item.builder().id(1L).name("item").description("description").available(true).owner(owner).build();
+		ItemWithFullInfoDto itemWithFullInfoDto = ItemWithFullInfoDto.builder()
+				.id(1L).name("item").description("description")
+				.available(true).lastBooking(null).nextBooking(null).comments(null).requestId(null).build();
+		Booking bookingEntity = Booking.builder().id(1L)
+				.startDate(LocalDateTime.of(2024, 4, 23, 10, 10, 10))
+				.endDate(LocalDateTime.of(2024, 5, 23, 10, 10, 10))
+				.item(item).booker(booker).status(Status.WAITING).build();
+
+		when(userService.getById(owner.getId())).thenReturn(UserDtoMapper.toUserDto(owner));
+		when(bookingRepository.findById(bookingEntity.getId())).thenReturn(Optional.of(bookingEntity));
+		when(itemService.getById(item.getId(), owner.getId())).thenReturn(itemWithFullInfoDto);
+		when(bookingRepository.existsOverlapping(item.getId(), Status.APPROVED, bookingEntity.getId(),
+				bookingEntity.getStartDate(), bookingEntity.getEndDate())).thenReturn(true);
+
+		assertThrows(NotAvailableException.class, () -> bookingService.approve(owner.getId(), bookingEntity.getId(), true));
+		verify(itemRepository).findForUpdateById(item.getId());
+		verify(bookingRepository, never()).save(any());
+		verify(bookingIntervalIndex).evict(item.getId());
+		verify(bookingIntervalIndex).release(item.getId(), bookingEntity.getStartDate(), bookingEntity.getEndDate());
+	}
+
+	@Test
+	void approve_whenSaveFails_thenReleaseReservedInterval() {
+		User owner = User.builder().id(1L).email("owner@mail.ru").name("owner").build();
+		User booker = User.builder().id(2L).email("booker@mail.ru").name("booker").build();
+		Item item = Item.builder().id(1L).name("item").description("description").available(true).owner(owner).build();
+		ItemWithFullInfoDto itemWithFullInfoDto = ItemWithFullInfoDto.builder()
+				.id(1L).name("item").description("description")
+				.available(true).lastBooking(null).nextBooking(null).comments(null).requestId(null).build();
+		Booking bookingEntity = Booking.builder().id(1L)
+				.startDate(LocalDateTime.of(2024, 4, 23, 10, 10, 10))
+				.endDate(LocalDateTime.of(2024, 5, 23, 10, 10, 10))
+				.item(item).booker(booker).status(Status.WAITING).build();
+
+		when(userService.getById(owner.getId())).thenReturn(UserDtoMapper.toUserDto(owner));
+		when(bookingRepository.findById(bookingEntity.getId())).thenReturn(Optional.of(bookingEntity));
+		when(itemService.getById(item.getId(), owner.getId())).thenReturn(itemWithFullInfoDto);
+		when(bookingRepository.save(bookingEntity)).thenThrow(new IllegalStateException());
+
+		assertThrows(IllegalStateException.class, () -> bookingService.approve(owner.getId(), bookingEntity.getId(), true));
+		verify(bookingIntervalIndex).release(item.getId(), bookingEntity.getStartDate(), bookingEntity.getEndDate());
 	}
 
 	@Test
@@ -279,13 +392,11 @@ class BookingServiceImplTest {
 				.item(item).booker(owner).status(Status.APPROVED).build();
 		Pageable page = PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "StartDate"));
 
-		when(bookingRepository.findByBookerId(booker.getId(), page))
-				.thenReturn(new PageImpl<>(List.of(
-						bookingThird,
-						bookingSecond,
-						bookingFirst), page, 3));
+		when(bookingRepository.findBookings(eq(BookingRole.BOOKER), eq(booker.getId()), eq(BookingState.ALL), isNull(),
+				any(LocalDateTime.class), eq(page)))
+				.thenReturn(views(bookingThird, bookingSecond, bookingFirst));
 
-		List<BookingResponseDto> actualList = bookingService.getAllBookings(booker.getId(), BookingState.ALL, page);
+		List<BookingResponseDto> actualList = bookingService.getAllBookings(booker.getId(), BookingState.ALL, null, page);
 
 		assertEquals(3, actualList.get(0).getId());
 		assertEquals(2, actualList.get(1).getId());
@@ -304,13 +415,11 @@ class BookingServiceImplTest {
 				.item(item).booker(owner).status(Status.APPROVED).build();
 		Pageable page = PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "StartDate"));
 
-		when(bookingRepository.findByBookerIdAndEndDateBefore(
-				eq(booker.getId()),
-				ArgumentMatchers.any(LocalDateTime.class),
-				eq(page)))
-				.thenReturn(new PageImpl<>(List.of(bookingFirst), page, 1));
+		when(bookingRepository.findBookings(eq(BookingRole.BOOKER), eq(booker.getId()), eq(BookingState.PAST), isNull(),
+				any(LocalDateTime.class), eq(page)))
+				.thenReturn(views(bookingFirst));
 
-		List<BookingResponseDto> actualList = bookingService.getAllBookings(booker.getId(), BookingState.PAST, page);
+		List<BookingResponseDto> actualList = bookingService.getAllBookings(booker.getId(), BookingState.PAST, null, page);
 		assertEquals(1, actualList.get(0).getId());
 	}
 
@@ -327,14 +436,11 @@ class BookingServiceImplTest {
 				.item(item).booker(owner).status(Status.APPROVED).build();
 		Pageable page = PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "StartDate"));
 
-		when(bookingRepository.findByBookerIdAndStartDateBeforeAndEndDateAfter(
-				eq(booker.getId()),
-				ArgumentMatchers.any(LocalDateTime.class),
-				ArgumentMatchers.any(LocalDateTime.class),
-				eq(page)))
-				.thenReturn(new PageImpl<>(List.of(bookingFirst), page, 1));
+		when(bookingRepository.findBookings(eq(BookingRole.BOOKER), eq(booker.getId()), eq(BookingState.CURRENT), isNull(),
+				any(LocalDateTime.class), eq(page)))
+				.thenReturn(views(bookingFirst));
 
-		List<BookingResponseDto> actualList = bookingService.getAllBookings(booker.getId(), BookingState.CURRENT, page);
+		List<BookingResponseDto> actualList = bookingService.getAllBookings(booker.getId(), BookingState.CURRENT, null, page);
 		assertEquals(1, actualList.get(0).getId());
 	}
 
@@ -351,13 +457,11 @@ class BookingServiceImplTest {
 				.item(item).booker(owner).status(Status.APPROVED).build();
 		Pageable page = PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "StartDate"));
 
-		when(bookingRepository.findByBookerIdAndStartDateAfter(
-				eq(booker.getId()),
-				ArgumentMatchers.any(LocalDateTime.class),
-				eq(page)))
-				.thenReturn(new PageImpl<>(List.of(bookingFirst), page, 1));
+		when(bookingRepository.findBookings(eq(BookingRole.BOOKER), eq(booker.getId()), eq(BookingState.FUTURE), isNull(),
+				any(LocalDateTime.class), eq(page)))
+				.thenReturn(views(bookingFirst));
 
-		List<BookingResponseDto> actualList = bookingService.getAllBookings(booker.getId(), BookingState.FUTURE, page);
+		List<BookingResponseDto> actualList = bookingService.getAllBookings(booker.getId(), BookingState.FUTURE, null, page);
 		assertEquals(1, actualList.get(0).getId());
 	}
 
@@ -374,10 +478,11 @@ class BookingServiceImplTest {
 				.item(item).booker(owner).status(Status.WAITING).build();
 		Pageable page = PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "StartDate"));
 
-		when(bookingRepository.findByBookerIdAndStatus(booker.getId(), Status.WAITING, page))
-				.thenReturn(new PageImpl<>(List.of(bookingFirst), page, 1));
+		when(bookingRepository.findBookings(eq(BookingRole.BOOKER), eq(booker.getId()), eq(BookingState.WAITING), isNull(),
+				any(LocalDateTime.class), eq(page)))
+				.thenReturn(views(bookingFirst));
 
-		List<BookingResponseDto> actualList = bookingService.getAllBookings(booker.getId(), BookingState.WAITING, page);
+		List<BookingResponseDto> actualList = bookingService.getAllBookings(booker.getId(), BookingState.WAITING, null, page);
 		assertEquals(1, actualList.get(0).getId());
 	}
 
@@ -396,10 +501,11 @@ class BookingServiceImplTest {
 				.endDate(LocalDateTime.now().plusDays(2))
 				.item(item).booker(owner).status(Status.WAITING).build();
 		Pageable page = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "StartDate"));
-		when(bookingRepository.findByItemOwnerId(owner.getId(), page))
-				.thenReturn(new PageImpl<>(List.of(bookingFirst, bookingSecond), page, 2));
+		when(bookingRepository.findBookings(eq(BookingRole.OWNER), eq(owner.getId()), eq(BookingState.ALL), isNull(),
+				any(LocalDateTime.class), eq(page)))
+				.thenReturn(views(bookingFirst, bookingSecond));
 
-		List<BookingResponseDto> actualList = bookingService.getAllOwnerBookings(owner.getId(), BookingState.ALL, page);
+		List<BookingResponseDto> actualList = bookingService.getAllOwnerBookings(owner.getId(), BookingState.ALL, null, page);
 
 		assertEquals(1, actualList.get(0).getId());
 		assertEquals(2, actualList.get(1).getId());
@@ -421,13 +527,11 @@ class BookingServiceImplTest {
 				.endDate(LocalDateTime.now().plusDays(2))
 				.item(item).booker(owner).status(Status.WAITING).build();
 		Pageable page = PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "StartDate"));
-		when(bookingRepository.findByItemOwnerIdAndEndDateBefore(
-				eq(owner.getId()),
-				ArgumentMatchers.any(LocalDateTime.class),
-				eq(page)))
-				.thenReturn(new PageImpl<>(List.of(bookingFirst), page, 1));
+		when(bookingRepository.findBookings(eq(BookingRole.OWNER), eq(owner.getId()), eq(BookingState.PAST), isNull(),
+				any(LocalDateTime.class), eq(page)))
+				.thenReturn(views(bookingFirst));
 
-		List<BookingResponseDto> actualList = bookingService.getAllOwnerBookings(owner.getId(), BookingState.PAST, page);
+		List<BookingResponseDto> actualList = bookingService.getAllOwnerBookings(owner.getId(), BookingState.PAST, null, page);
 
 		assertEquals(1, actualList.get(0).getId());
 		verify(userService, times(1)).getById(anyLong());
@@ -448,14 +552,11 @@ class BookingServiceImplTest {
 				.endDate(LocalDateTime.now().plusDays(2))
 				.item(item).booker(owner).status(Status.APPROVED).build();
 		Pageable page = PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "StartDate"));
-		when(bookingRepository.findByItemOwnerIdAndStartDateBeforeAndEndDateAfter(
-				eq(owner.getId()),
-				ArgumentMatchers.any(LocalDateTime.class),
-				ArgumentMatchers.any(LocalDateTime.class),
-				eq(page)))
-				.thenReturn(new PageImpl<>(List.of(bookingSecond), page, 1));
+		when(bookingRepository.findBookings(eq(BookingRole.OWNER), eq(owner.getId()), eq(BookingState.CURRENT), isNull(),
+				any(LocalDateTime.class), eq(page)))
+				.thenReturn(views(bookingSecond));
 
-		List<BookingResponseDto> actualList = bookingService.getAllOwnerBookings(owner.getId(), BookingState.CURRENT, page);
+		List<BookingResponseDto> actualList = bookingService.getAllOwnerBookings(owner.getId(), BookingState.CURRENT, null, page);
 
 		assertEquals(2, actualList.get(0).getId());
 		verify(userService, times(1)).getById(anyLong());
@@ -476,13 +577,11 @@ class BookingServiceImplTest {
 				.endDate(LocalDateTime.now().plusDays(2))
 				.item(item).booker(owner).status(Status.APPROVED).build();
 		Pageable page = PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "StartDate"));
-		when(bookingRepository.findByItemOwnerIdAndStartDateAfter(
-				eq(owner.getId()),
-				ArgumentMatchers.any(LocalDateTime.class),
-				eq(page)))
-				.thenReturn(new PageImpl<>(List.of(bookingSecond), page, 1));
+		when(bookingRepository.findBookings(eq(BookingRole.OWNER), eq(owner.getId()), eq(BookingState.FUTURE), isNull(),
+				any(LocalDateTime.class), eq(page)))
+				.thenReturn(views(bookingSecond));
 
-		List<BookingResponseDto> actualList = bookingService.getAllOwnerBookings(owner.getId(), BookingState.FUTURE, page);
+		List<BookingResponseDto> actualList = bookingService.getAllOwnerBookings(owner.getId(), BookingState.FUTURE, null, page);
 
 		assertEquals(2, actualList.get(0).getId());
 		verify(userService, times(1)).getById(anyLong());
@@ -508,15 +607,73 @@ class BookingServiceImplTest {
 				.endDate(LocalDateTime.now().plusDays(2))
 				.item(item).booker(owner).status(Status.WAITING).build();
 		Pageable page = PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "StartDate"));
-		when(bookingRepository.findByItemOwnerIdAndStatus(
-				eq(owner.getId()),
-				eq(Status.valueOf(BookingState.APPROVED.name())),
-				eq(page)))
-				.thenReturn(new PageImpl<>(List.of(bookingFirst), page, 1));
+		when(bookingRepository.findBookings(eq(BookingRole.OWNER), eq(owner.getId()), eq(BookingState.APPROVED), isNull(),
+				any(LocalDateTime.class), eq(page)))
+				.thenReturn(views(bookingFirst));
 
-		List<BookingResponseDto> actualList = bookingService.getAllOwnerBookings(owner.getId(), BookingState.APPROVED, page);
+		List<BookingResponseDto> actualList = bookingService.getAllOwnerBookings(owner.getId(), BookingState.APPROVED, null, page);
 
 		assertEquals(1, actualList.get(0).getId());
 		verify(userService, times(1)).getById(anyLong());
 	}
-}
\ No newline at end of file
+
+	@Test
+	void getAllBookingsAfter_whenSliceHasNext_thenReturnCursorOfLastBooking() {
+		User owner = User.builder().id(1L).email("owner@mail.ru").name("owner").build();
+		User booker = User.builder().id(2L).email("booker@mail.ru").name("booker").build();
+		Item item = Item.builder().id(1L).name("item").description("description").available(true).owner(owner).build();
+		Booking booking = Booking.builder()
+				.id(5L)
+				.startDate(LocalDateTime.of(2024, 4, 10, 1, 1, 1))
+				.endDate(LocalDateTime.of(2024, 4, 12, 1, 1, 1))
+				.item(item).booker(booker).status(Status.APPROVED).build();
+		BookingCursor after = new BookingCursor(LocalDateTime.of(2024, 5, 1, 1, 1, 1), 9L);
+
+		when(bookingRepository.findBookingsAfter(eq(BookingRole.BOOKER), eq(booker.getId()), eq(BookingState.ALL), isNull(),
+				any(), eq(after), eq(1)))
+				.thenReturn(new SliceImpl<>(views(booking), PageRequest.of(0, 1), true));
+
+		BookingSliceDto slice = bookingService.getAllBookingsAfter(booker.getId(), BookingState.ALL, null, after.encode(), 1);
+
+		assertEquals(5, slice.getBookings().get(0).getId());
+		assertEquals(BookingCursor.of(view(booking)), BookingCursor.decode(slice.getNextCursor()));
+	}
+
+	@Test
+	void getAllOwnerBookingsAfter_whenEmptyCursorAndLastSlice_thenReturnWithoutNextCursor() {
+		when(bookingRepository.findBookingsAfter(eq(BookingRole.OWNER), eq(1L), eq(BookingState.FUTURE), isNull(), any(),
+				isNull(), eq(10)))
+				.thenReturn(new SliceImpl<>(views(), PageRequest.of(0, 10), false));
+
+		BookingSliceDto slice = bookingService.getAllOwnerBookingsAfter(1L, BookingState.FUTURE, null, "", 10);
+
+		assertEquals(0, slice.getBookings().size());
+		assertNull(slice.getNextCursor());
+	}
+
+	@Test
+	void getAllBookingsAfter_whenCursorIsGarbage_thenThrowInvalidCursorException() {
+		assertThrows(InvalidCursorException.class,
+				() -> bookingService.getAllBookingsAfter(1L, BookingState.ALL, null, "not-a-cursor", 10));
+	}
+
+	@Test
+	void getAllBookingsAfter_whenSizeNotPositive_thenThrowInvalidPageSizeException() {
+		assertThrows(InvalidPageSizeException.class,
+				() -> bookingService.getAllBookingsAfter(1L, BookingState.ALL, null, "", 0));
+		assertThrows(InvalidPageSizeException.class,
+				() -> bookingService.getAllOwnerBookingsAfter(1L, BookingState.ALL, null, "", -1));
+		verifyNoInteractions(bookingRepository);
+	}
+
+	private static List<BookingView> views(Booking... bookings) {
+		return Arrays.stream(bookings).map(BookingServiceImplTest::view).collect(Collectors.toList());
+	}
+
+	private static BookingView view(Booking booking) {
+		Item item = booking.getItem();
+		return new BookingView(booking.getId(), booking.getStartDate(), booking.getEndDate(), booking.getStatus(),
+				booking.getBooker().getId(), item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+				item.getRequest() == null ? null : item.getRequest().getId());
+	}
+}
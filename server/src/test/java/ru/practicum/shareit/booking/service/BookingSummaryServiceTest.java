@@ -0,0 +1,103 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+import ru.practicum.shareit.booking.repo.BookingRepository;
+import ru.practicum.shareit.booking.repo.ItemBookingSummaryRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingSummaryServiceTest {
+	@Mock
+	private ItemBookingSummaryRepository summaryRepository;
+
+	@Mock
+	private BookingRepository bookingRepository;
+
+	@InjectMocks
+	private BookingSummaryService bookingSummaryService;
+
+	@Test
+	void getSummary_whenNoRow_thenBuildFromBookingsAndSave() {
+		Booking last = booking(1L, LocalDateTime.now().minusDays(2), LocalDateTime.now().minusDays(1));
+		when(summaryRepository.findById(1L)).thenReturn(Optional.empty());
+		when(bookingRepository.findFirstByItemIdAndStatusAndStartDateBeforeOrderByEndDateDesc(eq(1L),
+				eq(Status.APPROVED), any())).thenReturn(Optional.of(last));
+		when(bookingRepository.findFirstByItemIdAndStatusAndStartDateAfterOrderByStartDateAsc(eq(1L),
+				eq(Status.APPROVED), any())).thenReturn(Optional.empty());
+		when(summaryRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+		ItemBookingSummary summary = bookingSummaryService.getSummary(1L);
+
+		assertEquals(last.getId(), summary.getLastBookingId());
+		assertEquals(last.getBooker().getId(), summary.getLastBookerId());
+		assertNull(summary.getNextBookingId());
+	}
+
+	@Test
+	void getSummary_whenNextStarted_thenRollIntoLast() {
+		LocalDateTime start = LocalDateTime.now().minusHours(1);
+		LocalDateTime end = LocalDateTime.now().plusHours(1);
+		ItemBookingSummary started = ItemBookingSummary.builder().itemId(1L)
+				.nextBookingId(5L).nextBookerId(2L).nextStartDate(start).nextEndDate(end).build();
+		ItemBookingSummary rolled = ItemBookingSummary.builder().itemId(1L)
+				.lastBookingId(5L).lastBookerId(2L).lastEndDate(end).build();
+		when(summaryRepository.findById(1L)).thenReturn(Optional.of(started), Optional.of(rolled));
+		when(bookingRepository.findFirstByItemIdAndStatusAndStartDateAfterOrderByStartDateAsc(eq(1L),
+				eq(Status.APPROVED), any())).thenReturn(Optional.empty());
+
+		ItemBookingSummary summary = bookingSummaryService.getSummary(1L);
+
+		verify(summaryRepository).offerLast(1L, 5L, 2L, end);
+		verify(summaryRepository).replaceNext(1L, 5L, null, null, null, null);
+		assertEquals(5L, summary.getLastBookingId());
+	}
+
+	@Test
+	void onApproved_whenFutureBooking_thenOfferNextOnly() {
+		Booking booking = booking(3L, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2));
+		when(summaryRepository.existsById(1L)).thenReturn(true);
+
+		bookingSummaryService.onApproved(booking);
+
+		verify(summaryRepository).offerNext(eq(1L), eq(3L), eq(2L), eq(booking.getStartDate()),
+				eq(booking.getEndDate()), any());
+		verify(summaryRepository, never()).offerLast(anyLong(), anyLong(), anyLong(), any());
+	}
+
+	@Test
+	void rollStarted_whenNothingStarted_thenDoNothing() {
+		when(summaryRepository.findStarted(any())).thenReturn(List.of());
+
+		bookingSummaryService.rollStarted();
+
+		verify(summaryRepository, never()).replaceNext(anyLong(), anyLong(), any(), any(), any(), any());
+	}
+
+	private static Booking booking(long id, LocalDateTime start, LocalDateTime end) {
+		User booker = User.builder().id(2L).name("booker").email("booker@mail.ru").build();
+		Item item = Item.builder().id(1L).name("item").description("description").available(true).build();
+		return Booking.builder().id(id).startDate(start).endDate(end)
+				.item(item).booker(booker).status(Status.APPROVED).build();
+	}
+}
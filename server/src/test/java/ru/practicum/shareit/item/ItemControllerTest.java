@@ -11,8 +11,10 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.exception.AccessDeniedException;
 import ru.practicum.shareit.item.dto.*;
+import ru.practicum.shareit.item.service.ItemImportService;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -34,6 +36,9 @@ class ItemControllerTest {
 	@MockBean
 	private ItemService itemService;
 
+	@MockBean
+	private ItemImportService itemImportService;
+
 	@Test
 	void addItem_whenValidItemCreateDto_thenReturnOk() throws Exception {
 		ItemCreateDto itemCreateDtoToSave = ItemCreateDto.builder()
@@ -237,6 +242,35 @@ class ItemControllerTest {
 		verify(itemService, never()).searchBy(anyLong(), anyString(), any());
 	}
 
+	@Test
+	void importItems_whenNdjson_thenReturnReport() throws Exception {
+		ItemImportReportDto report = new ItemImportReportDto();
+		report.setImported(1);
+		report.setFailed(1);
+		report.getErrors().add(new ItemImportErrorDto(2, "Некорректный JSON"));
+		when(itemImportService.importItems(eq(ID), any())).thenReturn(report);
+
+		mockMvc.perform(post("/items/bulk")
+						.header(X_SHARER_USER_ID, ID)
+						.contentType(MediaType.APPLICATION_NDJSON)
+						.content("{\"name\":\"name\",\"description\":\"description\",\"available\":true}\n{broken"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.imported").value(1))
+				.andExpect(jsonPath("$.failed").value(1))
+				.andExpect(jsonPath("$.errors[0].line").value(2));
+	}
+
+	@Test
+	void importItems_whenJson_thenReturnUnsupportedMediaType() throws Exception {
+		mockMvc.perform(post("/items/bulk")
+						.header(X_SHARER_USER_ID, ID)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("[]"))
+				.andExpect(status().isUnsupportedMediaType());
+
+		verify(itemImportService, never()).importItems(anyLong(), any());
+	}
+
 	@Test
 	void addComment_whenCommentNotEmpty_thenReturnStatusOkWithCommentInBody() throws Exception {
 		long itemId = 1L;
@@ -262,4 +296,27 @@ class ItemControllerTest {
 				.andExpect(jsonPath("$.authorName").value("author"))
 				.andExpect(jsonPath("$.created").value("2024-04-15T15:30:10"));
 	}
-}
\ No newline at end of file
+
+	@Test
+	void getAvailability_whenDayGranularity_thenReturnSlots() throws Exception {
+		LocalDateTime from = LocalDateTime.of(2024, 4, 10, 0, 0);
+		LocalDateTime to = LocalDateTime.of(2024, 4, 12, 0, 0);
+		ItemAvailabilityDto response = ItemAvailabilityDto.builder()
+				.itemId(ID)
+				.granularity(AvailabilityGranularity.DAY)
+				.slots(List.of(ItemDtoMapper.toAvailabilitySlotDto(from, to, true)))
+				.build();
+
+		when(itemService.getAvailability(ID, ID, from, to, AvailabilityGranularity.DAY)).thenReturn(response);
+
+		mockMvc.perform(get("/items/{id}/availability", ID)
+						.header(X_SHARER_USER_ID, ID)
+						.param("from", "2024-04-10T00:00:00")
+						.param("to", "2024-04-12T00:00:00")
+						.param("granularity", "day"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.granularity").value("DAY"))
+				.andExpect(jsonPath("$.slots[0].start").value("2024-04-10T00:00:00"))
+				.andExpect(jsonPath("$.slots[0].free").value(true));
+	}
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.item.repo;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.RecordingStatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+		"ru.practicum.shareit.util.RecordingStatementInspector")
+class ItemBatchInsertTest {
+	private static final int ITEMS = 30;
+
+	@Autowired
+	private ItemRepository itemRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Test
+	void saveAll_whenManyItems_thenOneBatchedInsertAndPooledIds() {
+		User owner = entityManager.persist(User.builder().name("owner").email("owner@mail.ru").build());
+		List<Item> items = new ArrayList<>();
+		for (int i = 0; i < ITEMS; i++) {
+			items.add(Item.builder().name("item" + i).description("description").available(true).owner(owner).build());
+		}
+		RecordingStatementInspector.clear();
+
+		itemRepository.saveAll(items);
+		entityManager.flush();
+
+		List<String> statements = RecordingStatementInspector.statements();
+		assertEquals(1, statements.stream().filter(sql -> sql.startsWith("insert into items")).count(), statements::toString);
+		assertTrue(statements.stream().filter(sql -> sql.contains("items_seq")).count() <= 2, statements::toString);
+		assertEquals(ITEMS, items.stream().mapToLong(Item::getId).distinct().count());
+	}
+}
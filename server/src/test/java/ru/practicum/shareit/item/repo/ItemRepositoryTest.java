@@ -6,11 +6,17 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.dto.ItemShort;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repo.RequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repo.UserRepository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -24,6 +30,9 @@ class ItemRepositoryTest {
 	@Autowired
 	private UserRepository userRepository;
 
+	@Autowired
+	private RequestRepository requestRepository;
+
 	private Item testItemFirst;
 	private Item testItemSecond;
 	private User testUser;
@@ -52,7 +61,7 @@ class ItemRepositoryTest {
 
 	@Test
 	void findByUserId() {
-		List<Item> items = itemRepository.findByOwnerId(testUser.getId());
+		List<Item> items = itemRepository.findByOwnerId(testUser.getId(), PageRequest.of(0, 10, Sort.by("id")));
 		assertEquals("item", items.get(0).getName());
 		assertEquals("description", items.get(0).getDescription());
 		assertTrue(items.get(0).getAvailable());
@@ -60,6 +69,13 @@ class ItemRepositoryTest {
 
 	}
 
+	@Test
+	void findByOwnerId_whenPaged_thenReturnPageOrderedById() {
+		List<Item> items = itemRepository.findByOwnerId(testUser.getId(), PageRequest.of(1, 1, Sort.by("id")));
+
+		assertEquals(List.of(testItemSecond), items);
+	}
+
 	@Test
 	void findByNameOrDescriptionContainingAndAvailableTrue_twoItems() {
 		Pageable page = Pageable.unpaged();
@@ -76,9 +92,37 @@ class ItemRepositoryTest {
 		assertEquals(1, items.getSize());
 	}
 
+	@Test
+	void findAvailableBySubstring_whenPaged_thenReturnMatchesOrderedById() {
+		List<Item> items = itemRepository.findAvailableBySubstring("tem", PageRequest.of(0, 1));
+		assertEquals(List.of(testItemFirst), items);
+
+		items = itemRepository.findAvailableBySubstring("tem", PageRequest.of(1, 1));
+		assertEquals(List.of(testItemSecond), items);
+	}
+
+	@Test
+	void findByRequestIdIn_whenItemsAnswerDifferentRequests_thenReturnOnlyRequested() {
+		ItemRequest first = requestRepository.save(ItemRequest.builder().description("first").requester(testUser)
+				.created(LocalDateTime.now()).build());
+		ItemRequest second = requestRepository.save(ItemRequest.builder().description("second").requester(testUser)
+				.created(LocalDateTime.now()).build());
+		testItemFirst.setRequest(first);
+		testItemSecond.setRequest(second);
+		itemRepository.saveAll(List.of(testItemFirst, testItemSecond));
+
+		List<ItemShort> items = itemRepository.findByRequestIdIn(List.of(first.getId()));
+
+		assertEquals(1, items.size());
+		assertEquals(testItemFirst.getId(), items.get(0).getId());
+		assertEquals("item", items.get(0).getName());
+		assertEquals(first.getId(), items.get(0).getRequestId());
+	}
+
 	@AfterEach
 	void cleanUp() {
 		itemRepository.deleteAll();
+		requestRepository.deleteAll();
 		userRepository.deleteAll();
 	}
 }
\ No newline at end of file
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repo.ItemRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InvertedIndexItemSearchEngineTest {
+	@Mock
+	private ItemRepository itemRepository;
+
+	@InjectMocks
+	private InvertedIndexItemSearchEngine engine;
+
+	@Test
+	void search_whenItemsIndexed_thenLoadItemsInRankOrder() {
+		Item weak = Item.builder().id(1L).name("Отвертка").description("и дрель").available(true).build();
+		Item strong = Item.builder().id(2L).name("Дрель").description("дрель").available(true).build();
+		engine.index(weak);
+		engine.index(strong);
+		when(itemRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(weak, strong));
+
+		List<Item> result = engine.search("дрель", PageRequest.of(0, 10));
+
+		assertEquals(List.of(strong, weak), result);
+	}
+
+	@Test
+	void search_whenNothingMatches_thenDoNotQueryRepository() {
+		assertTrue(engine.search("дрель", PageRequest.of(0, 10)).isEmpty());
+		verify(itemRepository, never()).findAllById(any());
+	}
+
+	@Test
+	void rebuild_whenItemsInRepository_thenIndexAllAvailableItems() {
+		Item drill = Item.builder().id(1L).name("Дрель").available(true).build();
+		Item hidden = Item.builder().id(2L).name("Дрель").available(false).build();
+		when(itemRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(drill, hidden)));
+		when(itemRepository.findAllById(List.of(1L))).thenReturn(List.of(drill));
+
+		assertEquals(1, engine.rebuild());
+		assertEquals(List.of(drill), engine.search("дрель", PageRequest.of(0, 10)));
+	}
+
+	@Test
+	void rebuild_whenItemIndexedDuringRebuild_thenItemInNewIndex() {
+		Item drill = Item.builder().id(1L).name("Дрель").available(true).build();
+		Item saw = Item.builder().id(2L).name("Пила").available(true).build();
+		when(itemRepository.findAll(any(Pageable.class))).thenAnswer(invocation -> {
+			engine.index(saw);
+			return new PageImpl<>(List.of(drill));
+		});
+		when(itemRepository.findAllById(List.of(2L))).thenReturn(List.of(saw));
+
+		assertEquals(2, engine.rebuild());
+		assertEquals(List.of(saw), engine.search("пила", PageRequest.of(0, 10)));
+	}
+
+	@Test
+	void remove_whenItemIndexed_thenItemNotFound() {
+		engine.index(Item.builder().id(1L).name("Дрель").available(true).build());
+
+		engine.remove(1L);
+
+		assertTrue(engine.search("дрель", PageRequest.of(0, 10)).isEmpty());
+	}
+
+	@Test
+	void rebuild_whenItemRemovedDuringRebuild_thenItemNotInNewIndex() {
+		Item drill = Item.builder().id(1L).name("Дрель").available(true).build();
+		when(itemRepository.findAll(any(Pageable.class))).thenAnswer(invocation -> {
+			engine.remove(1L);
+			return new PageImpl<>(List.of(drill));
+		});
+
+		assertEquals(0, engine.rebuild());
+		assertTrue(engine.search("дрель", PageRequest.of(0, 10)).isEmpty());
+	}
+}
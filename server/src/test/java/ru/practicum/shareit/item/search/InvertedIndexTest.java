@@ -0,0 +1,52 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InvertedIndexTest {
+	private final InvertedIndex index = new InvertedIndex();
+
+	@Test
+	void search_whenAllTermsMatch_thenReturnItemsRankedByRelevance() {
+		index.put(1L, "Отвертка", "Крестовая отвертка и дрель в наборе", true);
+		index.put(2L, "Дрель", "Аккумуляторная дрель", true);
+		index.put(3L, "Дрель", "Ударная", true);
+		index.put(4L, "Молоток", "Обычный", true);
+
+		assertEquals(List.of(2L, 3L, 1L), index.search("дрели", 0, 10));
+		assertEquals(List.of(2L), index.search("аккумуляторная ДРЕЛЬ", 0, 10));
+		assertTrue(index.search("дрель молоток", 0, 10).isEmpty());
+	}
+
+	@Test
+	void search_whenPaged_thenReturnRequestedWindow() {
+		index.put(1L, "Дрель", null, true);
+		index.put(2L, "Дрель", null, true);
+		index.put(3L, "Дрель", null, true);
+
+		assertEquals(List.of(2L), index.search("дрель", 1, 1));
+		assertTrue(index.search("дрель", 3, 10).isEmpty());
+	}
+
+	@Test
+	void put_whenItemUpdated_thenOldTermsAreRemoved() {
+		index.put(1L, "Дрель", "Ударная", true);
+		index.put(1L, "Перфоратор", "Ударный", true);
+
+		assertTrue(index.search("дрель", 0, 10).isEmpty());
+		assertEquals(List.of(1L), index.search("перфоратор", 0, 10));
+	}
+
+	@Test
+	void put_whenItemNotAvailable_thenItemIsNotFound() {
+		index.put(1L, "Дрель", null, true);
+		index.put(1L, "Дрель", null, false);
+
+		assertTrue(index.search("дрель", 0, 10).isEmpty());
+		assertEquals(0, index.size());
+	}
+}
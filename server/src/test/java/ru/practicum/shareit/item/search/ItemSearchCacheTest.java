@@ -0,0 +1,98 @@
+package ru.practicum.shareit.item.search;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repo.ItemRepository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ItemSearchCacheTest {
+	private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final AtomicInteger loads = new AtomicInteger();
+	private ItemSearchCache cache;
+
+	@BeforeEach
+	void setUp() {
+		cache = new ItemSearchCache(new LikeItemSearchEngine(Mockito.mock(ItemRepository.class)), meterRegistry, 100, Duration.ofMinutes(5));
+	}
+
+	@Test
+	void get_whenSameNormalizedKey_thenLoadOnce() {
+		cache.get("Дрель", 0, 10, loader());
+		cache.get("дрель", 0, 10, loader());
+		cache.get("дрель", 10, 10, loader());
+
+		assertEquals(2, loads.get());
+		assertEquals(1, meterRegistry.get("cache.gets").tag("cache", "itemSearch").tag("result", "hit")
+				.functionCounter().count());
+		assertEquals(2, meterRegistry.get("cache.gets").tag("cache", "itemSearch").tag("result", "miss")
+				.functionCounter().count());
+	}
+
+	@Test
+	void onChange_whenNewItemMatchesQuery_thenInvalidateOnlyThatQuery() {
+		cache.get("дрель", 0, 10, loader());
+		cache.get("дрель", 10, 10, loader());
+		cache.get("пила", 0, 10, loader());
+
+		cache.onChange(null, item("Дрель", "ударная", true));
+		cache.get("дрель", 0, 10, loader());
+		cache.get("дрель", 10, 10, loader());
+		cache.get("пила", 0, 10, loader());
+
+		assertEquals(5, loads.get());
+	}
+
+	@Test
+	void onChange_whenItemStopsMatching_thenInvalidateOldQuery() {
+		cache.get("дрель", 0, 10, loader());
+
+		cache.onChange(item("Дрель", null, true), item("Дрель", null, false));
+		cache.get("дрель", 0, 10, loader());
+
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void onChange_whenSearchedFieldsUnchanged_thenKeepEntries() {
+		cache.get("дрель", 0, 10, loader());
+
+		cache.onChange(item("Дрель", "ударная", true), item("Дрель", "ударная", true));
+		cache.get("дрель", 0, 10, loader());
+
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	void onItemsDeleted_whenInvoked_thenInvalidateAllQueries() {
+		cache.get("дрель", 0, 10, loader());
+		cache.get("пила", 0, 10, loader());
+
+		cache.onItemsDeleted();
+		cache.get("дрель", 0, 10, loader());
+		cache.get("пила", 0, 10, loader());
+
+		assertEquals(4, loads.get());
+	}
+
+	private Supplier<List<ItemDto>> loader() {
+		return () -> {
+			loads.incrementAndGet();
+			return List.of(ItemDto.builder().id(1L).build());
+		};
+	}
+
+	private static Item item(String name, String description, boolean available) {
+		return Item.builder().id(1L).name(name).description(description).available(available).build();
+	}
+}
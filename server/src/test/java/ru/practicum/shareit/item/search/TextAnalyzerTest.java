@@ -0,0 +1,39 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TextAnalyzerTest {
+
+	@Test
+	void terms_whenMixedCaseAndPunctuation_thenReturnLowerCaseStems() {
+		assertEquals(List.of("дрел", "аккумуляторн", "drill"), TextAnalyzer.terms("Дрель, аккумуляторная (DRILLS)!"));
+	}
+
+	@Test
+	void terms_whenWordFormsDiffer_thenReturnSameStem() {
+		assertEquals(TextAnalyzer.terms("дрель"), TextAnalyzer.terms("дрели"));
+		assertEquals(TextAnalyzer.terms("отвертка"), TextAnalyzer.terms("отвертку"));
+		assertEquals(TextAnalyzer.terms("ёлка"), TextAnalyzer.terms("елки"));
+		assertEquals(TextAnalyzer.terms("battery"), TextAnalyzer.terms("batteries"));
+		assertEquals(TextAnalyzer.terms("glass"), TextAnalyzer.terms("glasses"));
+		assertEquals(TextAnalyzer.terms("saw"), TextAnalyzer.terms("saws"));
+	}
+
+	@Test
+	void terms_whenShortWord_thenKeepWordAsIs() {
+		assertEquals("box", TextAnalyzer.stem("box"));
+		assertEquals("дом", TextAnalyzer.stem("дом"));
+		assertEquals("ели", TextAnalyzer.stem("ели"));
+	}
+
+	@Test
+	void terms_whenBlankOrNull_thenReturnEmptyList() {
+		assertTrue(TextAnalyzer.terms("  ,.  ").isEmpty());
+		assertTrue(TextAnalyzer.terms(null).isEmpty());
+	}
+}
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrigramIndexTest {
+	private final TrigramIndex index = new TrigramIndex();
+
+	@Test
+	void search_whenPartOfWord_thenFindItem() {
+		index.put(1L, "Дрель", "Простая дрель", true);
+		index.put(2L, "Отвертка", "Крестовая", true);
+
+		assertEquals(List.of(1L), index.search("ДРЕЛ", 0, 10));
+		assertEquals(List.of(1L), index.search("ая дре", 0, 10));
+	}
+
+	@Test
+	void search_whenAllTrigramsPresentButNotSubstring_thenSkipItem() {
+		index.put(1L, "абвг вгд", null, true);
+
+		assertTrue(index.search("абвгд", 0, 10).isEmpty());
+		assertEquals(List.of(1L), index.search("бвг", 0, 10));
+	}
+
+	@Test
+	void search_whenQueryShorterThanTrigram_thenCheckAllItems() {
+		index.put(1L, "Дрель", null, true);
+		index.put(2L, "Пила", "ручная", true);
+
+		assertEquals(List.of(1L), index.search("др", 0, 10));
+		assertEquals(List.of(1L, 2L), index.search("л", 0, 10));
+	}
+
+	@Test
+	void search_whenPaged_thenReturnMatchesOrderedById() {
+		index.put(3L, "Дрель 3", null, true);
+		index.put(1L, "Дрель 1", null, true);
+		index.put(2L, "Дрель 2", null, true);
+
+		assertEquals(List.of(1L, 2L), index.search("дрель", 0, 2));
+		assertEquals(List.of(3L), index.search("дрель", 2, 2));
+	}
+
+	@Test
+	void put_whenItemUpdatedOrUnavailable_thenDropOldText() {
+		index.put(1L, "Дрель", null, true);
+		index.put(1L, "Пила", null, true);
+		index.put(2L, "Дрель", null, false);
+
+		assertTrue(index.search("дрель", 0, 10).isEmpty());
+		assertEquals(List.of(1L), index.search("пил", 0, 10));
+		assertEquals(1, index.size());
+
+		index.remove(1L);
+		assertTrue(index.search("пил", 0, 10).isEmpty());
+		assertEquals(0, index.size());
+	}
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemImportErrorDto;
+import ru.practicum.shareit.item.dto.ItemImportReportDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repo.ItemRepository;
+import ru.practicum.shareit.user.dto.UserCreateDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+		"shareit.item-import.chunk-size=2",
+		"shareit.item-import.max-reported-errors=3"
+})
+class ItemImportServiceTest {
+	@Autowired
+	private ItemImportService itemImportService;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private ItemRepository itemRepository;
+
+	@Test
+	void importItems_whenSomeLinesInvalid_thenImportRestAndReportLines() {
+		long ownerId = userService.save(UserCreateDto.builder().name("owner").email("import@mail.ru").build()).getId();
+		String ndjson = String.join("\n",
+				"{\"name\":\"drill\",\"description\":\"drill\",\"available\":true}",
+				"{broken",
+				"{\"name\":\"\",\"description\":\"saw\",\"available\":true}",
+				"",
+				"{\"name\":\"" + "x".repeat(101) + "\",\"description\":\"long\",\"available\":true}",
+				"{\"name\":\"hammer\",\"description\":\"hammer\",\"available\":false}",
+				"{\"name\":\"ladder\",\"description\":\"ladder\",\"available\":true,\"requestId\":999999}",
+				"null");
+
+		ItemImportReportDto report = itemImportService.importItems(ownerId, stream(ndjson));
+
+		assertEquals(3, report.getImported());
+		assertEquals(4, report.getFailed());
+		assertEquals(List.of(2L, 3L, 5L), report.getErrors().stream()
+				.map(ItemImportErrorDto::getLine)
+				.collect(Collectors.toList()));
+		List<Item> items = itemRepository.findByOwnerId(ownerId, PageRequest.of(0, 10));
+		assertEquals(List.of("drill", "hammer", "ladder"), items.stream()
+				.map(Item::getName)
+				.sorted()
+				.collect(Collectors.toList()));
+		assertNull(items.stream().filter(item -> "ladder".equals(item.getName())).findFirst().orElseThrow().getRequest());
+	}
+
+	@Test
+	void importItems_whenOwnerNotFound_thenThrowNotFound() {
+		assertThrows(NotFoundException.class, () -> itemImportService.importItems(999999L, stream("")));
+	}
+
+	private static InputStream stream(String ndjson) {
+		return new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8));
+	}
+}
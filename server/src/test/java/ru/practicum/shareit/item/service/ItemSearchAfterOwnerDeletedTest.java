@@ -0,0 +1,89 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.dto.UserCreateDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ItemSearchAfterOwnerDeletedTest {
+
+	@Nested
+	@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = "shareit.search.engine=like")
+	class LikeEngine extends OwnerDeletedScenario {
+		LikeEngine() {
+			super("like", "алюминиевая");
+		}
+	}
+
+	@Nested
+	@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = "shareit.search.engine=inverted")
+	class InvertedEngine extends OwnerDeletedScenario {
+		InvertedEngine() {
+			super("inverted", "деревянная");
+		}
+	}
+
+	@Nested
+	@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = "shareit.search.engine=trigram")
+	class TrigramEngine extends OwnerDeletedScenario {
+		TrigramEngine() {
+			super("trigram", "стальная");
+		}
+	}
+
+	/**
+	 * Удаленная вещь раньше оставшейся в выдаче, поэтому при странице из одной вещи
+	 * забытая в индексе запись вытеснила бы оставшуюся.
+	 */
+	abstract static class OwnerDeletedScenario {
+		private final String engine;
+		private final String word;
+
+		@Autowired
+		private ItemService itemService;
+
+		@Autowired
+		private UserService userService;
+
+		OwnerDeletedScenario(String engine, String word) {
+			this.engine = engine;
+			this.word = word;
+		}
+
+		@Test
+		void searchBy_whenOwnerDeletedAfterSearchCached_thenDeletedItemsNotReturned() {
+			long ownerId = userService.save(UserCreateDto.builder().name("owner")
+					.email("cascade-owner-" + engine + "@mail.ru").build()).getId();
+			long searcherId = userService.save(UserCreateDto.builder().name("searcher")
+					.email("cascade-searcher-" + engine + "@mail.ru").build()).getId();
+			long deletedItemId = add(ownerId);
+			long keptItemId = add(searcherId);
+			assertEquals(List.of(deletedItemId), search(searcherId));
+
+			userService.deleteById(ownerId);
+
+			assertEquals(List.of(keptItemId), search(searcherId));
+		}
+
+		private long add(long ownerId) {
+			return itemService.add(ItemCreateDto.builder().name("Стремянка").description(word)
+					.available(true).ownerId(ownerId).build()).getId();
+		}
+
+		private List<Long> search(long userId) {
+			return itemService.searchBy(userId, word, PageRequest.of(0, 1)).stream()
+					.map(ItemDto::getId)
+					.collect(Collectors.toList());
+		}
+	}
+}
@@ -7,25 +7,35 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.dto.ItemBookingShort;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
 import ru.practicum.shareit.booking.repo.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
+import ru.practicum.shareit.booking.service.BookingSummaryService;
 import ru.practicum.shareit.exception.AccessDeniedException;
+import ru.practicum.shareit.exception.BookingDateException;
 import ru.practicum.shareit.exception.NotAvailableException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.AvailabilityGranularity;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repo.CommentRepository;
 import ru.practicum.shareit.item.repo.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchCache;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserDtoMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserServiceImpl;
 
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -45,6 +55,18 @@ class ItemServiceImplTest {
 	@Mock
 	private CommentRepository commentRepository;
 
+	@Mock
+	private BookingIntervalIndex bookingIntervalIndex;
+
+	@Mock
+	private ItemSearchEngine itemSearchEngine;
+
+	@Mock
+	private BookingSummaryService bookingSummaryService;
+
+	@Mock
+	private ItemSearchCache itemSearchCache;
+
 	@InjectMocks
 	private ItemServiceImpl itemService;
 
@@ -64,6 +86,8 @@ class ItemServiceImplTest {
 
 		ItemDto actualItem = itemService.add(itemToSave);
 
+		verify(itemSearchEngine).index(itemEntity);
+		verify(itemSearchCache).onChange(null, itemEntity);
 		assertEquals(itemToSave.getName(), actualItem.getName());
 		assertEquals(itemToSave.getDescription(), actualItem.getDescription());
 		assertEquals(itemToSave.getAvailable(), actualItem.getAvailable());
@@ -83,12 +107,14 @@ class ItemServiceImplTest {
 
 		when(userService.getById(userId)).thenReturn(UserDtoMapper.toUserDto(owner));
 		when(itemRepository.findById(itemId)).thenReturn(Optional.of(oldItem));
+		when(bookingSummaryService.getSummary(itemId)).thenReturn(ItemBookingSummary.builder().itemId(itemId).build());
 
 		when(itemRepository.save(any(Item.class))).thenReturn(newItem);
 
 		ItemDto actualItem = itemService.update(itemUpdate);
 
 		verify(itemRepository).save(any(Item.class));
+		verify(itemSearchCache).onChange(argThat(before -> "name".equals(before.getName())), eq(newItem));
 
 		assertEquals(newItem.getId(), actualItem.getId());
 		assertEquals(newItem.getName(), actualItem.getName());
@@ -129,6 +155,7 @@ class ItemServiceImplTest {
 
 		when(userService.getById(userId)).thenReturn(UserDtoMapper.toUserDto(owner));
 		when(itemRepository.findById(itemId)).thenReturn(Optional.of(oldItem));
+		when(bookingSummaryService.getSummary(itemId)).thenReturn(ItemBookingSummary.builder().itemId(itemId).build());
 		when(itemRepository.save(any(Item.class))).thenReturn(updatedItem);
 
 		ItemDto actualItem = itemService.update(itemUpdate);
@@ -150,8 +177,7 @@ class ItemServiceImplTest {
 
 		when(userService.getById(userId)).thenReturn(userDto);
 		when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
-		when(bookingRepository.findTop1ByItemOwnerIdAndStartDateBeforeAndStatusIn(anyLong(), any(), any(), any())).thenReturn(null);
-		when(bookingRepository.findTop1ByItemOwnerIdAndStartDateAfterAndStatusIn(anyLong(), any(), any(), any())).thenReturn(null);
+		when(bookingSummaryService.getSummary(itemId)).thenReturn(ItemBookingSummary.builder().itemId(itemId).build());
 		when(commentRepository.findAllByItemId(itemId)).thenReturn(null);
 
 		ItemWithFullInfoDto actualItemWithFullInfoDto = itemService.getById(itemId, userId);
@@ -177,10 +203,10 @@ class ItemServiceImplTest {
 		Item item = Item.builder().id(itemId).name("Test Item").owner(owner).build();
 		Booking lastBooking = Booking.builder().id(1L).item(item).build();
 		Booking nextBooking = Booking.builder().id(2L).item(item).build();
-		when(bookingRepository.findTop1ByItemOwnerIdAndStartDateBeforeAndStatusIn(anyLong(), any(), any(), any()))
-				.thenReturn(lastBooking);
-		when(bookingRepository.findTop1ByItemOwnerIdAndStartDateAfterAndStatusIn(anyLong(), any(), any(), any()))
-				.thenReturn(nextBooking);
+		when(bookingSummaryService.getSummary(itemId)).thenReturn(ItemBookingSummary.builder().itemId(itemId)
+				.lastBookingId(lastBooking.getId()).lastBookerId(2L)
+				.nextBookingId(nextBooking.getId()).nextBookerId(3L)
+				.build());
 		when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
 
 		ItemWithFullInfoDto actualItem = itemService.getById(itemId, ownerId);
@@ -190,7 +216,9 @@ class ItemServiceImplTest {
 		assertEquals(item.getDescription(), actualItem.getDescription());
 		assertEquals(item.getAvailable(), actualItem.getAvailable());
 		assertEquals(lastBooking.getId(), actualItem.getLastBooking().getId());
+		assertEquals(2L, actualItem.getLastBooking().getBookerId());
 		assertEquals(nextBooking.getId(), actualItem.getNextBooking().getId());
+		assertEquals(3L, actualItem.getNextBooking().getBookerId());
 	}
 
 	@Test
@@ -221,15 +249,12 @@ class ItemServiceImplTest {
 		Pageable page = PageRequest.of(0, 1);
 
 		when(userService.getById(userId)).thenReturn(owner);
-		when(itemRepository.findByOwnerId(userId)).thenReturn(itemList);
-		when(bookingRepository.findByItemIdAndEndDateBeforeOrderByEndDateDesc(any(), any()))
-				.thenReturn(List.of());
-		when(bookingRepository.findByItemIdAndStartDateAfterOrderByStartDateAsc(any(), any()))
-				.thenReturn(List.of());
+		when(itemRepository.findByOwnerId(eq(userId), any(Pageable.class))).thenReturn(itemList);
 
 		List<ItemWithFullInfoDto> result = itemService.findByOwnerId(userId, page);
 
 		assertEquals(0, result.size());
+		verify(bookingRepository, never()).findLastAndNextApproved(any(), any());
 	}
 
 	@Test
@@ -243,11 +268,8 @@ class ItemServiceImplTest {
 				Item.builder().id(2L).name("Item 2").owner(user).build(),
 				Item.builder().id(3L).name("Item 3").owner(user).build());
 		when(userService.getById(userId)).thenReturn(UserDtoMapper.toUserDto(user));
-		when(itemRepository.findByOwnerId(userId)).thenReturn(itemList);
-		when(bookingRepository.findByItemIdAndEndDateBeforeOrderByEndDateDesc(any(), any()))
-				.thenReturn(List.of());
-		when(bookingRepository.findByItemIdAndStartDateAfterOrderByStartDateAsc(any(), any()))
-				.thenReturn(List.of());
+		when(itemRepository.findByOwnerId(userId, PageRequest.of(0, 1, Sort.by("id")))).thenReturn(itemList);
+		when(bookingRepository.findLastAndNextApproved(any(), any())).thenReturn(List.of());
 
 		List<ItemWithFullInfoDto> actualItems = itemService.findByOwnerId(userId, page);
 
@@ -261,17 +283,44 @@ class ItemServiceImplTest {
 		Pageable page = PageRequest.of(0, 1);
 
 		when(userService.getById(userId)).thenReturn(UserDtoMapper.toUserDto(user));
-		when(itemRepository.findByOwnerId(userId)).thenReturn(Collections.emptyList());
-		when(bookingRepository.findByItemIdAndEndDateBeforeOrderByEndDateDesc(any(), any()))
-				.thenReturn(List.of());
-		when(bookingRepository.findByItemIdAndStartDateAfterOrderByStartDateAsc(any(), any()))
-				.thenReturn(List.of());
+		when(itemRepository.findByOwnerId(eq(userId), any(Pageable.class))).thenReturn(Collections.emptyList());
 
 		List<ItemWithFullInfoDto> actualItems = itemService.findByOwnerId(userId, page);
 
 		assertTrue(actualItems.isEmpty());
 	}
 
+	@Test
+	void getUserItems_whenItemsHaveBookings_thenAttachLastAndNextToOwnItem() {
+		long userId = 1L;
+		User user = User.builder().id(userId).build();
+		Item first = Item.builder().id(1L).name("Item 1").owner(user).build();
+		Item second = Item.builder().id(2L).name("Item 2").owner(user).build();
+		ItemBookingShort last = itemBooking(2L, 10L, ItemBookingShort.LAST);
+		ItemBookingShort next = itemBooking(1L, 11L, ItemBookingShort.NEXT);
+		when(userService.getById(userId)).thenReturn(UserDtoMapper.toUserDto(user));
+		when(itemRepository.findByOwnerId(eq(userId), any(Pageable.class))).thenReturn(List.of(first, second));
+		when(bookingRepository.findLastAndNextApproved(eq(Set.of(1L, 2L)), any())).thenReturn(List.of(last, next));
+
+		List<ItemWithFullInfoDto> actualItems = itemService.findByOwnerId(userId, PageRequest.of(0, 2));
+
+		assertEquals(List.of(1L, 2L), List.of(actualItems.get(0).getId(), actualItems.get(1).getId()));
+		assertNull(actualItems.get(0).getLastBooking());
+		assertEquals(11L, actualItems.get(0).getNextBooking().getId());
+		assertEquals(userId, actualItems.get(0).getNextBooking().getBookerId());
+		assertEquals(10L, actualItems.get(1).getLastBooking().getId());
+		assertNull(actualItems.get(1).getNextBooking());
+	}
+
+	private ItemBookingShort itemBooking(long itemId, long bookingId, String kind) {
+		ItemBookingShort booking = mock(ItemBookingShort.class);
+		when(booking.getItemId()).thenReturn(itemId);
+		when(booking.getId()).thenReturn(bookingId);
+		when(booking.getBookerId()).thenReturn(1L);
+		when(booking.getKind()).thenReturn(kind);
+		return booking;
+	}
+
 	@Test
 	void searchBy_whenValidUserIdAndText_returnsMatchingItemsDto() {
 		long userId = 1L;
@@ -282,7 +331,9 @@ class ItemServiceImplTest {
 		ItemDto itemDto = ItemDto.builder().id(itemId).name("item").build();
 		Item item = Item.builder().id(itemId).name("item").build();
 		when(userService.getById(userId)).thenReturn(user);
-		when(itemRepository.findByNameOrDescriptionContainingAndAvailableTrue(text.toLowerCase(), page)).thenReturn(new PageImpl<>(List.of(item), page, 1));
+		when(itemSearchEngine.search(text, page)).thenReturn(List.of(item));
+		when(itemSearchCache.get(eq(text), eq(0L), eq(1), any()))
+				.thenAnswer(invocation -> invocation.<Supplier<List<ItemDto>>>getArgument(3).get());
 
 		List<ItemDto> result = itemService.searchBy(userId, text, page);
 
@@ -339,4 +390,54 @@ class ItemServiceImplTest {
 		assertThrows(NotAvailableException.class, () -> itemService.addComment(commentRequestDto));
 	}
 
-}
\ No newline at end of file
+
+	@Test
+	void getAvailability_whenHourGranularity_thenReturnMergedFreeAndBusyRuns() {
+		LocalDateTime from = LocalDateTime.of(2024, 4, 10, 8, 30);
+		LocalDateTime to = LocalDateTime.of(2024, 4, 10, 14, 0);
+		LocalDateTime start = LocalDateTime.of(2024, 4, 10, 8, 0);
+		BitSet busyHours = new BitSet();
+		busyHours.set(2, 4);
+		when(itemRepository.findById(1L)).thenReturn(Optional.of(Item.builder().id(1L).build()));
+		when(bookingIntervalIndex.busyHours(1L, start, to)).thenReturn(busyHours);
+
+		ItemAvailabilityDto availability = itemService.getAvailability(1L, 1L, from, to, AvailabilityGranularity.HOUR);
+
+		assertEquals(3, availability.getSlots().size());
+		assertEquals("2024-04-10T08:00:00", availability.getSlots().get(0).getStart());
+		assertEquals("2024-04-10T10:00:00", availability.getSlots().get(0).getEnd());
+		assertTrue(availability.getSlots().get(0).isFree());
+		assertEquals("2024-04-10T12:00:00", availability.getSlots().get(1).getEnd());
+		assertFalse(availability.getSlots().get(1).isFree());
+		assertEquals("2024-04-10T14:00:00", availability.getSlots().get(2).getEnd());
+		assertTrue(availability.getSlots().get(2).isFree());
+	}
+
+	@Test
+	void getAvailability_whenDayGranularity_thenDayWithAnyBusyHourIsBusy() {
+		LocalDateTime from = LocalDateTime.of(2024, 4, 10, 0, 0);
+		LocalDateTime to = LocalDateTime.of(2024, 4, 12, 0, 0);
+		BitSet busyHours = new BitSet();
+		busyHours.set(30);
+		when(itemRepository.findById(1L)).thenReturn(Optional.of(Item.builder().id(1L).build()));
+		when(bookingIntervalIndex.busyHours(1L, from, to)).thenReturn(busyHours);
+
+		ItemAvailabilityDto availability = itemService.getAvailability(1L, 1L, from, to, AvailabilityGranularity.DAY);
+
+		assertEquals(2, availability.getSlots().size());
+		assertTrue(availability.getSlots().get(0).isFree());
+		assertFalse(availability.getSlots().get(1).isFree());
+		assertEquals("2024-04-12T00:00:00", availability.getSlots().get(1).getEnd());
+	}
+
+	@Test
+	void getAvailability_whenPeriodTooLong_thenThrowBookingDateException() {
+		LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+		when(itemRepository.findById(1L)).thenReturn(Optional.of(Item.builder().id(1L).build()));
+
+		assertThrows(BookingDateException.class,
+				() -> itemService.getAvailability(1L, 1L, from, from.plusYears(2), AvailabilityGranularity.DAY));
+		assertThrows(BookingDateException.class,
+				() -> itemService.getAvailability(1L, 1L, from, from, AvailabilityGranularity.HOUR));
+	}
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.logging;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestLogSamplingFilterTest {
+
+	@Test
+	void doFilter_whenRateZero_thenRequestNotSampledAndResetAfter() throws ServletException, IOException {
+		AtomicBoolean sampledInChain = new AtomicBoolean(true);
+
+		new RequestLogSamplingFilter(0).doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(),
+				(request, response) -> sampledInChain.set(RequestLog.isSampled()));
+
+		assertFalse(sampledInChain.get());
+		assertTrue(RequestLog.isSampled());
+	}
+
+	@Test
+	void doFilter_whenRateOne_thenRequestSampled() throws ServletException, IOException {
+		AtomicBoolean sampledInChain = new AtomicBoolean(false);
+
+		new RequestLogSamplingFilter(1).doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(),
+				(request, response) -> sampledInChain.set(RequestLog.isSampled()));
+
+		assertTrue(sampledInChain.get());
+	}
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.Tags;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.BookingState;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MetricsConfigTest {
+	@Mock
+	private ProceedingJoinPoint joinPoint;
+
+	@Mock
+	private JoinPoint.StaticPart staticPart;
+
+	@Mock
+	private Signature signature;
+
+	@BeforeEach
+	void setUp() {
+		when(joinPoint.getStaticPart()).thenReturn(staticPart);
+		when(staticPart.getSignature()).thenReturn(signature);
+		when(signature.getDeclaringTypeName()).thenReturn("BookingServiceImpl");
+		when(signature.getName()).thenReturn("getAllBookings");
+	}
+
+	@Test
+	void serviceTags_whenBookingStateArgument_thenStateTagged() {
+		when(joinPoint.getArgs()).thenReturn(new Object[]{1L, BookingState.FUTURE, null});
+
+		Tags tags = MetricsConfig.serviceTags(joinPoint);
+
+		assertEquals(Tags.of("class", "BookingServiceImpl", "method", "getAllBookings", "state", "FUTURE"), tags);
+	}
+
+	@Test
+	void serviceTags_whenNoBookingState_thenStateNone() {
+		when(joinPoint.getArgs()).thenReturn(new Object[]{1L});
+
+		Tags tags = MetricsConfig.serviceTags(joinPoint);
+
+		assertEquals(MetricsConfig.NO_STATE, tags.stream()
+				.filter(tag -> tag.getKey().equals("state"))
+				.findFirst()
+				.orElseThrow()
+				.getValue());
+	}
+}
@@ -10,6 +10,7 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemShort;
 import ru.practicum.shareit.item.repo.ItemRepository;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.dto.ItemRequestDtoMapper;
@@ -24,8 +25,12 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -88,6 +93,37 @@ class RequestServiceImplTest {
 		assertEquals(expectedRequests.get(0).getDescription(), actualRequests.get(0).getDescription());
 	}
 
+	@Test
+	void getOtherRequests_whenItemsAnswerRequests_thenLoadItemsOnlyForPage() {
+		long userId = 0L;
+		ItemRequest first = ItemRequest.builder().id(1L).description("first").build();
+		ItemRequest second = ItemRequest.builder().id(2L).description("second").build();
+		ItemShort answer = mock(ItemShort.class);
+		when(answer.getId()).thenReturn(10L);
+		when(answer.getRequestId()).thenReturn(2L);
+
+		when(userService.getById(userId)).thenReturn(UserDto.builder().id(userId).build());
+		when(requestRepository.findByRequesterIdNot(eq(userId), any(PageRequest.class)))
+				.thenReturn(new PageImpl<>(List.of(first, second)));
+		when(itemRepository.findByRequestIdIn(List.of(1L, 2L))).thenReturn(List.of(answer));
+
+		List<ItemRequestResponseDto> actualRequests = requestService.getOtherRequests(userId, PageRequest.of(0, 10));
+
+		assertTrue(actualRequests.get(0).getItems().isEmpty());
+		assertEquals(1, actualRequests.get(1).getItems().size());
+		assertEquals(10L, actualRequests.get(1).getItems().get(0).getId());
+	}
+
+	@Test
+	void getRequests_whenNoRequests_thenDoNotQueryItems() {
+		long userId = 0L;
+		when(userService.getById(userId)).thenReturn(UserDto.builder().id(userId).build());
+		when(requestRepository.findByRequesterId(eq(userId), any(Sort.class))).thenReturn(List.of());
+
+		assertTrue(requestService.getRequests(userId).isEmpty());
+		verify(itemRepository, never()).findByRequestIdIn(any());
+	}
+
 	@Test
 	void getRequestById_whenFound_thenReturnItemRequest() {
 		long userId = 0L;
@@ -48,6 +48,11 @@ class UserRepositoryTest {
 		assertEquals(user.get().getEmail(), "email@mail.ru");
 	}
 
+	@Test
+	void findAllIds() {
+		assertEquals(List.of(testUser.getId()), userRepository.findAllIds());
+	}
+
 	@AfterEach
 	void cleanUp() {
 		userRepository.deleteAll();
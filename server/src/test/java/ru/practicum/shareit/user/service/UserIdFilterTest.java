@@ -0,0 +1,93 @@
+package ru.practicum.shareit.user.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.user.repo.UserRepository;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserIdFilterTest {
+	@Mock
+	private UserRepository userRepository;
+
+	@InjectMocks
+	private UserIdFilter userIdFilter;
+
+	@Test
+	void isDefinitelyAbsent_whenNotBuilt_thenOnlyRejectNonPositiveIds() {
+		assertTrue(userIdFilter.isDefinitelyAbsent(0));
+		assertTrue(userIdFilter.isDefinitelyAbsent(-1));
+		assertFalse(userIdFilter.isDefinitelyAbsent(1));
+	}
+
+	@Test
+	void isDefinitelyAbsent_whenBuilt_thenNeverRejectKnownIds() {
+		List<Long> ids = LongStream.rangeClosed(1, 2000).filter(id -> id % 2 == 0).boxed().collect(Collectors.toList());
+		when(userRepository.findAllIds()).thenReturn(ids);
+		userIdFilter.rebuild();
+
+		ids.forEach(id -> assertFalse(userIdFilter.isDefinitelyAbsent(id)));
+		long rejected = LongStream.rangeClosed(1, 2000).filter(id -> id % 2 == 1)
+				.filter(userIdFilter::isDefinitelyAbsent)
+				.count();
+		assertTrue(rejected > 950, "отсеяно " + rejected + " из 1000");
+	}
+
+	@Test
+	void isDefinitelyAbsent_whenNotInFilter_thenReturnTrueWithoutDatabase() {
+		when(userRepository.findAllIds()).thenReturn(List.of(1L, 100L));
+		userIdFilter.rebuild();
+
+		assertTrue(userIdFilter.isDefinitelyAbsent(50));
+		verify(userRepository, never()).existsById(anyLong());
+	}
+
+	@Test
+	void rebuild_whenIdCommittedElsewhereAfterBuild_thenIdKnownAfterNextRebuild() {
+		when(userRepository.findAllIds()).thenReturn(List.of(1L, 100L));
+		userIdFilter.rebuild();
+		assertTrue(userIdFilter.isDefinitelyAbsent(50));
+
+		when(userRepository.findAllIds()).thenReturn(List.of(1L, 50L, 100L));
+		userIdFilter.rebuild();
+
+		assertFalse(userIdFilter.isDefinitelyAbsent(50));
+	}
+
+	@Test
+	void add_whenCalledDuringRebuild_thenIdKeptInNewFilter() {
+		when(userRepository.findAllIds()).thenAnswer(invocation -> {
+			userIdFilter.add(7L);
+			return List.of(1L);
+		});
+		userIdFilter.rebuild();
+
+		assertFalse(userIdFilter.isDefinitelyAbsent(7));
+		verify(userRepository, never()).existsById(anyLong());
+	}
+
+	@Test
+	void add_whenCapacityExceeded_thenRebuildFromRepository() {
+		when(userRepository.findAllIds()).thenReturn(List.of(1L));
+		userIdFilter.rebuild();
+
+		LongStream.rangeClosed(2, 1025).forEach(userIdFilter::add);
+
+		verify(userRepository, times(2)).findAllIds();
+		assertFalse(userIdFilter.isDefinitelyAbsent(1));
+	}
+}
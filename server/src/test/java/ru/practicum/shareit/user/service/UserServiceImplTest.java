@@ -1,13 +1,21 @@
 package ru.practicum.shareit.user.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.repo.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchCache;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.user.dto.UserCreateDto;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserDtoMapper;
@@ -15,6 +23,7 @@ import ru.practicum.shareit.user.dto.UserUpdateDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repo.UserRepository;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -29,6 +38,24 @@ class UserServiceImplTest {
 	@Mock
 	private UserRepository userRepository;
 
+	@Spy
+	private UserCache userCache = new UserCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+
+	@Mock
+	private UserIdFilter userIdFilter;
+
+	@Mock
+	private BookingIntervalIndex bookingIntervalIndex;
+
+	@Mock
+	private ItemRepository itemRepository;
+
+	@Mock
+	private ItemSearchEngine itemSearchEngine;
+
+	@Mock
+	private ItemSearchCache itemSearchCache;
+
 	@InjectMocks
 	private UserServiceImpl userService;
 
@@ -46,6 +73,7 @@ class UserServiceImplTest {
 
 		UserDto actualUser = userService.save(userToSaveCreateDto);
 
+		verify(userIdFilter).add(userId);
 		assertEquals(savedUser.getId(), actualUser.getId());
 		assertEquals(savedUser.getName(), actualUser.getName());
 		assertEquals(savedUser.getEmail(), actualUser.getEmail());
@@ -82,6 +110,52 @@ class UserServiceImplTest {
 				() -> userService.getById(userId));
 	}
 
+	@Test
+	void getById_whenFilterRejectsId_thenThrowWithoutQueryingRepository() {
+		long userId = 42L;
+		when(userIdFilter.isDefinitelyAbsent(userId)).thenReturn(true);
+
+		assertThrows(NotFoundException.class, () -> userService.getById(userId));
+		verify(userRepository, never()).findById(anyLong());
+	}
+
+	@Test
+	void getById_whenCalledTwice_thenQueryRepositoryOnce() {
+		long userId = 1L;
+		when(userRepository.findById(userId)).thenReturn(Optional.of(User.builder().id(userId).name("name").build()));
+
+		userService.getById(userId);
+		UserDto actualUser = userService.getById(userId);
+
+		assertEquals("name", actualUser.getName());
+		verify(userRepository, times(1)).findById(userId);
+	}
+
+	@Test
+	void getById_whenUserUpdated_thenReturnFreshUser() {
+		long userId = 1L;
+		when(userRepository.findById(userId)).thenReturn(Optional.of(User.builder().id(userId).name("name").build()));
+		when(userRepository.save(any())).thenReturn(User.builder().id(userId).name("name2").build());
+		userService.getById(userId);
+
+		userService.update(userId, UserUpdateDto.builder().name("name2").build());
+		when(userRepository.findById(userId)).thenReturn(Optional.of(User.builder().id(userId).name("name2").build()));
+
+		assertEquals("name2", userService.getById(userId).getName());
+	}
+
+	@Test
+	void getById_whenUserDeleted_thenThrowNotFoundException() {
+		long userId = 1L;
+		when(userRepository.findById(userId)).thenReturn(Optional.of(User.builder().id(userId).build()));
+		userService.getById(userId);
+
+		userService.deleteById(userId);
+		when(userRepository.findById(userId)).thenReturn(Optional.empty());
+
+		assertThrows(NotFoundException.class, () -> userService.getById(userId));
+	}
+
 	@Test
 	void update_whenUserFoundAndUpdatingAllFields_thenUpdateAllFields() {
 		long userId = 1L;
@@ -157,4 +231,45 @@ class UserServiceImplTest {
 		userService.deleteById(userId);
 		verify(userRepository, times(1)).deleteById(userId);
 	}
-}
\ No newline at end of file
+
+	@Test
+	void deleteById_whenInvoked_thenInvalidateCacheBeforeAndAfterDelete() {
+		long userId = 1L;
+
+		userService.deleteById(userId);
+
+		InOrder inOrder = inOrder(userCache, userRepository);
+		inOrder.verify(userCache).invalidate(userId);
+		inOrder.verify(userRepository).deleteById(userId);
+		inOrder.verify(userCache).invalidate(userId);
+	}
+
+	@Test
+	void deleteById_whenUserHasApprovedBookings_thenReleaseThemAfterDelete() {
+		long userId = 1L;
+		List<Booking> bookings = List.of(Booking.builder().id(5L).build());
+		when(bookingIntervalIndex.approvedOfUser(userId)).thenReturn(bookings);
+
+		userService.deleteById(userId);
+
+		InOrder inOrder = inOrder(bookingIntervalIndex, userRepository);
+		inOrder.verify(bookingIntervalIndex).approvedOfUser(userId);
+		inOrder.verify(userRepository).deleteById(userId);
+		inOrder.verify(bookingIntervalIndex).releaseAll(bookings);
+		verify(itemSearchCache).onItemsDeleted();
+	}
+
+	@Test
+	void deleteById_whenUserOwnsItems_thenRemoveThemFromSearchEngineAfterDelete() {
+		long userId = 1L;
+		when(itemRepository.findIdsByOwnerId(userId)).thenReturn(List.of(3L, 4L));
+
+		userService.deleteById(userId);
+
+		InOrder inOrder = inOrder(itemRepository, userRepository, itemSearchEngine);
+		inOrder.verify(itemRepository).findIdsByOwnerId(userId);
+		inOrder.verify(userRepository).deleteById(userId);
+		inOrder.verify(itemSearchEngine).remove(3L);
+		inOrder.verify(itemSearchEngine).remove(4L);
+	}
+}
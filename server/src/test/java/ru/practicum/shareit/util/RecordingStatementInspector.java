@@ -0,0 +1,30 @@
+package ru.practicum.shareit.util;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class RecordingStatementInspector implements StatementInspector {
+	private static final List<String> STATEMENTS = new ArrayList<>();
+
+	@Override
+	public String inspect(String sql) {
+		synchronized (STATEMENTS) {
+			STATEMENTS.add(sql);
+		}
+		return sql;
+	}
+
+	public static void clear() {
+		synchronized (STATEMENTS) {
+			STATEMENTS.clear();
+		}
+	}
+
+	public static List<String> statements() {
+		synchronized (STATEMENTS) {
+			return new ArrayList<>(STATEMENTS);
+		}
+	}
+}